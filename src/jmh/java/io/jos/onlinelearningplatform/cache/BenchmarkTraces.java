@@ -0,0 +1,35 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.SplittableRandom;
+
+/**
+ * Helpers to turn generated key sequences into what the benchmarks replay.
+ */
+final class BenchmarkTraces {
+
+    private BenchmarkTraces() {
+    }
+
+    /**
+     * Boxes the keys once, so the benchmarks measure the cache's allocations and not {@code Long.valueOf}.
+     */
+    static Long[] boxed(long[] keys) {
+        Long[] boxed = new Long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            boxed[i] = keys[i];
+        }
+        return boxed;
+    }
+
+    /**
+     * Which accesses of a trace are writes, {@code 100 - readPercent} percent of them at random positions.
+     */
+    static boolean[] writes(int length, int readPercent, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean[] writes = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            writes[i] = random.nextInt(100) >= readPercent;
+        }
+        return writes;
+    }
+}
@@ -0,0 +1,95 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw {@link CacheAlgo} throughput and latency per eviction policy, without TTL or statistics.
+ * <p>
+ * Every thread replays the same pre-generated key trace from its own offset. A read
+ * that misses puts the key, as cache-aside callers do; writes overwrite. Run with
+ * {@code -t 1}, {@code -t 4}, {@code -t max} for the thread counts and {@code -prof gc}
+ * for the allocation rate; {@code SampleTime} reports the p99.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheAlgoBenchmark {
+
+    static final int CAPACITY = 10_000;
+    static final int KEY_SPACE = 100_000;
+    static final int TRACE_LENGTH = 1 << 20;
+
+    @Param({"lru", "arc", "2q", "clock-pro", "w-tinylfu"})
+    private String policy;
+
+    @Param({"ZIPF", "SCAN"})
+    private KeyDistribution distribution;
+
+    // Share of accesses that are reads, the rest are puts
+    @Param({"100", "90", "50"})
+    private int readPercent;
+
+    private CacheAlgo<Long, Long> cache;
+    private Long[] keys;
+    private boolean[] writes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new CachePolicyRegistry().create(policy, CAPACITY);
+        keys = BenchmarkTraces.boxed(distribution.generate(TRACE_LENGTH, KEY_SPACE, 42));
+        writes = BenchmarkTraces.writes(TRACE_LENGTH, readPercent, 7);
+        // Start from a full cache so the first iterations do not measure filling it
+        for (Long key : keys) {
+            cache.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Long access(Cursor cursor) {
+        int i = cursor.next();
+        Long key = keys[i];
+        if (writes[i]) {
+            cache.put(key, key);
+            return key;
+        }
+        Long value = cache.get(key);
+        if (value == null) {
+            cache.put(key, key);
+        }
+        return value;
+    }
+
+    /**
+     * Position of one thread in the shared trace.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams threads) {
+            index = (int) ((long) TRACE_LENGTH * threads.getThreadIndex() / threads.getThreadCount());
+        }
+
+        int next() {
+            return index++ & (TRACE_LENGTH - 1);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The next-lessons region as the services use it: loading reads, puts, TTL and statistics included.
+ * <p>
+ * The loader returns a prebuilt summary, so a miss costs the region's own work and
+ * not a query. Compare with {@link CacheAlgoBenchmark} for the overhead of the region.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalCacheServiceBenchmark {
+
+    @Param({"lru", "w-tinylfu"})
+    private String policy;
+
+    @Param({"ZIPF", "SCAN"})
+    private KeyDistribution distribution;
+
+    // Share of accesses that are loading reads, the rest are puts
+    @Param({"100", "90", "50"})
+    private int readPercent;
+
+    private CacheRegion<Long, LessonSummary> nextLessons;
+    private Function<Long, LessonSummary> loader;
+    private LessonSummary lesson;
+    private Long[] keys;
+    private boolean[] writes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CacheProperties.Region region = new CacheProperties.Region();
+        region.setCapacity(CacheAlgoBenchmark.CAPACITY);
+        region.setPolicy(policy);
+        region.setTtl(Duration.ofMinutes(10));
+        CacheProperties properties = new CacheProperties();
+        properties.getRegions().put(GlobalCacheService.NEXT_LESSONS, region);
+        nextLessons = new GlobalCacheService(properties, new CachePolicyRegistry()).nextLessons();
+
+        lesson = new LessonSummary(1L, "Algebra", LocalDateTime.now().plusDays(1), "ACCEPTED",
+                new LessonSummary.CourseInfo(1L, "Math"), new LessonSummary.Participant(2L, "teacher"),
+                new LessonSummary.Participant(3L, "student"));
+        loader = id -> lesson;
+        keys = BenchmarkTraces.boxed(distribution.generate(CacheAlgoBenchmark.TRACE_LENGTH, CacheAlgoBenchmark.KEY_SPACE, 42));
+        writes = BenchmarkTraces.writes(CacheAlgoBenchmark.TRACE_LENGTH, readPercent, 7);
+        for (Long key : keys) {
+            nextLessons.put(key, lesson);
+        }
+    }
+
+    @Benchmark
+    public LessonSummary access(CacheAlgoBenchmark.Cursor cursor) {
+        int i = cursor.next();
+        Long key = keys[i];
+        if (writes[i]) {
+            nextLessons.put(key, lesson);
+            return lesson;
+        }
+        return nextLessons.get(key, loader);
+    }
+}
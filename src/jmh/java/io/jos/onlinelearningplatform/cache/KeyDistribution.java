@@ -0,0 +1,80 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Key sequences the benchmarks replay, generated up front so key generation is not measured.
+ */
+public enum KeyDistribution {
+
+    /** Skewed popularity as seen on the home pages: a few users and teachers get most requests. */
+    ZIPF {
+        @Override
+        long[] generate(int length, int keySpace, long seed) {
+            ZipfSampler zipf = new ZipfSampler(keySpace, ZIPF_EXPONENT);
+            SplittableRandom random = new SplittableRandom(seed);
+            long[] keys = new long[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = zipf.sample(random);
+            }
+            return keys;
+        }
+    },
+
+    /**
+     * Zipfian traffic interrupted by long sequential runs over keys outside the hot set,
+     * like an admin page or a report walking every user once.
+     */
+    SCAN {
+        @Override
+        long[] generate(int length, int keySpace, long seed) {
+            ZipfSampler zipf = new ZipfSampler(keySpace, ZIPF_EXPONENT);
+            SplittableRandom random = new SplittableRandom(seed);
+            long[] keys = new long[length];
+            long next = keySpace;
+            int i = 0;
+            while (i < length) {
+                int burst = Math.min(SCAN_LENGTH, length - i);
+                for (int j = 0; j < burst; j++) {
+                    keys[i++] = zipf.sample(random);
+                }
+                // Half of all accesses are scan keys, each seen once
+                int scan = Math.min(SCAN_LENGTH, length - i);
+                for (int j = 0; j < scan; j++) {
+                    keys[i++] = next++;
+                }
+            }
+            return keys;
+        }
+    };
+
+    private static final double ZIPF_EXPONENT = 0.99;
+    private static final int SCAN_LENGTH = 1_000;
+
+    /**
+     * @param keySpace number of distinct keys in the popular set, ranked 0 (hottest) upwards
+     */
+    abstract long[] generate(int length, int keySpace, long seed);
+
+    private static final class ZipfSampler {
+        private final double[] cumulative;
+
+        private ZipfSampler(int keySpace, double exponent) {
+            cumulative = new double[keySpace];
+            double sum = 0;
+            for (int rank = 0; rank < keySpace; rank++) {
+                sum += 1.0 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < keySpace; rank++) {
+                cumulative[rank] /= sum;
+            }
+        }
+
+        private long sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LongClockCacheAlgo} against the map-based caches for id lookups.
+ * <p>
+ * Same traces and cache-aside access as {@link CacheAlgoBenchmark}, but single-threaded,
+ * since {@link LRUCacheAlgo} is not thread-safe. The map-based caches get keys boxed up
+ * front, so {@code -prof gc} shows what the caches themselves allocate: a map node per
+ * insert for them, nothing for the primitive table.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class LongKeyCacheBenchmark {
+
+    @Param({"linked-lru", "lru", "long-clock"})
+    private String implementation;
+
+    @Param({"ZIPF", "SCAN"})
+    private KeyDistribution distribution;
+
+    // Share of accesses that are reads, the rest are puts
+    @Param({"100", "90"})
+    private int readPercent;
+
+    private CacheAlgo<Long, Long> cache;
+    private LongClockCacheAlgo<Long> longCache;
+    private long[] keys;
+    private Long[] boxedKeys;
+    private boolean[] writes;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = distribution.generate(CacheAlgoBenchmark.TRACE_LENGTH, CacheAlgoBenchmark.KEY_SPACE, 42);
+        boxedKeys = BenchmarkTraces.boxed(keys);
+        writes = BenchmarkTraces.writes(CacheAlgoBenchmark.TRACE_LENGTH, readPercent, 7);
+        switch (implementation) {
+            case "linked-lru" -> cache = new LRUCacheAlgo<>(CacheAlgoBenchmark.CAPACITY);
+            case "lru" -> cache = new ConcurrentLRUCacheAlgo<>(CacheAlgoBenchmark.CAPACITY);
+            case "long-clock" -> cache = longCache = new LongClockCacheAlgo<>(CacheAlgoBenchmark.CAPACITY);
+            default -> throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+        // Start from a full cache so the first iterations do not measure filling it
+        for (Long key : boxedKeys) {
+            cache.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Object access() {
+        int i = index++ & (CacheAlgoBenchmark.TRACE_LENGTH - 1);
+        if (longCache != null) {
+            long key = keys[i];
+            Long cached = longCache.get(key);
+            if (cached == null || writes[i]) {
+                longCache.put(key, boxedKeys[i]);
+            }
+            return cached;
+        }
+        Long key = boxedKeys[i];
+        Long cached = cache.get(key);
+        if (cached == null || writes[i]) {
+            cache.put(key, key);
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,213 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adaptive Replacement Cache (Megiddo and Modha).
+ * <p>
+ * Resident entries live in T1 (seen once recently) or T2 (seen at least twice).
+ * Keys evicted from either list are remembered without their value in the ghost
+ * lists B1 and B2. A put that hits a ghost shifts the target size of T1 towards
+ * the list that would have kept the entry, so the cache adapts between recency
+ * and frequency and a one-off scan only ever displaces T1.
+ * <p>
+ * Lists are kept in LRU order with the least recent entry first. All operations
+ * run under the instance monitor.
+ */
+public class ArcCacheAlgo<K, V> implements CacheAlgo<K, V> {
+
+    private int capacity;
+    private final RemovalListener<? super K, ? super V> listener;
+    private final LinkedHashMap<K, V> t1 = new LinkedHashMap<>();
+    private final LinkedHashMap<K, V> t2 = new LinkedHashMap<>();
+    private final LinkedHashSet<K> b1 = new LinkedHashSet<>();
+    private final LinkedHashSet<K> b2 = new LinkedHashSet<>();
+
+    // Target size of T1
+    private int p;
+
+    public ArcCacheAlgo(int capacity) {
+        this(capacity, RemovalListener.none());
+    }
+
+    public ArcCacheAlgo(int capacity, RemovalListener<? super K, ? super V> listener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.listener = listener;
+    }
+
+    @Override
+    public synchronized void put(K key, V value) {
+        if (t1.containsKey(key)) {
+            t1.remove(key);
+            t2.put(key, value);
+            return;
+        }
+        if (t2.containsKey(key)) {
+            t2.remove(key);
+            t2.put(key, value);
+            return;
+        }
+
+        if (b1.contains(key)) {
+            p = Math.min(capacity, p + Math.max(b2.size() / b1.size(), 1));
+            b1.remove(key);
+            makeRoom(false);
+            t2.put(key, value);
+            return;
+        }
+        if (b2.contains(key)) {
+            p = Math.max(0, p - Math.max(b1.size() / b2.size(), 1));
+            b2.remove(key);
+            makeRoom(true);
+            t2.put(key, value);
+            return;
+        }
+
+        int l1 = t1.size() + b1.size();
+        if (l1 >= capacity) {
+            if (t1.size() < capacity) {
+                removeEldest(b1);
+                makeRoom(false);
+            } else {
+                // B1 is empty and T1 fills the cache, drop its LRU entry outright
+                evictEldest(t1);
+            }
+        } else if (l1 + t2.size() + b2.size() >= capacity) {
+            if (l1 + t2.size() + b2.size() >= 2 * capacity) {
+                removeEldest(b2);
+            }
+            makeRoom(false);
+        }
+        t1.put(key, value);
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        if (t1.containsKey(key)) {
+            V value = t1.remove(key);
+            t2.put(key, value);
+            return value;
+        }
+        if (t2.containsKey(key)) {
+            V value = t2.remove(key);
+            t2.put(key, value);
+            return value;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized V peek(K key) {
+        return t1.containsKey(key) ? t1.get(key) : t2.get(key);
+    }
+
+    @Override
+    public synchronized boolean containsKey(K key) {
+        return t1.containsKey(key) || t2.containsKey(key);
+    }
+
+    @Override
+    public synchronized V remove(K key) {
+        b1.remove(key);
+        b2.remove(key);
+        if (t1.containsKey(key)) {
+            return t1.remove(key);
+        }
+        return t2.remove(key);
+    }
+
+    // A resident key is in neither ghost list
+    @Override
+    public synchronized boolean remove(K key, V expected) {
+        return t1.remove(key, expected) || t2.remove(key, expected);
+    }
+
+    @Override
+    public synchronized int size() {
+        return t1.size() + t2.size();
+    }
+
+    /**
+     * T2 before T1, most recently used first in each.
+     */
+    @Override
+    public synchronized List<Map.Entry<K, V>> entries() {
+        List<Map.Entry<K, V>> entries = new ArrayList<>(t1.size() + t2.size());
+        addMostRecentFirst(t2, entries);
+        addMostRecentFirst(t1, entries);
+        return entries;
+    }
+
+    /**
+     * Demotes entries to the ghost lists as ARC's REPLACE would until they fit, then trims
+     * the ghost lists to the new directory size of twice the capacity.
+     */
+    @Override
+    public synchronized boolean resize(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        p = Math.min(p, capacity);
+        while (t1.size() + t2.size() > capacity) {
+            makeRoom(false);
+        }
+        while (t1.size() + b1.size() > capacity && !b1.isEmpty()) {
+            removeEldest(b1);
+        }
+        while (t1.size() + t2.size() + b1.size() + b2.size() > 2 * capacity && !b2.isEmpty()) {
+            removeEldest(b2);
+        }
+        return true;
+    }
+
+    /**
+     * ARC's REPLACE: when the cache is full, demote the LRU entry of T1 or T2 to its ghost list.
+     */
+    private void makeRoom(boolean hitInB2) {
+        if (t1.size() + t2.size() < capacity) {
+            return;
+        }
+        boolean fromT1 = !t1.isEmpty() && (t1.size() > p || (hitInB2 && t1.size() == p) || t2.isEmpty());
+        if (fromT1) {
+            b1.add(evictEldest(t1));
+        } else {
+            b2.add(evictEldest(t2));
+        }
+    }
+
+    private K evictEldest(LinkedHashMap<K, V> list) {
+        Iterator<Map.Entry<K, V>> it = list.entrySet().iterator();
+        Map.Entry<K, V> eldest = it.next();
+        K key = eldest.getKey();
+        V value = eldest.getValue();
+        it.remove();
+        listener.onRemoval(key, value, RemovalCause.EVICTED);
+        return key;
+    }
+
+    private static <K, V> void addMostRecentFirst(LinkedHashMap<K, V> list, List<Map.Entry<K, V>> entries) {
+        List<Map.Entry<K, V>> copy = new ArrayList<>(list.size());
+        list.forEach((key, value) -> copy.add(new AbstractMap.SimpleImmutableEntry<>(key, value)));
+        Collections.reverse(copy);
+        entries.addAll(copy);
+    }
+
+    private static <K> void removeEldest(LinkedHashSet<K> set) {
+        Iterator<K> it = set.iterator();
+        if (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -1,8 +1,50 @@
 package io.jos.onlinelearningplatform.cache;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 public interface CacheAlgo<K,V> {
     void put(K key, V value);
     V get(K key);
     boolean containsKey(K key);
+    V remove(K key);
     int size();
-}
\ No newline at end of file
+
+    /**
+     * The value of {@code key} without counting as an access: the eviction order, reference
+     * bits and frequency counts stay as they are. The default reads through {@link #get}.
+     */
+    default V peek(K key) {
+        return get(key);
+    }
+
+    /**
+     * Removes {@code key} only while it maps to {@code expected}, compared as by
+     * {@link Map#remove(Object, Object)}, and tells whether it did. The default is
+     * not atomic; the policies override it under their lock.
+     */
+    default boolean remove(K key, V expected) {
+        if (containsKey(key) && Objects.equals(peek(key), expected)) {
+            remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Changes the maximum number of entries, evicting down to the new capacity right away.
+     * Returns false, changing nothing, if the cache cannot be resized in place.
+     */
+    default boolean resize(int capacity) {
+        return false;
+    }
+
+    /**
+     * A copy of the entries, the ones the policy would keep longest first. Empty if the
+     * cache cannot list its entries.
+     */
+    default List<Map.Entry<K, V>> entries() {
+        return List.of();
+    }
+}
@@ -0,0 +1,50 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.event.LessonChangedEvent;
+import io.jos.onlinelearningplatform.event.UserChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts the cache entries affected by a domain event once the change is committed,
+ * on this node and, through the {@link CacheInvalidator}, on every other node.
+ * Events published outside a transaction are handled immediately.
+ */
+@Component
+public class CacheInvalidationListener {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private final GlobalCacheService globalCache;
+    private final CacheInvalidator invalidator;
+
+    public CacheInvalidationListener(GlobalCacheService globalCache, CacheInvalidator invalidator) {
+        this.globalCache = globalCache;
+        this.invalidator = invalidator;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLessonChanged(LessonChangedEvent event) {
+        if (event.teacherId() != null) {
+            invalidator.invalidate(globalCache.nextLessons(), event.teacherId());
+        }
+        if (event.studentId() != null) {
+            invalidator.invalidate(globalCache.nextLessons(), event.studentId());
+        }
+        logger.debug("Invalidated next lesson entries for lesson ID: {} (teacher: {}, student: {})",
+                event.lessonId(), event.teacherId(), event.studentId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            invalidator.invalidate(globalCache.teacherProfiles(), event.userId());
+        }
+        if (event.username() != null) {
+            invalidator.invalidate(globalCache.teacherIds(), event.username());
+        }
+        logger.debug("Invalidated user entries for user ID: {} (username: {})", event.userId(), event.username());
+    }
+}
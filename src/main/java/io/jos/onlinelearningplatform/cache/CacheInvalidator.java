@@ -0,0 +1,115 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Evicts keys from this node's caches and from the caches of every other node.
+ * <p>
+ * Each node keeps its own in-process caches; this is the shared second tier that keeps
+ * them coherent. A local eviction happens immediately and is then published on the
+ * {@link InvalidationTransport}; messages from other nodes evict the same key here.
+ * Writers should go through this class rather than evicting a region directly.
+ */
+@Component
+public class CacheInvalidator implements InvalidationTransport.Subscriber {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidator.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final GlobalCacheService globalCache;
+    private final MaterialContentCache materialCache;
+    private final InvalidationTransport transport;
+    // Caches managed elsewhere, e.g. by Hibernate, that evict on their own and only need the remote half
+    private final Map<String, ExternalCache> externalCaches = new ConcurrentHashMap<>();
+
+    public CacheInvalidator(GlobalCacheService globalCache, MaterialContentCache materialCache,
+                            InvalidationTransport transport) {
+        this.globalCache = globalCache;
+        this.materialCache = materialCache;
+        this.transport = transport;
+        transport.subscribe(this);
+    }
+
+    public <K> void invalidate(CacheRegion<K, ?> region, K key) {
+        region.evict(key);
+        transport.publish(new InvalidationMessage(nodeId, region.name(), key.toString()));
+    }
+
+    /**
+     * Clears a region on this node and on every other node.
+     */
+    public void invalidateAll(CacheRegion<?, ?> region) {
+        region.clear();
+        transport.publish(new InvalidationMessage(nodeId, region.name(), InvalidationMessage.ALL_KEYS));
+    }
+
+    public void invalidateMaterial(Long materialId) {
+        materialCache.evict(materialId);
+        transport.publish(new InvalidationMessage(nodeId, MaterialContentCache.NAME, materialId.toString()));
+    }
+
+    /**
+     * Registers a cache this class does not own: {@code evictor} receives the keys other nodes
+     * invalidate, {@code clearer} runs when messages may have been lost.
+     */
+    public void registerExternalCache(String cache, Consumer<String> evictor, Runnable clearer) {
+        externalCaches.put(cache, new ExternalCache(evictor, clearer));
+    }
+
+    /**
+     * Tells the other nodes to evict {@code key} from an external cache; the local copy is the caller's job.
+     */
+    public void publish(String cache, String key) {
+        transport.publish(new InvalidationMessage(nodeId, cache, key));
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void onMessage(InvalidationMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        ExternalCache external = externalCaches.get(message.cache());
+        if (external != null) {
+            external.evictor().accept(message.key());
+        } else if (MaterialContentCache.NAME.equals(message.cache())) {
+            materialCache.evict(Long.valueOf(message.key()));
+        } else {
+            CacheRegion<?, ?> region = globalCache.region(message.cache());
+            if (region == null) {
+                logger.warn("Ignoring invalidation for unknown cache {} from node {}", message.cache(), message.origin());
+                return;
+            }
+            if (InvalidationMessage.ALL_KEYS.equals(message.key())) {
+                region.clear();
+            } else {
+                evict(region, message.key());
+            }
+        }
+        logger.debug("Evicted {} from {} on behalf of node {}", message.key(), message.cache(), message.origin());
+    }
+
+    @Override
+    public void onMessagesLost() {
+        logger.warn("Cache invalidations may have been missed, clearing all local caches");
+        globalCache.regions().forEach(CacheRegion::clear);
+        materialCache.clear();
+        externalCaches.values().forEach(external -> external.clearer().run());
+    }
+
+    private static <K> void evict(CacheRegion<K, ?> region, String key) {
+        region.evict(region.parseKey(key));
+    }
+
+    private record ExternalCache(Consumer<String> evictor, Runnable clearer) {
+    }
+}
@@ -0,0 +1,96 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Publishes the {@link CacheStats} of every region and of the {@link MaterialContentCache}, and the
+ * statistics of the {@link SecondLevelCache} regions, to Micrometer, tagged with {@code cache=<region>}.
+ * Meter names follow Micrometer's cache conventions ({@code cache.gets}, {@code cache.puts}, ...).
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    private final GlobalCacheService globalCache;
+    private final MaterialContentCache materialCache;
+    private final SecondLevelCache secondLevelCache;
+
+    public CacheMetrics(GlobalCacheService globalCache, MaterialContentCache materialCache,
+                        SecondLevelCache secondLevelCache) {
+        this.globalCache = globalCache;
+        this.materialCache = materialCache;
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CacheRegion<?, ?> cacheRegion : globalCache.regions()) {
+            bindStats(registry, cacheRegion.name(), cacheRegion.stats());
+            Gauge.builder("cache.size", cacheRegion, CacheRegion::size)
+                    .tag("cache", cacheRegion.name())
+                    .description("Entries currently held")
+                    .register(registry);
+        }
+
+        bindStats(registry, MaterialContentCache.NAME, materialCache.stats());
+        Gauge.builder("cache.size", materialCache, MaterialContentCache::size)
+                .tag("cache", MaterialContentCache.NAME)
+                .description("Entries currently held")
+                .register(registry);
+        Gauge.builder("cache.weighted.size", materialCache, MaterialContentCache::weightedSize)
+                .tag("cache", MaterialContentCache.NAME)
+                .baseUnit("bytes")
+                .description("Bytes of content currently held")
+                .register(registry);
+
+        for (String region : secondLevelCache.regionNames()) {
+            l2Counter(registry, "cache.gets", region, SecondLevelCache::hitCount, "Lookups that found an entry", "result", "hit");
+            l2Counter(registry, "cache.gets", region, SecondLevelCache::missCount, "Lookups that found no entry", "result", "miss");
+            l2Counter(registry, "cache.puts", region, SecondLevelCache::putCount, "Entries added or replaced");
+            Gauge.builder("cache.size", secondLevelCache, cache -> cache.size(region))
+                    .tag("cache", region)
+                    .description("Entries currently held")
+                    .register(registry);
+        }
+    }
+
+    private static void bindStats(MeterRegistry registry, String region, CacheStats stats) {
+        counter(registry, "cache.gets", region, stats, CacheStats::hitCount, "Lookups that found an entry", "result", "hit");
+        counter(registry, "cache.gets", region, stats, CacheStats::missCount, "Lookups that found no entry", "result", "miss");
+        counter(registry, "cache.puts", region, stats, CacheStats::putCount, "Entries added or replaced");
+        counter(registry, "cache.evictions", region, stats, CacheStats::evictionCount, "Entries evicted to make room");
+        counter(registry, "cache.expirations", region, stats, CacheStats::expirationCount, "Entries removed after their deadline");
+
+        FunctionTimer.builder("cache.load.duration", stats,
+                        CacheStats::loadCount, CacheStats::totalLoadTimeNanos, TimeUnit.NANOSECONDS)
+                .tag("cache", region)
+                .description("Time spent loading values on a miss")
+                .register(registry);
+    }
+
+    private void l2Counter(MeterRegistry registry, String name, String region,
+                           ToLongBiFunction<SecondLevelCache, String> count, String description, String... tags) {
+        FunctionCounter.builder(name, secondLevelCache, cache -> count.applyAsLong(cache, region))
+                .tag("cache", region)
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String name, String region, CacheStats stats,
+                                ToDoubleFunction<CacheStats> count, String description, String... tags) {
+        FunctionCounter.builder(name, stats, count)
+                .tag("cache", region)
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,26 @@
+package io.jos.onlinelearningplatform.cache;
+
+/**
+ * Eviction policy that can be selected by id for a cache region.
+ * <p>
+ * Implementations must return thread-safe caches that follow the {@link CacheAlgo}
+ * contract: a value that was just put is visible until it is evicted or removed,
+ * and the cache never holds more than {@code capacity} entries. Additional policies
+ * can be contributed as Spring beans and are picked up by {@link CachePolicyRegistry}.
+ */
+public interface CachePolicy {
+
+    /**
+     * Id used to select the policy in application properties, e.g. {@code app.cache.user.policy=arc}.
+     */
+    String id();
+
+    /**
+     * @param listener told about every entry the policy evicts
+     */
+    <K, V> CacheAlgo<K, V> create(int capacity, RemovalListener<? super K, ? super V> listener);
+
+    default <K, V> CacheAlgo<K, V> create(int capacity) {
+        return create(capacity, RemovalListener.none());
+    }
+}
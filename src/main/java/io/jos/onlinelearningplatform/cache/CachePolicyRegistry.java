@@ -0,0 +1,55 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Looks up eviction policies by id. Holds the {@link StandardCachePolicy} values
+ * plus any {@link CachePolicy} beans, which may override a standard id.
+ */
+@Component
+public class CachePolicyRegistry {
+
+    private final Map<String, CachePolicy> policies = new LinkedHashMap<>();
+
+    public CachePolicyRegistry() {
+        this(List.of());
+    }
+
+    @Autowired
+    public CachePolicyRegistry(Collection<CachePolicy> customPolicies) {
+        for (CachePolicy policy : StandardCachePolicy.values()) {
+            policies.put(policy.id(), policy);
+        }
+        for (CachePolicy policy : customPolicies) {
+            policies.put(policy.id(), policy);
+        }
+    }
+
+    public <K, V> CacheAlgo<K, V> create(String policyId, int capacity) {
+        return get(policyId).create(capacity);
+    }
+
+    public <K, V> CacheAlgo<K, V> create(String policyId, int capacity, RemovalListener<? super K, ? super V> listener) {
+        return get(policyId).create(capacity, listener);
+    }
+
+    public CachePolicy get(String policyId) {
+        CachePolicy policy = policies.get(policyId);
+        if (policy == null) {
+            throw new IllegalArgumentException("Unknown cache policy '" + policyId + "', expected one of " + policies.keySet());
+        }
+        return policy;
+    }
+
+    public Set<String> ids() {
+        return Collections.unmodifiableSet(policies.keySet());
+    }
+}
@@ -0,0 +1,167 @@
+package io.jos.onlinelearningplatform.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of the cache regions, e.g. {@code app.cache.regions.next-lessons.capacity=1000}.
+ * A region without settings uses the defaults of {@link Region}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+    private Materials materials = new Materials();
+    private Invalidation invalidation = new Invalidation();
+    private Warmup warmup = new Warmup();
+    private Trace trace = new Trace();
+    private Tuning tuning = new Tuning();
+    private Snapshot snapshot = new Snapshot();
+    private HotKeys hotKeys = new HotKeys();
+    private Statistics statistics = new Statistics();
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, new Region());
+    }
+
+    @Getter
+    @Setter
+    public static class Region {
+        // Maximum number of entries
+        private int capacity = 100;
+        // Eviction policy id, see CachePolicyRegistry
+        private String policy = StandardCachePolicy.LRU.id();
+        // Longest time an entry is served; null keeps entries until evicted
+        private Duration ttl = Duration.ofMinutes(10);
+        // How long a key the loader found nothing for is remembered; null does not cache absent keys
+        private Duration negativeTtl;
+        // Loaded entries this close to expiring are reloaded in the background; null disables it.
+        // Only for regions whose loaders do not need the caller's transaction.
+        private Duration refreshAhead;
+        // Rough heap footprint of one entry, key and value included; used to split the tuning budget
+        private DataSize entrySize = DataSize.ofKilobytes(1);
+    }
+
+    /**
+     * Settings of the study material content cache, bounded by bytes rather than entries.
+     */
+    @Getter
+    @Setter
+    public static class Materials {
+        // Total content held, e.g. 64MB
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+        // Larger files are always read from the database
+        private DataSize maxEntrySize = DataSize.ofMegabytes(8);
+        private MaterialContentCache.Storage storage = MaterialContentCache.Storage.HEAP;
+    }
+
+    /**
+     * How evictions reach the other application nodes.
+     */
+    @Getter
+    @Setter
+    public static class Invalidation {
+        // local: single node only; postgres: LISTEN/NOTIFY on the application database
+        private String transport = "local";
+        // Postgres notification channel shared by all nodes
+        private String channel = "cache_invalidation";
+    }
+
+    /**
+     * Preloading of teacher profiles and next lessons after startup.
+     */
+    @Getter
+    @Setter
+    public static class Warmup {
+        private boolean enabled = true;
+        // Users with a lesson this far ahead are preloaded
+        private Duration horizon = Duration.ofDays(7);
+        // Warm-up stops once this much time has passed, whatever is left stays cold
+        private Duration timeBudget = Duration.ofSeconds(30);
+        // Lessons read per query
+        private int batchSize = 500;
+    }
+
+    /**
+     * Recording of region lookups for {@link CacheSimulator}, off unless sizing regions.
+     */
+    @Getter
+    @Setter
+    public static class Trace {
+        private boolean enabled = false;
+        // One <region>.trace file per region, appended to across restarts
+        private String directory = "cache-traces";
+        // Recording stops once a region's file reaches this size
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+    }
+
+    /**
+     * Resizing of the regions at runtime from their estimated miss ratio curves.
+     */
+    @Getter
+    @Setter
+    public static class Tuning {
+        private boolean enabled = false;
+        private Duration interval = Duration.ofMinutes(15);
+        // Shared by all regions, counted with each region's entry-size
+        private DataSize memoryBudget = DataSize.ofMegabytes(16);
+        // No region is shrunk below this many entries
+        private int minCapacity = 10;
+        // Share of keys whose accesses are tracked at first; lowered automatically once sample-size is reached
+        private double samplingRate = 0.25;
+        // Most keys tracked per region
+        private int sampleSize = 4096;
+    }
+
+    /**
+     * Saving the hottest entries to a local file, so a restarted node starts warm.
+     */
+    @Getter
+    @Setter
+    public static class Snapshot {
+        private boolean enabled = false;
+        // Absolute path, required when enabled; the file holds cached user data
+        private String file;
+        // Saved this often and on shutdown
+        private Duration interval = Duration.ofMinutes(5);
+        // Older snapshots are ignored, since the invalidations sent meanwhile were missed
+        private Duration maxAge = Duration.ofMinutes(10);
+        // Hottest entries saved per region
+        private int maxEntries = 1000;
+        // Regions whose keys and values can be serialized; teachable-courses holds entities
+        private List<String> regions = List.of("teacher-profiles", "teacher-ids", "next-lessons");
+    }
+
+    /**
+     * Counting the most looked up keys of every region and of the lesson and user repositories.
+     */
+    @Getter
+    @Setter
+    public static class HotKeys {
+        private boolean enabled = false;
+        // Counters per row of each sketch; wider means fewer collisions inflating the counts
+        private int width = 1024;
+        // Keys listed per source
+        private int topK = 20;
+    }
+
+    /**
+     * Refreshing the admin dashboard statistics in the background, on top of dropping them on writes.
+     */
+    @Getter
+    @Setter
+    public static class Statistics {
+        private boolean enabled = false;
+        // Bounds how stale the counts get through writes on other nodes, whose events never arrive here
+        private Duration interval = Duration.ofMinutes(1);
+    }
+}
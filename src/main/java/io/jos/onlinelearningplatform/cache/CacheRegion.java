@@ -0,0 +1,412 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Named cache with its own key and value types, capacity, eviction policy and TTL.
+ * <p>
+ * Lookups go straight to the underlying {@link CacheAlgo} with the caller's key,
+ * so there is no key building or type check on the hot path. Every region keeps
+ * its own {@link CacheStats}.
+ * <p>
+ * {@link #get(Object, Function)} loads missing values itself: concurrent misses for
+ * a key share one load, a loader returning null is remembered as absent when the
+ * region has a negative TTL, and with refresh-ahead configured a value close to its
+ * deadline is reloaded in the background while the old one is still served.
+ * <p>
+ * With a {@link CacheTrace}, every lookup and eviction is also recorded for offline
+ * replay by {@link CacheSimulator}; with a {@link ShardsSampler}, a sample of them feeds
+ * the miss ratio curve that {@link CacheTuner} sizes the region by; with a
+ * {@link HotKeySketch}, its most looked up keys are counted.
+ */
+public class CacheRegion<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(CacheRegion.class);
+
+    private static final long TICK_MILLIS = 1000;
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final String name;
+    private final String policy;
+    private volatile int capacity;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Duration refreshAhead;
+    private final Clock clock;
+    private final Executor refreshExecutor;
+    private final Function<String, K> keyParser;
+    private final CachePolicyRegistry policies;
+    private final CacheStats stats = new CacheStats();
+    // Null unless tracing is enabled
+    private final CacheTrace trace;
+    // Null unless tuning is enabled
+    private final ShardsSampler sampler;
+    // Null unless hot-key tracking is enabled
+    private final HotKeySketch hotKeys;
+    // Loads in progress; an eviction removes the key so a load that read old data is not stored
+    private final ConcurrentMap<K, CompletableFuture<Cached<V>>> loads = new ConcurrentHashMap<>();
+    private volatile ExpiringCacheAlgo<K, Cached<V>> cache;
+    // Non-null while entries from a snapshot are being restored
+    private volatile Restore<K> restoring;
+
+    CacheRegion(String name, Function<String, K> keyParser, CacheProperties.Region config,
+                CachePolicyRegistry policies, Clock clock, Executor refreshExecutor, CacheTrace trace,
+                ShardsSampler sampler, HotKeySketch hotKeys) {
+        this.name = name;
+        this.keyParser = keyParser;
+        this.policy = config.getPolicy();
+        this.capacity = config.getCapacity();
+        this.ttl = config.getTtl();
+        this.negativeTtl = config.getNegativeTtl();
+        this.refreshAhead = config.getRefreshAhead();
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+        this.policies = policies;
+        this.trace = trace;
+        this.sampler = sampler;
+        this.hotKeys = hotKeys;
+        this.cache = newCache();
+    }
+
+    /**
+     * The cached value, or null on a miss or when the key is cached as absent.
+     */
+    public V get(K key) {
+        recordAccess(key);
+        Cached<V> cached = cache.get(key);
+        if (cached != null && cached.value() != null) {
+            stats.recordHit();
+            return cached.value();
+        }
+        stats.recordMiss();
+        return null;
+    }
+
+    /**
+     * The cached value, loaded with {@code loader} on a miss and cached for the region TTL.
+     *
+     * @see #get(Object, Function, Function)
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return get(key, loader, value -> null);
+    }
+
+    /**
+     * The cached value, loaded with {@code loader} on a miss.
+     * <p>
+     * Callers that miss the same key at the same time wait for a single load. A null
+     * result is cached for the region's negative TTL, if it has one, and returned as a
+     * hit until then. A value within the refresh-ahead window of its deadline is
+     * returned at once and reloaded on the refresh executor; background loads run
+     * outside the caller's transaction. If the loader throws, nothing is cached and
+     * every caller waiting for that load gets the exception.
+     *
+     * @param expiry when a loaded value stops being valid, e.g. the start of a lesson;
+     *               it returns null for values that only have the region TTL
+     */
+    public V get(K key, Function<? super K, ? extends V> loader, Function<? super V, LocalDateTime> expiry) {
+        recordAccess(key);
+        Cached<V> cached = cache.get(key);
+        if (cached != null) {
+            stats.recordHit();
+            if (clock.millis() >= cached.refreshAt()) {
+                refresh(key, loader, expiry);
+            }
+            return cached.value();
+        }
+        stats.recordMiss();
+        return load(key, loader, expiry).value();
+    }
+
+    /**
+     * Whether {@code key} is cached, possibly as absent, without counting as a hit or miss.
+     */
+    public boolean contains(K key) {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Caches {@code value} for the region TTL.
+     */
+    public void put(K key, V value) {
+        put(key, value, (Instant) null);
+    }
+
+    /**
+     * Caches {@code value} until {@code expiresAt}, e.g. the moment a lesson starts,
+     * but never longer than the region TTL.
+     */
+    public void put(K key, V value, LocalDateTime expiresAt) {
+        put(key, value, expiresAt == null ? null : expiresAt.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    public void put(K key, V value, Instant expiresAt) {
+        Duration maxTtl = value == null ? negativeTtl : ttl;
+        Instant deadline = expiresAt;
+        if (maxTtl != null) {
+            Instant regionDeadline = clock.instant().plus(maxTtl);
+            if (deadline == null || regionDeadline.isBefore(deadline)) {
+                deadline = regionDeadline;
+            }
+        }
+        // Absent entries are short-lived and simply reloaded once they expire
+        long refreshAt = deadline == null || refreshAhead == null || value == null
+                ? NEVER : deadline.minus(refreshAhead).toEpochMilli();
+        cache.put(key, new Cached<>(value, refreshAt), deadline);
+        stats.recordPut();
+    }
+
+    public void evict(K key) {
+        Restore<K> restore = restoring;
+        if (restore != null) {
+            restore.evicted.add(key);
+        }
+        if (trace != null) {
+            trace.recordEviction(key);
+        }
+        if (sampler != null) {
+            sampler.recordEviction(key);
+        }
+        loads.remove(key);
+        cache.remove(key);
+    }
+
+    /**
+     * Drops every entry, e.g. after invalidation messages from other nodes may have been missed.
+     */
+    public void clear() {
+        Restore<K> restore = restoring;
+        if (restore != null) {
+            restore.cleared = true;
+        }
+        if (trace != null) {
+            trace.recordClear();
+        }
+        if (sampler != null) {
+            sampler.recordClear();
+        }
+        loads.clear();
+        cache = newCache();
+    }
+
+    /**
+     * Changes the region's capacity, evicting down to it when shrinking. Policies that
+     * cannot resize in place are replaced by an empty cache of the new size.
+     */
+    public void resize(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int previous = this.capacity;
+        this.capacity = capacity;
+        if (!cache.resize(capacity)) {
+            cache = newCache();
+        }
+        logger.info("Resized cache region {} from {} to {} entries", name, previous, capacity);
+    }
+
+    /**
+     * Reads a key back from its {@code toString()} form, as sent to other nodes.
+     */
+    public K parseKey(String key) {
+        return keyParser.apply(key);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String policy() {
+        return policy;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Up to {@code limit} cached values with their deadlines, the ones the policy would keep
+     * longest first. Keys cached as absent are left out.
+     */
+    List<ExpiringCacheAlgo.Timed<K, V>> hottest(int limit) {
+        List<ExpiringCacheAlgo.Timed<K, V>> entries = new ArrayList<>();
+        for (ExpiringCacheAlgo.Timed<K, Cached<V>> entry : cache.timedEntries()) {
+            if (entries.size() >= limit) {
+                break;
+            }
+            if (entry.value().value() != null) {
+                entries.add(new ExpiringCacheAlgo.Timed<>(entry.key(), entry.value().value(), entry.expiresAt()));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Caches entries saved before a restart, skipping expired ones and keys that are already
+     * cached. A key evicted while the restore runs stays evicted, and clearing the region
+     * ends the restore. Returns the number of entries restored.
+     */
+    int restore(List<ExpiringCacheAlgo.Timed<K, V>> entries) {
+        Restore<K> restore = new Restore<>();
+        restoring = restore;
+        int restored = 0;
+        try {
+            for (ExpiringCacheAlgo.Timed<K, V> entry : entries) {
+                if (restore.cleared) {
+                    break;
+                }
+                K key = entry.key();
+                boolean expired = entry.expiresAt() != null && !entry.expiresAt().isAfter(clock.instant());
+                if (expired || cache.containsKey(key) || loads.containsKey(key) || restore.evicted.contains(key)) {
+                    continue;
+                }
+                put(key, entry.value(), entry.expiresAt());
+                // An eviction racing with the put must win
+                if (restore.evicted.contains(key) || restore.cleared) {
+                    cache.remove(key);
+                    continue;
+                }
+                restored++;
+            }
+        } finally {
+            restoring = null;
+        }
+        return restored;
+    }
+
+    ShardsSampler sampler() {
+        return sampler;
+    }
+
+    public CacheStats stats() {
+        return stats;
+    }
+
+    public CacheStatsSnapshot snapshot() {
+        return stats.snapshot(policy, size(), capacity);
+    }
+
+    private void recordAccess(K key) {
+        if (trace != null) {
+            trace.recordAccess(key);
+        }
+        if (sampler != null) {
+            sampler.recordAccess(key);
+        }
+        if (hotKeys != null) {
+            hotKeys.record(key);
+        }
+    }
+
+    private Cached<V> load(K key, Function<? super K, ? extends V> loader, Function<? super V, LocalDateTime> expiry) {
+        CompletableFuture<Cached<V>> load = new CompletableFuture<>();
+        CompletableFuture<Cached<V>> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            // Another load may have finished between our miss and registering this one
+            Cached<V> cached = cache.get(key);
+            if (cached == null) {
+                cached = loadAndStore(key, load, loader, expiry);
+            }
+            load.complete(cached);
+            return cached;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    private void refresh(K key, Function<? super K, ? extends V> loader, Function<? super V, LocalDateTime> expiry) {
+        CompletableFuture<Cached<V>> load = new CompletableFuture<>();
+        if (loads.putIfAbsent(key, load) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load.complete(loadAndStore(key, load, loader, expiry));
+                } catch (RuntimeException e) {
+                    // The current value is served until it expires
+                    logger.warn("Refreshing {} in cache region {} failed", key, name, e);
+                    load.completeExceptionally(e);
+                } finally {
+                    loads.remove(key, load);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loads.remove(key, load);
+            load.cancel(false);
+            logger.debug("Skipped refreshing {} in cache region {}, refresh executor is busy", key, name);
+        }
+    }
+
+    private Cached<V> loadAndStore(K key, CompletableFuture<Cached<V>> load, Function<? super K, ? extends V> loader,
+                                   Function<? super V, LocalDateTime> expiry) {
+        long start = System.nanoTime();
+        V value = loader.apply(key);
+        stats.recordLoad(System.nanoTime() - start);
+
+        if (value != null || negativeTtl != null) {
+            LocalDateTime expiresAt = value == null ? null : expiry.apply(value);
+            // Atomic with evict(), which removes the key from loads
+            loads.computeIfPresent(key, (k, current) -> {
+                if (current == load) {
+                    put(key, value, expiresAt);
+                }
+                return current;
+            });
+        }
+        return new Cached<>(value, NEVER);
+    }
+
+    private static <V> Cached<V> await(CompletableFuture<Cached<V>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private ExpiringCacheAlgo<K, Cached<V>> newCache() {
+        return new ExpiringCacheAlgo<>(policies.create(policy, capacity, stats), null, clock, TICK_MILLIS, stats);
+    }
+
+    private static final class Restore<K> {
+        private final Set<K> evicted = ConcurrentHashMap.newKeySet();
+        private volatile boolean cleared;
+    }
+
+    // A null value marks a key known to have no value; refreshAt is in epoch millis
+    private record Cached<V>(V value, long refreshAt) {
+    }
+}
@@ -0,0 +1,133 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Replays a recorded {@link CacheTrace} against eviction policies and capacities, to size a
+ * region and choose its policy offline.
+ * <p>
+ * Every lookup is a hit if the key is cached, otherwise a miss followed by a put, as the
+ * region's loader would do. Evictions and clears are replayed as recorded; TTLs are not,
+ * so the results are an upper bound for regions whose entries often expire.
+ * <p>
+ * Prints one CSV line per policy and capacity:
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=io.jos.onlinelearningplatform.cache.CacheSimulator \
+ *     -Dexec.args="cache-traces/teacher-profiles.trace --policies=lru,w-tinylfu --capacities=100,200,400"
+ * </pre>
+ * Without {@code --policies} every registered policy is run; without {@code --capacities}
+ * the capacity doubles from 16 up to the number of distinct keys in the trace.
+ */
+public final class CacheSimulator {
+
+    private static final String USAGE = "Usage: CacheSimulator <trace-file> [--policies=lru,arc,...] [--capacities=100,200,...]";
+    private static final int MIN_CAPACITY = 16;
+
+    public record Result(String policy, int capacity, long accesses, long hits) {
+
+        public double hitRatio() {
+            return accesses == 0 ? 0 : (double) hits / accesses;
+        }
+    }
+
+    private final CachePolicyRegistry policies;
+
+    public CacheSimulator(CachePolicyRegistry policies) {
+        this.policies = policies;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args[0].startsWith("--")) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        CachePolicyRegistry registry = new CachePolicyRegistry();
+        List<String> policyIds = new ArrayList<>(registry.ids());
+        int[] capacities = null;
+        for (String arg : Arrays.asList(args).subList(1, args.length)) {
+            if (arg.startsWith("--policies=")) {
+                policyIds = List.of(arg.substring("--policies=".length()).split(","));
+            } else if (arg.startsWith("--capacities=")) {
+                capacities = Arrays.stream(arg.substring("--capacities=".length()).split(","))
+                        .mapToInt(Integer::parseInt)
+                        .toArray();
+            } else {
+                System.err.println("Unknown option '" + arg + "'\n" + USAGE);
+                System.exit(2);
+            }
+        }
+
+        long[] trace = CacheTrace.read(Path.of(args[0]));
+        if (capacities == null) {
+            capacities = defaultCapacities(trace);
+        }
+        print(new CacheSimulator(registry).simulate(trace, policyIds, capacities), System.out);
+    }
+
+    /**
+     * Hit ratios of every policy at every capacity, ordered by policy then capacity.
+     */
+    public List<Result> simulate(long[] trace, List<String> policyIds, int[] capacities) {
+        // Fails on an unknown id before any replay starts
+        policyIds.forEach(policies::get);
+
+        List<int[]> runs = new ArrayList<>();
+        for (int p = 0; p < policyIds.size(); p++) {
+            for (int capacity : capacities) {
+                if (capacity <= 0) {
+                    throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+                }
+                runs.add(new int[] {p, capacity});
+            }
+        }
+        // Runs are independent, each with its own cache
+        return runs.parallelStream()
+                .map(run -> replay(trace, policyIds.get(run[0]), run[1]))
+                .toList();
+    }
+
+    static void print(List<Result> results, PrintStream out) {
+        out.println("policy,capacity,accesses,hits,hit_ratio");
+        for (Result result : results) {
+            out.printf(Locale.ROOT, "%s,%d,%d,%d,%.4f%n", result.policy(), result.capacity(), result.accesses(), result.hits(),
+                    result.hitRatio());
+        }
+    }
+
+    static int[] defaultCapacities(long[] trace) {
+        long keys = Arrays.stream(trace).filter(record -> !CacheTrace.isEviction(record)).distinct().count();
+        List<Integer> capacities = new ArrayList<>();
+        for (long capacity = MIN_CAPACITY; capacity < keys; capacity *= 2) {
+            capacities.add((int) capacity);
+        }
+        capacities.add((int) Math.max(MIN_CAPACITY, Math.min(keys, Integer.MAX_VALUE)));
+        return capacities.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private Result replay(long[] trace, String policy, int capacity) {
+        CacheAlgo<Long, Boolean> cache = policies.create(policy, capacity);
+        long accesses = 0;
+        long hits = 0;
+        for (long record : trace) {
+            if (record == CacheTrace.CLEAR) {
+                cache = policies.create(policy, capacity);
+            } else if (CacheTrace.isEviction(record)) {
+                cache.remove(CacheTrace.key(record));
+            } else {
+                accesses++;
+                if (cache.get(record) != null) {
+                    hits++;
+                } else {
+                    cache.put(record, Boolean.TRUE);
+                }
+            }
+        }
+        return new Result(policy, capacity, accesses, hits);
+    }
+}
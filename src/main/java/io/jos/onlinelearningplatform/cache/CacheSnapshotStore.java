@@ -0,0 +1,309 @@
+package io.jos.onlinelearningplatform.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the hottest entries of the cache regions to a local file and restores them after
+ * a restart, so a node coming back from a rolling deploy serves from its cache right away
+ * instead of sending every first request to the database.
+ * <p>
+ * The file starts with a header (magic number, format version, creation time) followed by
+ * one block per region: its name, the byte length of its entries, and the entries as Java
+ * serialized keys, values and deadlines. It is written through a {@link FileChannel} to a
+ * temporary file that is forced to disk and then moved over the old one, so a crash never
+ * leaves half a snapshot. On startup it is memory-mapped and restored on a background
+ * thread, after which snapshots are taken every interval and once more on shutdown.
+ * <p>
+ * Entries are only as fresh as the snapshot: a snapshot older than the maximum age is
+ * ignored as a whole, because the invalidations sent while the node was down were missed,
+ * and expired entries, keys already cached and keys evicted during the restore are
+ * skipped. A region whose classes changed between versions fails to deserialize and is
+ * simply left cold.
+ * <p>
+ * The file holds cached user data, emails included, so snapshots are off by default and
+ * need an absolute path, which should point to a volume only this node can read. Reading
+ * back accepts only the classes the regions hold, in the amounts a snapshot of at most
+ * {@code max-entries} entries needs.
+ */
+@Component
+public class CacheSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(CacheSnapshotStore.class);
+
+    private static final int MAGIC = 0x43534e50;
+    private static final int VERSION = 1;
+    private static final long NO_DEADLINE = -1;
+    // Limits for reading back a region: the summaries nest a few levels and hold short lists at most
+    private static final int MAX_DEPTH = 10;
+    private static final int MAX_ARRAY_LENGTH = 10_000;
+    private static final long MAX_REFS_PER_ENTRY = 64;
+
+    private final GlobalCacheService globalCache;
+    private final CacheProperties.Snapshot config;
+    private final Path file;
+    private final ObjectInputFilter filter;
+    private final Clock clock;
+    private ScheduledExecutorService scheduler;
+    // Until the restore has run, saving would overwrite the snapshot with a cold cache
+    private volatile boolean restored;
+
+    @Autowired
+    public CacheSnapshotStore(GlobalCacheService globalCache, CacheProperties properties) {
+        this(globalCache, properties, Clock.systemUTC());
+    }
+
+    CacheSnapshotStore(GlobalCacheService globalCache, CacheProperties properties, Clock clock) {
+        this.globalCache = globalCache;
+        this.config = properties.getSnapshot();
+        this.file = config.getFile() == null ? null : Path.of(config.getFile());
+        if (config.isEnabled() && (file == null || !file.isAbsolute())) {
+            throw new IllegalArgumentException("Cache snapshots need an absolute snapshot file, got: " + config.getFile());
+        }
+        // Only the kinds of keys and values the regions hold are read back
+        this.filter = ObjectInputFilter.Config.createFilter("maxdepth=" + MAX_DEPTH + ";maxarray=" + MAX_ARRAY_LENGTH
+                + ";maxrefs=" + MAX_REFS_PER_ENTRY * Math.max(1, config.getMaxEntries()) + ";"
+                + "java.lang.*;java.time.*;java.util.*;io.jos.onlinelearningplatform.dto.**;"
+                + "org.springframework.cache.support.NullValue;!*");
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "cache-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // One thread, so the first save always follows the restore
+        scheduler.execute(this::restoreSafely);
+        long interval = config.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::saveSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveSafely();
+    }
+
+    /**
+     * Writes the hottest entries of the configured regions, replacing the previous snapshot.
+     */
+    public void save() throws IOException {
+        List<ByteBuffer> blocks = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 3 + Long.BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(clock.millis());
+        blocks.add(header);
+
+        int regions = 0;
+        int entries = 0;
+        for (String name : config.getRegions()) {
+            CacheRegion<?, ?> region = globalCache.region(name);
+            if (region == null) {
+                continue;
+            }
+            List<? extends ExpiringCacheAlgo.Timed<?, ?>> hottest = region.hottest(config.getMaxEntries());
+            byte[] body;
+            try {
+                body = serialize(hottest);
+            } catch (IOException e) {
+                logger.warn("Cache region {} cannot be serialized, leaving it out of the snapshot", name, e);
+                continue;
+            }
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer blockHeader = ByteBuffer.allocate(Integer.BYTES * 2 + nameBytes.length);
+            blockHeader.putInt(nameBytes.length).put(nameBytes).putInt(body.length).flip();
+            blocks.add(blockHeader);
+            blocks.add(ByteBuffer.wrap(body));
+            regions++;
+            entries += hottest.size();
+        }
+        header.putInt(regions).flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer[] buffers = blocks.toArray(ByteBuffer[]::new);
+                while (buffers[buffers.length - 1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        logger.debug("Saved {} cache entries of {} regions to {}", entries, regions, file);
+    }
+
+    /**
+     * Restores the entries of a recent enough snapshot, if there is one.
+     *
+     * @return the number of entries restored
+     */
+    public int restore() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        // Read every block before restoring any, so a damaged file restores nothing
+        Map<String, byte[]> bodies = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.info("Ignoring cache snapshot {} of an unknown format", file);
+                return 0;
+            }
+            Instant created = Instant.ofEpochMilli(buffer.getLong());
+            Duration age = Duration.between(created, clock.instant());
+            if (age.compareTo(config.getMaxAge()) > 0) {
+                logger.info("Ignoring cache snapshot {} taken {} ago", file, age);
+                return 0;
+            }
+            int regions = buffer.getInt();
+            for (int i = 0; i < regions; i++) {
+                byte[] name = new byte[buffer.getInt()];
+                buffer.get(name);
+                byte[] body = new byte[buffer.getInt()];
+                buffer.get(body);
+                bodies.put(new String(name, StandardCharsets.UTF_8), body);
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException(buffer.remaining() + " trailing bytes");
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException | IllegalArgumentException e) {
+            logger.warn("Ignoring corrupt cache snapshot {}: {}", file, e.toString());
+            return 0;
+        }
+
+        int restoredEntries = 0;
+        for (Map.Entry<String, byte[]> body : bodies.entrySet()) {
+            restoredEntries += restoreRegion(body.getKey(), body.getValue());
+        }
+        logger.info("Restored {} cache entries from {}", restoredEntries, file);
+        return restoredEntries;
+    }
+
+    private int restoreRegion(String name, byte[] body) {
+        CacheRegion<?, ?> region = globalCache.region(name);
+        if (region == null || !config.getRegions().contains(name)) {
+            return 0;
+        }
+        try {
+            return restore(region, deserialize(body));
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // Includes classes and sizes rejected by the filter
+            logger.warn("Cache region {} could not be restored from the snapshot, leaving it cold", name, e);
+            return 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> int restore(CacheRegion<K, V> region, List<ExpiringCacheAlgo.Timed<Object, Object>> entries) {
+        List<ExpiringCacheAlgo.Timed<K, V>> typed = new ArrayList<>(entries.size());
+        for (ExpiringCacheAlgo.Timed<Object, Object> entry : entries) {
+            typed.add(new ExpiringCacheAlgo.Timed<>((K) entry.key(), (V) entry.value(), entry.expiresAt()));
+        }
+        return region.restore(typed);
+    }
+
+    private static byte[] serialize(List<? extends ExpiringCacheAlgo.Timed<?, ?>> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeInt(entries.size());
+            for (ExpiringCacheAlgo.Timed<?, ?> entry : entries) {
+                out.writeObject(entry.key());
+                out.writeObject(entry.value());
+                out.writeLong(entry.expiresAt() == null ? NO_DEADLINE : entry.expiresAt().toEpochMilli());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<ExpiringCacheAlgo.Timed<Object, Object>> deserialize(byte[] body)
+            throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(body))) {
+            in.setObjectInputFilter(filter);
+            int count = in.readInt();
+            // Checked before allocating, the filter only sees what readObject reads
+            if (count < 0 || count > config.getMaxEntries()) {
+                throw new InvalidObjectException("Corrupt region block with " + count + " entries");
+            }
+            List<ExpiringCacheAlgo.Timed<Object, Object>> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Object key = in.readObject();
+                Object value = in.readObject();
+                long deadline = in.readLong();
+                entries.add(new ExpiringCacheAlgo.Timed<>(key, value,
+                        deadline == NO_DEADLINE ? null : Instant.ofEpochMilli(deadline)));
+            }
+            return entries;
+        }
+    }
+
+    private void restoreSafely() {
+        try {
+            restore();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Restoring the cache snapshot {} failed, starting cold", file, e);
+        } finally {
+            restored = true;
+        }
+    }
+
+    private void saveSafely() {
+        if (!restored) {
+            return;
+        }
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            // The previous snapshot is still in place
+            logger.warn("Saving the cache snapshot {} failed", file, e);
+        }
+    }
+}
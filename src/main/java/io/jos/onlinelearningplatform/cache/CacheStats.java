@@ -0,0 +1,92 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one cache region.
+ * <p>
+ * Backed by {@link LongAdder}s, so recording from many request threads never blocks
+ * and stays cheap under contention; reads sum the cells and are only consistent per
+ * counter. Registered as the region's {@link RemovalListener} to count evictions and
+ * expirations.
+ */
+public class CacheStats implements RemovalListener<Object, Object> {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordPut() {
+        puts.increment();
+    }
+
+    public void recordLoad(long loadTimeNanos) {
+        loads.increment();
+        totalLoadTimeNanos.add(loadTimeNanos);
+    }
+
+    @Override
+    public void onRemoval(Object key, Object value, RemovalCause cause) {
+        if (cause == RemovalCause.EXPIRED) {
+            expirations.increment();
+        } else {
+            evictions.increment();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public long totalLoadTimeNanos() {
+        return totalLoadTimeNanos.sum();
+    }
+
+    public CacheStatsSnapshot snapshot(String policy, int size, int capacity) {
+        return snapshot(policy, size, capacity, size, capacity);
+    }
+
+    public CacheStatsSnapshot snapshot(String policy, int size, int capacity, long weightedSize, long maximumWeight) {
+        long hitCount = hitCount();
+        long requests = hitCount + missCount();
+        long loadCount = loadCount();
+        return new CacheStatsSnapshot(policy, size, capacity, hitCount, missCount(),
+                requests == 0 ? 0.0 : (double) hitCount / requests,
+                putCount(), evictionCount(), expirationCount(), loadCount,
+                loadCount == 0 ? 0.0 : (double) totalLoadTimeNanos() / loadCount / TimeUnit.MILLISECONDS.toNanos(1),
+                weightedSize, maximumWeight);
+    }
+}
@@ -0,0 +1,43 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/cachestats}) with the current statistics of every cache region,
+ * of the study material content cache and of the Hibernate second-level cache regions.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private final GlobalCacheService globalCache;
+    private final MaterialContentCache materialCache;
+    private final SecondLevelCache secondLevelCache;
+
+    public CacheStatsEndpoint(GlobalCacheService globalCache, MaterialContentCache materialCache,
+                              SecondLevelCache secondLevelCache) {
+        this.globalCache = globalCache;
+        this.materialCache = materialCache;
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    @ReadOperation
+    public Map<String, CacheStatsSnapshot> cacheStats() {
+        Map<String, CacheStatsSnapshot> stats = globalCache.stats();
+        stats.put(MaterialContentCache.NAME, materialCache.snapshot());
+        for (String region : secondLevelCache.regionNames()) {
+            stats.put(region, secondLevelCache.snapshot(region));
+        }
+        return stats;
+    }
+
+    @ReadOperation
+    public CacheStatsSnapshot region(@Selector String region) {
+        return cacheStats().get(region);
+    }
+}
@@ -0,0 +1,21 @@
+package io.jos.onlinelearningplatform.cache;
+
+/**
+ * Point-in-time view of a region's {@link CacheStats}, as served by the cache statistics endpoint.
+ * {@code weightedSize} and {@code maximumWeight} are in bytes for byte-bounded caches and equal
+ * {@code size} and {@code capacity} for regions bounded by entry count.
+ */
+public record CacheStatsSnapshot(String policy,
+                                 int size,
+                                 int capacity,
+                                 long hits,
+                                 long misses,
+                                 double hitRate,
+                                 long puts,
+                                 long evictions,
+                                 long expirations,
+                                 long loads,
+                                 double averageLoadMillis,
+                                 long weightedSize,
+                                 long maximumWeight) {
+}
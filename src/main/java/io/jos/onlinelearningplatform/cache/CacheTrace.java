@@ -0,0 +1,123 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only record of the key accesses of one region, replayed by {@link CacheSimulator}.
+ * <p>
+ * Each record is one big-endian long: a 63-bit fingerprint of the key, with the sign bit
+ * set for an eviction; an eviction of fingerprint 0 stands for clearing the region. Only
+ * lookups and evictions are recorded, since with cache-aside a miss implies the put that
+ * follows it. Writes go through a buffer under the instance
+ * monitor; recording stops once the file reaches its size limit.
+ */
+public class CacheTrace implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(CacheTrace.class);
+
+    static final String EXTENSION = ".trace";
+    static final long CLEAR = Long.MIN_VALUE;
+    private static final int RECORD_BYTES = Long.BYTES;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path file;
+    private final long maxRecords;
+    private DataOutputStream out;
+    private long records;
+
+    public CacheTrace(Path file, long maxBytes) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.file = file;
+        this.records = Files.exists(file) ? Files.size(file) / RECORD_BYTES : 0;
+        this.maxRecords = maxBytes / RECORD_BYTES;
+        OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_BYTES));
+        logger.info("Recording cache accesses to {}", file);
+    }
+
+    public void recordAccess(Object key) {
+        write(fingerprint(key));
+    }
+
+    public void recordEviction(Object key) {
+        write(fingerprint(key) | Long.MIN_VALUE);
+    }
+
+    public void recordClear() {
+        write(CLEAR);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private synchronized void write(long record) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.writeLong(record);
+            if (++records >= maxRecords) {
+                logger.warn("Cache trace {} reached its size limit, recording stopped", file);
+                close();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write cache trace {}, recording stopped", file, e);
+            out = null;
+        }
+    }
+
+    static boolean isEviction(long record) {
+        return record < 0;
+    }
+
+    static long key(long record) {
+        return record & Long.MAX_VALUE;
+    }
+
+    /**
+     * Reads every record of a trace file, ignoring a last record cut short, e.g. by a crash.
+     */
+    static long[] read(Path file) throws IOException {
+        long size = Files.size(file) / RECORD_BYTES;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Trace too large to load: " + file);
+        }
+        long[] trace = new long[(int) size];
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream, BUFFER_BYTES))) {
+            for (int i = 0; i < trace.length; i++) {
+                trace[i] = in.readLong();
+            }
+        }
+        return trace;
+    }
+
+    // Stable across restarts for the region's key types (Long and String), unlike identity hashes
+    static long fingerprint(Object key) {
+        long h = key.hashCode() * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h &= Long.MAX_VALUE;
+        return h == 0 ? 1 : h;
+    }
+}
@@ -0,0 +1,168 @@
+package io.jos.onlinelearningplatform.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes the cache regions within a shared memory budget to get the most hits overall.
+ * <p>
+ * Every interval, each region's {@link ShardsSampler} gives its estimated hits at every
+ * capacity. The budget is then handed out greedily, always to the region whose next step
+ * up gains the most hits per byte, looking several steps ahead so a plateau in a curve
+ * does not hide a rise behind it. Regions that saw too few lookups keep their size. A
+ * region is only resized when its capacity changes by more than a tenth, and the curves
+ * are halved afterwards, so the sizes follow the shift between daytime teacher traffic
+ * and evening student traffic without flapping.
+ * <p>
+ * The curves are those of LRU; for the scan resistant policies they underestimate the
+ * hits at small capacities, which errs on the side of bigger caches.
+ */
+@Component
+public class CacheTuner {
+    private static final Logger logger = LoggerFactory.getLogger(CacheTuner.class);
+
+    // Estimated lookups since the last decay below which a curve is too noisy to act on
+    private static final double MIN_REFERENCES = 100;
+    private static final double MIN_CHANGE = 0.1;
+
+    private final GlobalCacheService globalCache;
+    private final CacheProperties properties;
+    private final CacheProperties.Tuning config;
+    private ScheduledExecutorService scheduler;
+
+    public CacheTuner(GlobalCacheService globalCache, CacheProperties properties) {
+        this.globalCache = globalCache;
+        this.properties = properties;
+        this.config = properties.getTuning();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "cache-tuner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::tuneSafely, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("Tuning cache regions every {} within {}", config.getInterval(), config.getMemoryBudget());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Resizes the regions once, from the lookups sampled since the previous run.
+     */
+    public void tune() {
+        List<CacheRegion<?, ?>> regions = new ArrayList<>();
+        for (CacheRegion<?, ?> region : globalCache.regions()) {
+            if (region.sampler() != null) {
+                regions.add(region);
+            }
+        }
+        if (regions.isEmpty()) {
+            return;
+        }
+
+        int count = regions.size();
+        MissRatioCurve[] curves = new MissRatioCurve[count];
+        long[] entryBytes = new long[count];
+        int[] current = new int[count];
+        for (int i = 0; i < count; i++) {
+            CacheRegion<?, ?> region = regions.get(i);
+            curves[i] = region.sampler().curve();
+            entryBytes[i] = Math.max(1, properties.region(region.name()).getEntrySize().toBytes());
+            current[i] = region.capacity();
+        }
+
+        int[] capacities = allocate(curves, entryBytes, current, config.getMemoryBudget().toBytes(),
+                config.getMinCapacity());
+        for (int i = 0; i < count; i++) {
+            CacheRegion<?, ?> region = regions.get(i);
+            logger.debug("Cache region {}: estimated hit ratio {} at {} entries, {} at {}", region.name(),
+                    String.format("%.3f", curves[i].hitRatio(current[i])), current[i],
+                    String.format("%.3f", curves[i].hitRatio(capacities[i])), capacities[i]);
+            if (Math.abs(capacities[i] - current[i]) > MIN_CHANGE * current[i]) {
+                region.resize(capacities[i]);
+            }
+            region.sampler().decay();
+        }
+    }
+
+    /**
+     * Capacities for regions with the given curves that fit {@code budget} bytes.
+     * Regions whose curve saw too few lookups keep their {@code current} capacity.
+     */
+    static int[] allocate(MissRatioCurve[] curves, long[] entryBytes, int[] current, long budget, int minCapacity) {
+        int count = curves.length;
+        int[] capacities = new int[count];
+        boolean[] tuned = new boolean[count];
+        long remaining = budget;
+        for (int i = 0; i < count; i++) {
+            tuned[i] = curves[i].references() >= MIN_REFERENCES;
+            capacities[i] = tuned[i] ? minCapacity : current[i];
+            remaining -= capacities[i] * entryBytes[i];
+        }
+
+        while (remaining > 0) {
+            int best = -1;
+            int bestCapacity = 0;
+            double bestGain = 0;
+            for (int i = 0; i < count; i++) {
+                if (!tuned[i]) {
+                    continue;
+                }
+                MissRatioCurve curve = curves[i];
+                double hits = curve.hits(capacities[i]);
+                int step = curve.bucketWidth();
+                // The first bucket boundary above the current capacity, then whole buckets
+                int next = (capacities[i] / step + 1) * step;
+                for (int target = next; target <= curve.maxCapacity(); target += step) {
+                    long cost = (target - capacities[i]) * entryBytes[i];
+                    if (cost > remaining) {
+                        break;
+                    }
+                    double gain = (curve.hits(target) - hits) / cost;
+                    if (gain > bestGain) {
+                        best = i;
+                        bestCapacity = target;
+                        bestGain = gain;
+                    }
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            remaining -= (bestCapacity - capacities[best]) * entryBytes[best];
+            capacities[best] = bestCapacity;
+        }
+        return capacities;
+    }
+
+    private void tuneSafely() {
+        try {
+            tune();
+        } catch (RuntimeException e) {
+            // A failed run must not cancel the schedule
+            logger.warn("Tuning the cache regions failed", e);
+        }
+    }
+}
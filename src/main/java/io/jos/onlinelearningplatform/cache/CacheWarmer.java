@@ -0,0 +1,145 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
+import io.jos.onlinelearningplatform.model.Lesson;
+import io.jos.onlinelearningplatform.model.Teacher;
+import io.jos.onlinelearningplatform.model.User;
+import io.jos.onlinelearningplatform.repository.LessonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Preloads the caches right after startup, so the first home page requests after a
+ * deploy do not all fall through to the database.
+ * <p>
+ * Reads the lessons of the configured horizon in pages, with course and participants
+ * fetched in the same query, and caches each participant's next lesson plus every
+ * teacher's profile and id. Runs on its own thread so readiness is not delayed, and
+ * stops between pages once the time budget is spent. Entries that live requests
+ * already cached are left alone.
+ */
+@Component
+public class CacheWarmer {
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final LessonRepository lessonRepository;
+    private final GlobalCacheService globalCache;
+    private final CacheProperties.Warmup config;
+    private final TransactionOperations transactions;
+
+    @Autowired
+    public CacheWarmer(LessonRepository lessonRepository, GlobalCacheService globalCache,
+                       CacheProperties properties, PlatformTransactionManager transactionManager) {
+        this(lessonRepository, globalCache, properties, readOnly(transactionManager));
+    }
+
+    CacheWarmer(LessonRepository lessonRepository, GlobalCacheService globalCache,
+                CacheProperties properties, TransactionOperations transactions) {
+        this.lessonRepository = lessonRepository;
+        this.globalCache = globalCache;
+        this.config = properties.getWarmup();
+        this.transactions = transactions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!config.isEnabled()) {
+            logger.info("Cache warm-up disabled");
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs the warm-up on the calling thread.
+     *
+     * @return the number of entries cached
+     */
+    public int warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + config.getTimeBudget().toNanos();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(config.getHorizon());
+
+        Set<Long> seenUsers = new HashSet<>();
+        int cached = 0;
+        int page = 0;
+        try {
+            while (true) {
+                int pageNumber = page++;
+                List<Lesson> lessons = transactions.execute(status -> lessonRepository.findUpcomingWithParticipants(
+                        now, until, PageRequest.of(pageNumber, config.getBatchSize())));
+                for (Lesson lesson : lessons) {
+                    cached += cacheLesson(lesson, now, seenUsers);
+                }
+                if (lessons.size() < config.getBatchSize()) {
+                    break;
+                }
+                if (System.nanoTime() - deadline > 0) {
+                    logger.warn("Cache warm-up stopped after its time budget of {} with {} entries cached",
+                            config.getTimeBudget(), cached);
+                    return cached;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Cache warm-up failed after {} entries", cached, e);
+            return cached;
+        }
+        logger.info("Cache warm-up cached {} entries for {} users in {} ms", cached, seenUsers.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return cached;
+    }
+
+    // Lessons arrive in start order, so the first one seen for a user is their next lesson
+    private int cacheLesson(Lesson lesson, LocalDateTime now, Set<Long> seenUsers) {
+        LessonSummary summary = LessonSummary.of(lesson);
+        int cached = 0;
+        Teacher teacher = lesson.getTeacher();
+        if (teacher != null && seenUsers.add(teacher.getId())) {
+            cached += cacheNextLesson(teacher, summary);
+            if (!globalCache.teacherProfiles().contains(teacher.getId())) {
+                globalCache.teacherProfiles().put(teacher.getId(), TeacherSummary.of(teacher));
+                cached++;
+            }
+            if (!globalCache.teacherIds().contains(teacher.getUsername())) {
+                globalCache.teacherIds().put(teacher.getUsername(), teacher.getId());
+                cached++;
+            }
+        }
+        // Students only see lessons strictly after now
+        if (lesson.getStudent() != null && lesson.getTimestamp().isAfter(now) && seenUsers.add(lesson.getStudent().getId())) {
+            cached += cacheNextLesson(lesson.getStudent(), summary);
+        }
+        return cached;
+    }
+
+    private int cacheNextLesson(User user, LessonSummary summary) {
+        if (globalCache.nextLessons().contains(user.getId())) {
+            return 0;
+        }
+        globalCache.nextLessons().put(user.getId(), summary, summary.timestamp());
+        return 1;
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,354 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * CLOCK-Pro replacement (Jiang, Chen and Zhang), a clock approximation of LIRS.
+ * <p>
+ * Resident entries are either hot or cold, and every cold entry starts a test period
+ * when it is inserted. A cold entry that is referenced again during its test period
+ * is promoted to hot. Cold entries evicted while still in test are kept as
+ * non-resident keys so that a quick return is recognised and the cold share of the
+ * cache grows; test periods that expire without a return shrink it again.
+ * <p>
+ * All entries sit on one circular list swept by three hands: the cold hand evicts,
+ * the hot hand demotes hot entries and ends stale tests, the test hand bounds the
+ * number of non-resident keys to the capacity. Hits only set a reference bit, so
+ * reads never reorder the list. All operations run under the instance monitor.
+ */
+public class ClockProCacheAlgo<K, V> implements CacheAlgo<K, V> {
+
+    private enum Status { HOT, COLD, NON_RESIDENT }
+
+    private final RemovalListener<? super K, ? super V> listener;
+    private int capacity;
+    private int maxColdTarget;
+    private final Map<K, Node<K, V>> index = new HashMap<>();
+
+    private Node<K, V> handHot;
+    private Node<K, V> handCold;
+    private Node<K, V> handTest;
+
+    private int coldTarget;
+    private int hotCount;
+    private int coldCount;
+    private int nonResidentCount;
+
+    public ClockProCacheAlgo(int capacity) {
+        this(capacity, RemovalListener.none());
+    }
+
+    public ClockProCacheAlgo(int capacity, RemovalListener<? super K, ? super V> listener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.listener = listener;
+        this.maxColdTarget = Math.max(1, capacity - 1);
+        this.coldTarget = Math.max(1, capacity / 10);
+    }
+
+    @Override
+    public synchronized void put(K key, V value) {
+        Node<K, V> node = index.get(key);
+        if (node != null && node.status != Status.NON_RESIDENT) {
+            node.value = value;
+            node.referenced = true;
+            return;
+        }
+
+        if (node != null) {
+            // Returned within its test period: the cold share was too small
+            coldTarget = Math.min(maxColdTarget, coldTarget + 1);
+            unlink(node);
+            nonResidentCount--;
+            index.remove(key);
+            makeRoom();
+            Node<K, V> hot = new Node<>(key, value, Status.HOT);
+            link(hot);
+            hotCount++;
+            balanceHot();
+            return;
+        }
+
+        makeRoom();
+        Node<K, V> cold = new Node<>(key, value, Status.COLD);
+        cold.inTest = true;
+        link(cold);
+        coldCount++;
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        Node<K, V> node = index.get(key);
+        if (node == null || node.status == Status.NON_RESIDENT) {
+            return null;
+        }
+        node.referenced = true;
+        return node.value;
+    }
+
+    @Override
+    public synchronized V peek(K key) {
+        Node<K, V> node = index.get(key);
+        return node == null || node.status == Status.NON_RESIDENT ? null : node.value;
+    }
+
+    @Override
+    public synchronized boolean containsKey(K key) {
+        Node<K, V> node = index.get(key);
+        return node != null && node.status != Status.NON_RESIDENT;
+    }
+
+    @Override
+    public synchronized V remove(K key) {
+        Node<K, V> node = index.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        switch (node.status) {
+            case HOT -> hotCount--;
+            case COLD -> coldCount--;
+            case NON_RESIDENT -> {
+                nonResidentCount--;
+                return null;
+            }
+        }
+        return node.value;
+    }
+
+    @Override
+    public synchronized boolean remove(K key, V expected) {
+        Node<K, V> node = index.get(key);
+        if (node == null || node.status == Status.NON_RESIDENT || !Objects.equals(node.value, expected)) {
+            return false;
+        }
+        remove(key);
+        return true;
+    }
+
+    @Override
+    public synchronized int size() {
+        return hotCount + coldCount;
+    }
+
+    /**
+     * Sweeps the cold hand until the resident entries fit, then rebalances the hot share
+     * and drops non-resident keys beyond the new capacity.
+     */
+    @Override
+    public synchronized boolean resize(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.maxColdTarget = Math.max(1, capacity - 1);
+        this.coldTarget = Math.min(coldTarget, maxColdTarget);
+        while (hotCount + coldCount > capacity) {
+            runHandCold();
+        }
+        balanceHot();
+        while (nonResidentCount > capacity) {
+            runHandTest();
+        }
+        return true;
+    }
+
+    /**
+     * Hot entries before cold ones.
+     */
+    @Override
+    public synchronized List<Map.Entry<K, V>> entries() {
+        List<Map.Entry<K, V>> hot = new ArrayList<>(hotCount + coldCount);
+        List<Map.Entry<K, V>> cold = new ArrayList<>(coldCount);
+        for (Node<K, V> node : index.values()) {
+            switch (node.status) {
+                case HOT -> hot.add(new AbstractMap.SimpleImmutableEntry<>(node.key, node.value));
+                case COLD -> cold.add(new AbstractMap.SimpleImmutableEntry<>(node.key, node.value));
+                case NON_RESIDENT -> {
+                }
+            }
+        }
+        hot.addAll(cold);
+        return hot;
+    }
+
+    private void makeRoom() {
+        while (hotCount + coldCount >= capacity) {
+            runHandCold();
+        }
+    }
+
+    private void balanceHot() {
+        while (hotCount > capacity - coldTarget) {
+            runHandHot();
+        }
+    }
+
+    /**
+     * Evicts exactly one cold resident entry, promoting referenced test entries on the way.
+     */
+    private void runHandCold() {
+        while (true) {
+            if (coldCount == 0) {
+                runHandHot();
+            }
+            Node<K, V> node = handCold;
+            handCold = node.next;
+            if (node.status != Status.COLD) {
+                continue;
+            }
+            if (node.referenced) {
+                node.referenced = false;
+                if (node.inTest) {
+                    node.status = Status.HOT;
+                    node.inTest = false;
+                    coldCount--;
+                    hotCount++;
+                    balanceHot();
+                } else {
+                    node.inTest = true;
+                }
+                continue;
+            }
+
+            coldCount--;
+            listener.onRemoval(node.key, node.value, RemovalCause.EVICTED);
+            if (node.inTest) {
+                node.status = Status.NON_RESIDENT;
+                node.value = null;
+                nonResidentCount++;
+                while (nonResidentCount > capacity) {
+                    runHandTest();
+                }
+            } else {
+                unlink(node);
+                index.remove(node.key);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Demotes exactly one hot entry to cold, ending the test periods it passes.
+     */
+    private void runHandHot() {
+        while (true) {
+            Node<K, V> node = handHot;
+            handHot = node.next;
+            switch (node.status) {
+                case HOT -> {
+                    if (node.referenced) {
+                        node.referenced = false;
+                    } else {
+                        node.status = Status.COLD;
+                        node.inTest = false;
+                        hotCount--;
+                        coldCount++;
+                        return;
+                    }
+                }
+                case COLD -> {
+                    if (node.inTest) {
+                        node.inTest = false;
+                        shrinkColdTarget();
+                    }
+                }
+                case NON_RESIDENT -> {
+                    dropNonResident(node);
+                    shrinkColdTarget();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops exactly one non-resident key, ending the test periods it passes.
+     */
+    private void runHandTest() {
+        while (true) {
+            Node<K, V> node = handTest;
+            handTest = node.next;
+            if (node.status == Status.COLD && node.inTest) {
+                node.inTest = false;
+                shrinkColdTarget();
+            } else if (node.status == Status.NON_RESIDENT) {
+                dropNonResident(node);
+                shrinkColdTarget();
+                return;
+            }
+        }
+    }
+
+    private void shrinkColdTarget() {
+        coldTarget = Math.max(1, coldTarget - 1);
+    }
+
+    private void dropNonResident(Node<K, V> node) {
+        unlink(node);
+        index.remove(node.key);
+        nonResidentCount--;
+    }
+
+    // New entries go right behind the hot hand, the position it reaches last
+    private void link(Node<K, V> node) {
+        index.put(node.key, node);
+        if (handHot == null) {
+            node.next = node;
+            node.prev = node;
+            handHot = node;
+            handCold = node;
+            handTest = node;
+            return;
+        }
+        Node<K, V> anchor = handHot;
+        node.next = anchor;
+        node.prev = anchor.prev;
+        anchor.prev.next = node;
+        anchor.prev = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.next == node) {
+            handHot = null;
+            handCold = null;
+            handTest = null;
+        } else {
+            if (handHot == node) {
+                handHot = node.next;
+            }
+            if (handCold == node) {
+                handCold = node.next;
+            }
+            if (handTest == node) {
+                handTest = node.next;
+            }
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+        }
+        node.next = null;
+        node.prev = null;
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private Status status;
+        private boolean referenced;
+        private boolean inTest;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, Status status) {
+            this.key = key;
+            this.value = value;
+            this.status = status;
+        }
+    }
+}
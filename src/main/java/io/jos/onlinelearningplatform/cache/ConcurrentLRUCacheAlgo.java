@@ -0,0 +1,263 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe LRU cache that is split into independently locked segments.
+ * <p>
+ * Every key hashes to exactly one segment and each segment keeps its own
+ * {@link LinkedHashMap} in LRU order, so two requests only contend when they
+ * touch the same segment. Eviction is LRU within a segment, which is close to a
+ * global LRU once each segment holds more than a handful of entries.
+ * <p>
+ * {@link #resize(int)} keeps the number of segments, so a cache shrunk far below
+ * its initial capacity ends up with tiny segments and a coarser LRU.
+ */
+public class ConcurrentLRUCacheAlgo<K, V> implements CacheAlgo<K, V> {
+
+    // Below this many entries per segment the per-segment LRU drifts too far from a global one
+    private static final int MIN_SEGMENT_CAPACITY = 8;
+
+    private volatile int capacity;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+
+    public ConcurrentLRUCacheAlgo(int capacity) {
+        this(capacity, defaultConcurrencyLevel(capacity));
+    }
+
+    public ConcurrentLRUCacheAlgo(int capacity, RemovalListener<? super K, ? super V> listener) {
+        this(capacity, defaultConcurrencyLevel(capacity), listener);
+    }
+
+    public ConcurrentLRUCacheAlgo(int capacity, int concurrencyLevel) {
+        this(capacity, concurrencyLevel, RemovalListener.none());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLRUCacheAlgo(int capacity, int concurrencyLevel, RemovalListener<? super K, ? super V> listener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive: " + concurrencyLevel);
+        }
+        this.capacity = capacity;
+
+        int segmentCount = Integer.highestOneBit(Math.min(concurrencyLevel, capacity));
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentCapacity(capacity, i), listener);
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.map.remove(key);
+            segment.map.put(key, value);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            if (!segment.map.containsKey(key)) {
+                return null;
+            }
+            V value = segment.map.remove(key);
+            segment.map.put(key, value);
+            return value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public V peek(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.map.get(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.map.containsKey(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.map.remove(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(K key, V expected) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.map.remove(key, expected);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Segments smaller than their share of a new, smaller capacity evict their LRU entries.
+     * With fewer entries than segments, some segments hold nothing at all.
+     */
+    @Override
+    public boolean resize(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        for (int i = 0; i < segments.length; i++) {
+            Segment<K, V> segment = segments[i];
+            segment.lock.lock();
+            try {
+                segment.resize(segmentCapacity(capacity, i));
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        this.capacity = capacity;
+        return true;
+    }
+
+    /**
+     * Most recently used first, taking the segments in turns.
+     */
+    @Override
+    public List<Map.Entry<K, V>> entries() {
+        List<List<Map.Entry<K, V>>> bySegment = new ArrayList<>(segments.length);
+        int total = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                List<Map.Entry<K, V>> entries = copyOf(segment.map);
+                Collections.reverse(entries);
+                bySegment.add(entries);
+                total += entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        List<Map.Entry<K, V>> entries = new ArrayList<>(total);
+        for (int rank = 0; entries.size() < total; rank++) {
+            for (List<Map.Entry<K, V>> segmentEntries : bySegment) {
+                if (rank < segmentEntries.size()) {
+                    entries.add(segmentEntries.get(rank));
+                }
+            }
+        }
+        return entries;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    // Spread the capacity so the segments add up to exactly the requested total
+    private int segmentCapacity(int capacity, int segment) {
+        return capacity / segments.length + (segment < capacity % segments.length ? 1 : 0);
+    }
+
+    private static <K, V> List<Map.Entry<K, V>> copyOf(Map<K, V> map) {
+        List<Map.Entry<K, V>> entries = new ArrayList<>(map.size());
+        map.forEach((key, value) -> entries.add(new AbstractMap.SimpleImmutableEntry<>(key, value)));
+        return entries;
+    }
+
+    private static int defaultConcurrencyLevel(int capacity) {
+        int byCores = Runtime.getRuntime().availableProcessors() * 2;
+        int bySize = Math.max(1, capacity / MIN_SEGMENT_CAPACITY);
+        return Math.max(1, Math.min(byCores, bySize));
+    }
+
+    private static final class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final RemovalListener<? super K, ? super V> listener;
+        // Least recently used first; insertion ordered with hits moved to the end by hand, so peek moves nothing
+        private final Map<K, V> map;
+        // Guarded by the lock
+        private int segmentCapacity;
+
+        private Segment(int segmentCapacity, RemovalListener<? super K, ? super V> listener) {
+            this.segmentCapacity = segmentCapacity;
+            this.listener = listener;
+            this.map = new LinkedHashMap<>(segmentCapacity, 0.75f) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    if (size() > Segment.this.segmentCapacity) {
+                        listener.onRemoval(eldest.getKey(), eldest.getValue(), RemovalCause.EVICTED);
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private void resize(int newCapacity) {
+            segmentCapacity = newCapacity;
+            Iterator<Map.Entry<K, V>> eldest = map.entrySet().iterator();
+            while (map.size() > segmentCapacity) {
+                Map.Entry<K, V> entry = eldest.next();
+                eldest.remove();
+                listener.onRemoval(entry.getKey(), entry.getValue(), RemovalCause.EVICTED);
+            }
+        }
+    }
+}
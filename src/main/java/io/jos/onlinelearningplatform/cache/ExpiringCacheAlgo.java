@@ -0,0 +1,198 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adds time-to-live support on top of any {@link CacheAlgo}.
+ * <p>
+ * Each entry carries its own deadline, either the default TTL given at construction
+ * or an explicit {@link Instant} passed to {@link #put(Object, Object, Instant)}.
+ * Reads check the deadline, so an entry is never served after it expires. Expired
+ * entries are also removed proactively by a {@link TimingWheel} that is advanced
+ * opportunistically on every call, which frees their capacity without scanning.
+ */
+public class ExpiringCacheAlgo<K, V> implements CacheAlgo<K, V> {
+
+    private static final long NEVER = Long.MAX_VALUE;
+    private static final long DEFAULT_TICK_MILLIS = 1000;
+
+    private final CacheAlgo<K, Entry<K, V>> delegate;
+    private final Duration defaultTtl;
+    private final Clock clock;
+    private final TimingWheel<K> wheel;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final RemovalListener<? super K, ? super V> listener;
+
+    /**
+     * @param delegate   the cache holding the entries and deciding evictions
+     * @param defaultTtl TTL applied by {@link #put(Object, Object)}; {@code null} keeps entries until evicted
+     */
+    public ExpiringCacheAlgo(CacheAlgo<K, Entry<K, V>> delegate, Duration defaultTtl) {
+        this(delegate, defaultTtl, Clock.systemUTC(), DEFAULT_TICK_MILLIS);
+    }
+
+    public ExpiringCacheAlgo(CacheAlgo<K, Entry<K, V>> delegate, Duration defaultTtl, Clock clock, long tickMillis) {
+        this(delegate, defaultTtl, clock, tickMillis, RemovalListener.none());
+    }
+
+    /**
+     * @param listener told about every entry the wheel removes because it expired; evictions
+     *                 by the delegate are reported through the delegate's own listener
+     */
+    public ExpiringCacheAlgo(CacheAlgo<K, Entry<K, V>> delegate, Duration defaultTtl, Clock clock, long tickMillis,
+                             RemovalListener<? super K, ? super V> listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+        this.defaultTtl = defaultTtl;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(tickMillis, clock.millis());
+    }
+
+    @Override
+    public void put(K key, V value) {
+        put(key, value, defaultTtl == null ? null : clock.instant().plus(defaultTtl));
+    }
+
+    /**
+     * Caches {@code value} until {@code expiresAt}, or until evicted when it is {@code null}.
+     * A deadline that has already passed removes any existing entry instead.
+     */
+    public void put(K key, V value, Instant expiresAt) {
+        long now = clock.millis();
+        expireEntries(now);
+
+        if (expiresAt == null) {
+            delegate.put(key, new Entry<>(value, NEVER, null));
+            return;
+        }
+
+        long deadline = expiresAt.toEpochMilli();
+        if (deadline <= now) {
+            delegate.remove(key);
+            return;
+        }
+
+        TimingWheel.Timeout<K> timeout = new TimingWheel.Timeout<>(key, deadline);
+        delegate.put(key, new Entry<>(value, deadline, timeout));
+        wheelLock.lock();
+        try {
+            wheel.schedule(timeout);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        long now = clock.millis();
+        expireEntries(now);
+        Entry<K, V> entry = delegate.get(key);
+        return entry == null || entry.isExpired(now) ? null : entry.value;
+    }
+
+    // Peeks, so checking for a key does not count as using it
+    @Override
+    public boolean containsKey(K key) {
+        long now = clock.millis();
+        expireEntries(now);
+        Entry<K, V> entry = delegate.peek(key);
+        return entry != null && !entry.isExpired(now);
+    }
+
+    @Override
+    public V remove(K key) {
+        Entry<K, V> entry = delegate.remove(key);
+        return entry == null || entry.isExpired(clock.millis()) ? null : entry.value;
+    }
+
+    /**
+     * Number of entries held by the delegate. Entries that expired since the wheel
+     * last moved are still counted until it catches up, at most one tick later.
+     */
+    @Override
+    public int size() {
+        expireEntries(clock.millis());
+        return delegate.size();
+    }
+
+    @Override
+    public boolean resize(int capacity) {
+        return delegate.resize(capacity);
+    }
+
+    @Override
+    public List<Map.Entry<K, V>> entries() {
+        List<Map.Entry<K, V>> entries = new ArrayList<>();
+        for (Timed<K, V> entry : timedEntries()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.key(), entry.value()));
+        }
+        return entries;
+    }
+
+    /**
+     * The entries that have not expired, with their deadlines, in the delegate's order.
+     */
+    public List<Timed<K, V>> timedEntries() {
+        long now = clock.millis();
+        List<Timed<K, V>> entries = new ArrayList<>();
+        for (Map.Entry<K, Entry<K, V>> entry : delegate.entries()) {
+            Entry<K, V> value = entry.getValue();
+            if (!value.isExpired(now)) {
+                Instant expiresAt = value.expiresAt == NEVER ? null : Instant.ofEpochMilli(value.expiresAt);
+                entries.add(new Timed<>(entry.getKey(), value.value, expiresAt));
+            }
+        }
+        return entries;
+    }
+
+    private void expireEntries(long now) {
+        // Whoever holds the lock is already doing the work, so nobody waits for it
+        if (!wheelLock.tryLock()) {
+            return;
+        }
+        try {
+            wheel.advance(now, timeout -> {
+                Entry<K, V> current = delegate.peek(timeout.key);
+                // The key may have been re-put with a new deadline or evicted meanwhile, also
+                // between the peek and the remove, which then leaves the new entry alone
+                if (current != null && current.timeout == timeout && delegate.remove(timeout.key, current)) {
+                    listener.onRemoval(timeout.key, current.value, RemovalCause.EXPIRED);
+                }
+            });
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    /**
+     * A live entry with its deadline, or a null deadline if it only leaves when evicted.
+     */
+    public record Timed<K, V>(K key, V value, Instant expiresAt) {
+    }
+
+    /**
+     * Value stored in the delegate, carrying the deadline next to the cached value.
+     */
+    public static final class Entry<K, V> {
+        private final V value;
+        private final long expiresAt;
+        private final TimingWheel.Timeout<K> timeout;
+
+        private Entry(V value, long expiresAt, TimingWheel.Timeout<K> timeout) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.timeout = timeout;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
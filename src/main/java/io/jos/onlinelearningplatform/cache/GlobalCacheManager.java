@@ -0,0 +1,37 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Makes the annotated regions of {@link GlobalCacheService} available to {@code @Cacheable},
+ * {@code @CachePut} and {@code @CacheEvict}.
+ * <p>
+ * Only the caches declared in {@link GlobalCacheService#annotatedRegions()} exist; naming
+ * any other cache fails. Puts and evictions inside a transaction are applied after it
+ * commits, so a concurrent reader cannot cache the old data again in between.
+ */
+@Component
+@EnableCaching
+public class GlobalCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final GlobalCacheService globalCache;
+    private final CacheInvalidator invalidator;
+
+    public GlobalCacheManager(GlobalCacheService globalCache, CacheInvalidator invalidator) {
+        this.globalCache = globalCache;
+        this.invalidator = invalidator;
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return globalCache.annotatedRegions().values().stream()
+                .map(region -> new RegionCache(region, invalidator))
+                .toList();
+    }
+}
@@ -1,60 +1,193 @@
 package io.jos.onlinelearningplatform.cache;
 
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
 @Component
 public class GlobalCacheService {
     private static final Logger logger = LoggerFactory.getLogger(GlobalCacheService.class);
 
-    // Single global cache that applies only for users and lessons
-    private final LRUCacheAlgo<String, Object> globalCache;
+    public static final String TEACHER_PROFILES = "teacher-profiles";
+    public static final String TEACHER_IDS = "teacher-ids";
+    public static final String NEXT_LESSONS = "next-lessons";
+    // Used through Spring's @Cacheable, see GlobalCacheManager
+    public static final String TEACHABLE_COURSES = "teachable-courses";
+
+    private static final int REFRESH_THREADS = 2;
+    // Refreshes beyond this are skipped; the entry is then loaded on its next miss
+    private static final int REFRESH_QUEUE_SIZE = 1000;
 
-    public GlobalCacheService() {
-        this.globalCache = new LRUCacheAlgo<>(50); // Global cache with capacity of 5
-        logger.info("Initialized global cache with capacity: 5 for users and lessons only");
+    // Each region is sized, expired and evicted on its own; shared by every request thread
+    private final CacheRegion<Long, TeacherSummary> teacherProfiles;
+    private final CacheRegion<String, Long> teacherIds;
+    private final CacheRegion<Long, LessonSummary> nextLessons;
+    private final Map<String, CacheRegion<?, ?>> regions = new LinkedHashMap<>();
+    private final Map<String, CacheRegion<Object, Object>> annotatedRegions = new LinkedHashMap<>();
+    private final List<CacheTrace> traces = new ArrayList<>();
+    private final HotKeyTracker hotKeys;
+
+    @Autowired
+    public GlobalCacheService(CacheProperties properties, CachePolicyRegistry policies) {
+        this(properties, policies, Clock.systemUTC());
     }
 
-    // Cache user data
-    public void putUser(String key, Object user) {
-        globalCache.put("user_" + key, user);
-        logger.debug("Cached user with key: user_{}", key);
+    GlobalCacheService(CacheProperties properties, CachePolicyRegistry policies, Clock clock) {
+        this(properties, policies, clock, refreshExecutor());
     }
 
-    @SuppressWarnings("unchecked")
-    public <T> T getUser(String key, Class<T> type) {
-        Object value = globalCache.get("user_" + key);
-        if (value != null && type.isInstance(value)) {
-            logger.debug("Cache hit for user key: user_{}", key);
-            return (T) value;
+    GlobalCacheService(CacheProperties properties, CachePolicyRegistry policies, Clock clock, Executor refreshExecutor) {
+        this.hotKeys = new HotKeyTracker(properties.getHotKeys());
+        this.teacherProfiles = register(TEACHER_PROFILES, Long::valueOf, properties, policies, clock, refreshExecutor);
+        this.teacherIds = register(TEACHER_IDS, Function.identity(), properties, policies, clock, refreshExecutor);
+        this.nextLessons = register(NEXT_LESSONS, Long::valueOf, properties, policies, clock, refreshExecutor);
+        // Keys are the method's id argument
+        annotatedRegions.put(TEACHABLE_COURSES, register(TEACHABLE_COURSES, Long::valueOf, properties, policies, clock, refreshExecutor));
+
+        for (String configured : properties.getRegions().keySet()) {
+            if (!regions.containsKey(configured)) {
+                throw new IllegalArgumentException("Unknown cache region '" + configured + "', expected one of " + regions.keySet());
+            }
         }
-        logger.debug("Cache miss for user key: user_{}", key);
-        return null;
+        regions.values().forEach(region -> logger.info("Initialized cache region {} with capacity {} ({} policy)",
+                region.name(), region.capacity(), region.policy()));
     }
 
-    // Cache lesson data
-    public void putLesson(String key, Object lesson) {
-        globalCache.put("lesson_" + key, lesson);
-        logger.debug("Cached lesson with key: lesson_{}", key);
+    /**
+     * Teacher profiles by user id.
+     */
+    public CacheRegion<Long, TeacherSummary> teacherProfiles() {
+        return teacherProfiles;
     }
 
-    @SuppressWarnings("unchecked")
-    public <T> T getLesson(String key, Class<T> type) {
-        Object value = globalCache.get("lesson_" + key);
-        if (value != null && type.isInstance(value)) {
-            logger.debug("Cache hit for lesson key: lesson_{}", key);
-            return (T) value;
-        }
-        logger.debug("Cache miss for lesson key: lesson_{}", key);
-        return null;
+    /**
+     * Teacher ids by username.
+     */
+    public CacheRegion<String, Long> teacherIds() {
+        return teacherIds;
+    }
+
+    /**
+     * The next upcoming lesson of a teacher or student, by user id.
+     */
+    public CacheRegion<Long, LessonSummary> nextLessons() {
+        return nextLessons;
+    }
+
+    /**
+     * Regions backing the caches named in {@code @Cacheable} and {@code @CacheEvict}, by name.
+     */
+    public Map<String, CacheRegion<Object, Object>> annotatedRegions() {
+        return Collections.unmodifiableMap(annotatedRegions);
+    }
+
+    public Collection<CacheRegion<?, ?>> regions() {
+        return Collections.unmodifiableCollection(regions.values());
+    }
+
+    /**
+     * The region with the given name, or null if there is none.
+     */
+    public CacheRegion<?, ?> region(String name) {
+        return regions.get(name);
+    }
+
+    /**
+     * Most looked up keys of the regions, and of the repositories tracked by {@link RepositoryHotKeyAspect}.
+     */
+    public HotKeyTracker hotKeys() {
+        return hotKeys;
     }
 
     public int size() {
-        return globalCache.size();
+        return regions.values().stream().mapToInt(CacheRegion::size).sum();
+    }
+
+    public Map<String, CacheStatsSnapshot> stats() {
+        Map<String, CacheStatsSnapshot> stats = new LinkedHashMap<>();
+        regions.forEach((name, region) -> stats.put(name, region.snapshot()));
+        return stats;
+    }
+
+    @PreDestroy
+    public void closeTraces() {
+        for (CacheTrace trace : traces) {
+            try {
+                trace.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close cache trace {}", trace.file(), e);
+            }
+        }
     }
 
     public void logCacheStats() {
-        logger.info("Global cache size: {}/5 (users and lessons only)", globalCache.size());
+        stats().forEach((region, stats) -> logger.info(
+                "Cache region {}: {}/{} entries, hit rate {}, {} hits, {} misses, {} evictions, {} expirations",
+                region, stats.size(), stats.capacity(), String.format("%.2f", stats.hitRate()),
+                stats.hits(), stats.misses(), stats.evictions(), stats.expirations()));
+    }
+
+    private <K, V> CacheRegion<K, V> register(String name, Function<String, K> keyParser, CacheProperties properties,
+                                              CachePolicyRegistry policies, Clock clock, Executor refreshExecutor) {
+        CacheProperties.Region config = properties.region(name);
+        CacheRegion<K, V> region = new CacheRegion<>(name, keyParser, config, policies, clock, refreshExecutor,
+                openTrace(name, properties.getTrace()), sampler(config, properties.getTuning()), hotKeys.sketch(name));
+        regions.put(name, region);
+        return region;
+    }
+
+    private CacheTrace openTrace(String region, CacheProperties.Trace config) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        Path file = Path.of(config.getDirectory(), region + CacheTrace.EXTENSION);
+        try {
+            CacheTrace trace = new CacheTrace(file, config.getMaxSize().toBytes());
+            traces.add(trace);
+            return trace;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot write cache trace " + file.toAbsolutePath(), e);
+        }
+    }
+
+    private static ShardsSampler sampler(CacheProperties.Region config, CacheProperties.Tuning tuning) {
+        if (!tuning.isEnabled()) {
+            return null;
+        }
+        // Enough to describe the region holding the whole budget
+        long maxCapacity = tuning.getMemoryBudget().toBytes() / Math.max(1, config.getEntrySize().toBytes());
+        return new ShardsSampler(tuning.getSamplingRate(), tuning.getSampleSize(),
+                (int) Math.max(1, Math.min(maxCapacity, Integer.MAX_VALUE)));
+    }
+
+    // Shared by all regions; daemon threads so a pending refresh never holds up shutdown
+    private static Executor refreshExecutor() {
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(REFRESH_QUEUE_SIZE), task -> {
+                    Thread thread = new Thread(task, "cache-refresh-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 }
@@ -0,0 +1,7 @@
+package io.jos.onlinelearningplatform.cache;
+
+/**
+ * A key and about how often it was looked up recently, see {@link HotKeyTracker}.
+ */
+public record HotKey(Object key, long count) {
+}
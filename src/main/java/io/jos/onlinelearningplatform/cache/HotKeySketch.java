@@ -0,0 +1,125 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch with a list of heavy hitters, for finding the keys that dominate traffic.
+ * <p>
+ * Each key increments one counter in each of four rows and its estimated count is the
+ * smallest of the four: collisions can make it too high, never too low. Next to the
+ * counters, the {@code topK} keys with the highest estimates are kept. A key only takes
+ * the lock when it is not among them and its estimate beats the smallest of theirs, so
+ * recording a key from the long tail, or one already known to be hot, is four atomic
+ * increments.
+ * <p>
+ * After a sample of ten times the row width all counters are halved, as in
+ * {@link FrequencySketch}, so the counts describe recent traffic.
+ */
+final class HotKeySketch {
+
+    private static final long[] SEEDS = {
+            0x9e3779b97f4a7c15L, 0xbf58476d1ce4e5b9L, 0x94d049bb133111ebL, 0xd6e8feb86659fd93L};
+
+    private final AtomicLongArray counters;
+    private final int rowMask;
+    private final int topK;
+    private final long sampleSize;
+    private final AtomicLong additions = new AtomicLong();
+    // Changed under the instance monitor, read without it
+    private final Set<Object> heavyHitters = ConcurrentHashMap.newKeySet();
+    // Smallest estimate among a full list of heavy hitters when it was last computed; they only grow
+    private volatile long threshold;
+
+    HotKeySketch(int width, int topK) {
+        if (width <= 0 || topK <= 0) {
+            throw new IllegalArgumentException("Width and top-k must be positive, got " + width + " and " + topK);
+        }
+        int rowWidth = Math.max(16, Integer.highestOneBit(width - 1) << 1);
+        this.counters = new AtomicLongArray(SEEDS.length * rowWidth);
+        this.rowMask = rowWidth - 1;
+        this.topK = topK;
+        this.sampleSize = 10L * rowWidth;
+    }
+
+    void record(Object key) {
+        int hash = FrequencySketch.spread(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(indexOf(hash, row)));
+        }
+        if (estimate > threshold && !heavyHitters.contains(key)) {
+            offer(key, estimate);
+        }
+        if (additions.incrementAndGet() % sampleSize == 0) {
+            decay();
+        }
+    }
+
+    long estimate(Object key) {
+        int hash = FrequencySketch.spread(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * The heavy hitters with their estimated counts, highest first.
+     */
+    synchronized List<HotKey> top() {
+        List<HotKey> top = new ArrayList<>(heavyHitters.size());
+        for (Object key : heavyHitters) {
+            top.add(new HotKey(key, estimate(key)));
+        }
+        top.sort(Comparator.comparingLong(HotKey::count).reversed());
+        return top;
+    }
+
+    private synchronized void offer(Object key, long estimate) {
+        if (heavyHitters.contains(key)) {
+            return;
+        }
+        if (heavyHitters.size() < topK) {
+            heavyHitters.add(key);
+        } else {
+            Object coldest = null;
+            long coldestCount = Long.MAX_VALUE;
+            for (Object hitter : heavyHitters) {
+                long count = estimate(hitter);
+                if (count < coldestCount) {
+                    coldest = hitter;
+                    coldestCount = count;
+                }
+            }
+            if (estimate <= coldestCount) {
+                threshold = coldestCount;
+                return;
+            }
+            heavyHitters.remove(coldest);
+            heavyHitters.add(key);
+        }
+        if (heavyHitters.size() == topK) {
+            threshold = heavyHitters.stream().mapToLong(this::estimate).min().orElse(0);
+        }
+    }
+
+    private synchronized void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+        threshold >>>= 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * (rowMask + 1) + (((int) h) & rowMask);
+    }
+}
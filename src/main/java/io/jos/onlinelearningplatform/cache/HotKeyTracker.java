@@ -0,0 +1,60 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The most looked up keys by source: each cache region, and each repository method
+ * tracked by {@link RepositoryHotKeyAspect}, has its own {@link HotKeySketch}.
+ * <p>
+ * Counts are estimates over recent traffic, meant for spotting the teachers, lessons
+ * or clients that dominate it. When disabled nothing is recorded and every list is empty.
+ */
+public class HotKeyTracker {
+
+    private final CacheProperties.HotKeys config;
+    private final ConcurrentMap<String, HotKeySketch> sketches = new ConcurrentHashMap<>();
+
+    HotKeyTracker(CacheProperties.HotKeys config) {
+        this.config = config;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public void record(String source, Object key) {
+        HotKeySketch sketch = sketch(source);
+        if (sketch != null && key != null) {
+            sketch.record(key);
+        }
+    }
+
+    /**
+     * The hottest keys of every source that recorded any, by source name.
+     */
+    public Map<String, List<HotKey>> top() {
+        Map<String, List<HotKey>> top = new TreeMap<>();
+        sketches.forEach((source, sketch) -> top.put(source, sketch.top()));
+        return top;
+    }
+
+    /**
+     * The hottest keys of one source, highest count first.
+     */
+    public List<HotKey> top(String source) {
+        HotKeySketch sketch = sketches.get(source);
+        return sketch == null ? List.of() : sketch.top();
+    }
+
+    // Null when disabled
+    HotKeySketch sketch(String source) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        return sketches.computeIfAbsent(source, name -> new HotKeySketch(config.getWidth(), config.getTopK()));
+    }
+}
@@ -0,0 +1,34 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/hotkeys}) with the most looked up keys of every cache region
+ * and tracked repository method, e.g. {@code /actuator/hotkeys/teacher-profiles}.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeys;
+
+    public HotKeysEndpoint(GlobalCacheService globalCache) {
+        this.hotKeys = globalCache.hotKeys();
+    }
+
+    @ReadOperation
+    public Map<String, List<HotKey>> hotKeys() {
+        return hotKeys.top();
+    }
+
+    @ReadOperation
+    public List<HotKey> source(@Selector String source) {
+        return hotKeys.top(source);
+    }
+}
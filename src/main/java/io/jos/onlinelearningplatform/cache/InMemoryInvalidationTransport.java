@@ -0,0 +1,25 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers messages synchronously to every subscriber in this JVM. Used when the
+ * application runs on a single node, and in tests to connect several simulated nodes.
+ */
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.onMessage(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,29 @@
+package io.jos.onlinelearningplatform.cache;
+
+/**
+ * Tells the other nodes to evict {@code key} from the cache named {@code cache}, or every
+ * key when it is {@link #ALL_KEYS}. {@code origin} identifies the sending node, so a node
+ * can skip its own messages.
+ */
+public record InvalidationMessage(String origin, String cache, String key) {
+
+    // A real key that happens to equal this only clears more than needed
+    public static final String ALL_KEYS = "*";
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Single-line form used as notification payload; the key goes last since it may contain the separator.
+     */
+    public String encode() {
+        return origin + SEPARATOR + cache + SEPARATOR + key;
+    }
+
+    public static InvalidationMessage decode(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+        }
+        return new InvalidationMessage(parts[0], parts[1], parts[2]);
+    }
+}
@@ -0,0 +1,28 @@
+package io.jos.onlinelearningplatform.cache;
+
+/**
+ * Carries {@link InvalidationMessage}s between application nodes.
+ * <p>
+ * Delivery is best effort: the region TTLs bound how long a node can serve a value
+ * whose invalidation it missed, and a transport that knows it may have lost messages,
+ * e.g. after a reconnect, says so through {@link Subscriber#onMessagesLost()}.
+ */
+public interface InvalidationTransport {
+
+    void publish(InvalidationMessage message);
+
+    void subscribe(Subscriber subscriber);
+
+    interface Subscriber {
+
+        /**
+         * Called for every published message, including the subscriber's own.
+         */
+        void onMessage(InvalidationMessage message);
+
+        /**
+         * Called when messages may have been missed; cached values can no longer be trusted.
+         */
+        void onMessagesLost();
+    }
+}
@@ -0,0 +1,26 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Chooses the {@link InvalidationTransport} from {@code app.cache.invalidation.transport}.
+ */
+@Configuration
+public class InvalidationTransportConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "local", matchIfMissing = true)
+    public InvalidationTransport localInvalidationTransport() {
+        return new InMemoryInvalidationTransport();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "postgres")
+    public InvalidationTransport postgresInvalidationTransport(DataSource dataSource, CacheProperties properties) {
+        return new PostgresInvalidationTransport(dataSource, properties.getInvalidation().getChannel());
+    }
+}
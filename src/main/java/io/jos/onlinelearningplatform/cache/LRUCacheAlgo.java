@@ -10,7 +10,8 @@ public class LRUCacheAlgo<K,V> implements CacheAlgo<K,V> {
 
     public LRUCacheAlgo(int capacity) {
         this.capacity = capacity;
-        this.cache = new java.util.LinkedHashMap<>(capacity, 0.75f, true) {
+        // Insertion ordered, with hits moved to the end by hand, so peek can read without moving anything
+        this.cache = new java.util.LinkedHashMap<>(capacity, 0.75f) {
             @Override
             protected boolean removeEldestEntry(java.util.Map.Entry<K, V> eldest) {
                 return size() > LRUCacheAlgo.this.capacity;
@@ -19,10 +20,20 @@ public class LRUCacheAlgo<K,V> implements CacheAlgo<K,V> {
     }
     @Override
     public void put(K key, V value) {
+        cache.remove(key);
         cache.put(key, value);
     }
     @Override
     public V get(K key) {
+        if (!cache.containsKey(key)) {
+            return null;
+        }
+        V value = cache.remove(key);
+        cache.put(key, value);
+        return value;
+    }
+    @Override
+    public V peek(K key) {
         return cache.get(key);
     }
     @Override
@@ -30,6 +41,14 @@ public class LRUCacheAlgo<K,V> implements CacheAlgo<K,V> {
         return cache.containsKey(key);
     }
     @Override
+    public V remove(K key) {
+        return cache.remove(key);
+    }
+    @Override
+    public boolean remove(K key, V expected) {
+        return cache.remove(key, expected);
+    }
+    @Override
     public int size() {
         return cache.size();
     }
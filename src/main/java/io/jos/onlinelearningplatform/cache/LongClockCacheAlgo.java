@@ -0,0 +1,273 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * CLOCK cache keyed by primitive {@code long} ids, for lookups by user, teacher or lesson id.
+ * <p>
+ * Entries live in an open-addressing table of parallel arrays (keys, values and reference
+ * bits) with linear probing, at most half full. The {@code long} methods neither box the key
+ * nor allocate, and an entry costs two slots of a {@code long}, a reference and a byte
+ * instead of a map node plus a boxed key. Removal shifts the following entries back into
+ * the gap rather than leaving tombstones, so lookups stay short however many keys churn.
+ * <p>
+ * A hit only sets the entry's reference bit. On a put into a full cache the clock hand
+ * sweeps the table, clearing reference bits, and evicts the first entry whose bit is
+ * already clear: entries read since the last sweep get another round, like LRU without
+ * reordering anything on reads. The {@link CacheAlgo} methods unbox and delegate; a null
+ * key is rejected. All operations run under the instance monitor.
+ */
+public class LongClockCacheAlgo<V> implements CacheAlgo<Long, V> {
+
+    private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+    // Marks a slot holding a null value; an empty slot has a null value
+    private static final Object NULL = new Object();
+
+    // Null when nobody listens, so evictions do not box the key
+    private final RemovalListener<? super Long, ? super V> listener;
+    private int capacity;
+    private long[] keys;
+    private Object[] values;
+    private boolean[] referenced;
+    private int mask;
+    private int shift;
+    private int size;
+    private int hand;
+
+    public LongClockCacheAlgo(int capacity) {
+        this(capacity, null);
+    }
+
+    public LongClockCacheAlgo(int capacity, RemovalListener<? super Long, ? super V> listener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.listener = listener;
+        allocate(capacity);
+    }
+
+    public synchronized V get(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        referenced[slot] = true;
+        return unmask(values[slot]);
+    }
+
+    // Leaves the reference bit alone
+    public synchronized V peek(long key) {
+        int slot = find(key);
+        return slot < 0 ? null : unmask(values[slot]);
+    }
+
+    public synchronized void put(long key, V value) {
+        Object stored = value == null ? NULL : value;
+        int slot = find(key);
+        if (slot >= 0) {
+            values[slot] = stored;
+            referenced[slot] = true;
+            return;
+        }
+        if (size >= capacity) {
+            evict();
+        }
+        slot = home(key);
+        while (values[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = stored;
+        referenced[slot] = false;
+        size++;
+    }
+
+    public synchronized boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    public synchronized V remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V value = unmask(values[slot]);
+        delete(slot);
+        return value;
+    }
+
+    @Override
+    public V get(Long key) {
+        return get(unbox(key));
+    }
+
+    @Override
+    public V peek(Long key) {
+        return peek(unbox(key));
+    }
+
+    @Override
+    public void put(Long key, V value) {
+        put(unbox(key), value);
+    }
+
+    @Override
+    public boolean containsKey(Long key) {
+        return containsKey(unbox(key));
+    }
+
+    @Override
+    public V remove(Long key) {
+        return remove(unbox(key));
+    }
+
+    @Override
+    public synchronized boolean remove(Long key, V expected) {
+        int slot = find(unbox(key));
+        if (slot < 0 || !Objects.equals(unmask(values[slot]), expected)) {
+            return false;
+        }
+        delete(slot);
+        return true;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Sweeps the hand until the entries fit, then rebuilds the table for the new capacity.
+     */
+    @Override
+    public synchronized boolean resize(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        while (size > capacity) {
+            evict();
+        }
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldReferenced = referenced;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = home(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                referenced[slot] = oldReferenced[i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Referenced entries before the others, each in the order the hand will reach them last.
+     */
+    @Override
+    public synchronized List<Map.Entry<Long, V>> entries() {
+        List<Map.Entry<Long, V>> recent = new ArrayList<>(size);
+        List<Map.Entry<Long, V>> others = new ArrayList<>(size);
+        for (int i = 1; i <= values.length; i++) {
+            int slot = (hand - i) & mask;
+            if (values[slot] != null) {
+                Map.Entry<Long, V> entry = new AbstractMap.SimpleImmutableEntry<>(keys[slot], unmask(values[slot]));
+                (referenced[slot] ? recent : others).add(entry);
+            }
+        }
+        recent.addAll(others);
+        return recent;
+    }
+
+    public synchronized int capacity() {
+        return capacity;
+    }
+
+    private void evict() {
+        while (true) {
+            if (values[hand] != null) {
+                if (!referenced[hand]) {
+                    long key = keys[hand];
+                    V value = unmask(values[hand]);
+                    // The next entry may shift into this slot, so the hand stays put
+                    delete(hand);
+                    if (listener != null) {
+                        listener.onRemoval(key, value, RemovalCause.EVICTED);
+                    }
+                    return;
+                }
+                referenced[hand] = false;
+            }
+            hand = (hand + 1) & mask;
+        }
+    }
+
+    private int find(long key) {
+        int slot = home(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Moves back every following entry that may sit in the gap, so no probe sequence is broken
+    private void delete(int slot) {
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (values[next] == null) {
+                break;
+            }
+            int home = home(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                referenced[gap] = referenced[next];
+                gap = next;
+            }
+        }
+        values[gap] = null;
+        referenced[gap] = false;
+        size--;
+    }
+
+    private int home(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(2, capacity) - 1) << 2;
+        keys = new long[slots];
+        values = new Object[slots];
+        referenced = new boolean[slots];
+        mask = slots - 1;
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(slots);
+        hand = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V unmask(Object value) {
+        return value == NULL ? null : (V) value;
+    }
+
+    private static long unbox(Long key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key must not be null");
+        }
+        return key;
+    }
+}
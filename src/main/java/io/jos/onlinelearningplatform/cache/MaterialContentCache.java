@@ -0,0 +1,251 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.dto.MaterialContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Study material content by material id, bounded by the total number of bytes held.
+ * <p>
+ * Uses GreedyDual-Size-Frequency replacement: an entry's priority is the inflation value
+ * plus its hit count divided by its size, and the lowest priority is evicted first. Small,
+ * popular files therefore stay longest, a single large file cannot push out many small
+ * ones, and the inflation value (the priority of the last evicted entry) ages out files
+ * that were popular once. Files larger than the entry limit are never admitted.
+ * <p>
+ * Content is kept either in heap arrays or in direct buffers outside the Java heap. Direct
+ * buffers are released by the garbage collector once evicted. Either way the cache holds its
+ * own copy of the content and every hit copies it into a new heap array, so callers never
+ * share a mutable array with the cache. Bookkeeping runs under the instance monitor, copying does not.
+ * <p>
+ * {@link #get(Long, Function)} loads missing content itself; an eviction while the load
+ * runs drops its result, so content read just before a delete is not cached after it.
+ */
+@Component
+public class MaterialContentCache {
+    private static final Logger logger = LoggerFactory.getLogger(MaterialContentCache.class);
+
+    public static final String NAME = "material-content";
+    private static final String POLICY = "gdsf";
+
+    public enum Storage { HEAP, DIRECT }
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final Storage storage;
+    private final CacheStats stats = new CacheStats();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // Loads in progress; an eviction removes the id so a load that read old content is not stored
+    private final ConcurrentMap<Long, Object> loads = new ConcurrentHashMap<>();
+    private final TreeSet<Entry> queue = new TreeSet<>(
+            Comparator.comparingDouble((Entry entry) -> entry.priority).thenComparingLong(entry -> entry.sequence));
+
+    private double inflation;
+    private long weightedSize;
+    private long sequence;
+
+    @Autowired
+    public MaterialContentCache(CacheProperties properties) {
+        this(properties.getMaterials().getMaxSize().toBytes(),
+                properties.getMaterials().getMaxEntrySize().toBytes(),
+                properties.getMaterials().getStorage());
+    }
+
+    public MaterialContentCache(long maxBytes, long maxEntryBytes, Storage storage) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        this.storage = storage;
+        logger.info("Initialized material content cache with {} bytes ({} storage, entries up to {} bytes)",
+                maxBytes, storage, this.maxEntryBytes);
+    }
+
+    public MaterialContent get(Long materialId) {
+        Entry entry;
+        ByteBuffer content;
+        synchronized (this) {
+            entry = entries.get(materialId);
+            if (entry == null) {
+                stats.recordMiss();
+                return null;
+            }
+            queue.remove(entry);
+            entry.frequency++;
+            entry.priority = priority(entry);
+            queue.add(entry);
+            content = entry.content.duplicate();
+        }
+        stats.recordHit();
+        return new MaterialContent(materialId, entry.fileName, read(content));
+    }
+
+    /**
+     * The cached content, loaded with {@code loader} on a miss and cached if it fits.
+     * If the id is evicted while the loader runs, the caller still gets the loaded
+     * content but it is not cached.
+     */
+    public MaterialContent get(Long materialId, Function<? super Long, MaterialContent> loader) {
+        MaterialContent cached = get(materialId);
+        if (cached != null) {
+            return cached;
+        }
+        Object load = new Object();
+        loads.put(materialId, load);
+        try {
+            long start = System.nanoTime();
+            MaterialContent material = loader.apply(materialId);
+            stats.recordLoad(System.nanoTime() - start);
+            if (material != null) {
+                // Atomic with evict(), which removes the id from loads
+                loads.computeIfPresent(materialId, (id, current) -> {
+                    if (current == load && !put(material)) {
+                        logger.debug("Material ID: {} ({} bytes) is too large for the content cache", id, material.length());
+                    }
+                    return current;
+                });
+            }
+            return material;
+        } finally {
+            loads.remove(materialId, load);
+        }
+    }
+
+    /**
+     * Caches the content unless it is larger than the entry limit.
+     *
+     * @return whether the content was admitted
+     */
+    public boolean put(MaterialContent material) {
+        if (material.data() == null || material.length() > maxEntryBytes) {
+            return false;
+        }
+        ByteBuffer content = store(material.data());
+        Entry entry = new Entry(material.id(), material.fileName(), content);
+        synchronized (this) {
+            removeEntry(entries.get(material.id()));
+            while (weightedSize + entry.weight() > maxBytes) {
+                Entry victim = queue.pollFirst();
+                inflation = victim.priority;
+                removeEntry(victim);
+                stats.onRemoval(victim.materialId, victim.fileName, RemovalCause.EVICTED);
+            }
+            entry.sequence = sequence++;
+            entry.priority = priority(entry);
+            entries.put(entry.materialId, entry);
+            queue.add(entry);
+            weightedSize += entry.weight();
+        }
+        stats.recordPut();
+        return true;
+    }
+
+    public void evict(Long materialId) {
+        // Outside the monitor, which a load storing its content takes inside the loads map
+        loads.remove(materialId);
+        synchronized (this) {
+            removeEntry(entries.get(materialId));
+        }
+    }
+
+    public void clear() {
+        loads.clear();
+        synchronized (this) {
+            entries.clear();
+            queue.clear();
+            weightedSize = 0;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Bytes of content currently held.
+     */
+    public synchronized long weightedSize() {
+        return weightedSize;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public Storage storage() {
+        return storage;
+    }
+
+    public CacheStats stats() {
+        return stats;
+    }
+
+    /**
+     * Statistics with sizes in bytes; the entry capacity is reported as 0 since only bytes are bounded.
+     */
+    public CacheStatsSnapshot snapshot() {
+        synchronized (this) {
+            return stats.snapshot(POLICY, entries.size(), 0, weightedSize, maxBytes);
+        }
+    }
+
+    private double priority(Entry entry) {
+        return inflation + (double) entry.frequency / entry.weight();
+    }
+
+    private void removeEntry(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        entries.remove(entry.materialId);
+        queue.remove(entry);
+        weightedSize -= entry.weight();
+    }
+
+    private ByteBuffer store(byte[] data) {
+        if (storage == Storage.HEAP) {
+            return ByteBuffer.wrap(data.clone());
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data).flip();
+        return buffer;
+    }
+
+    private static byte[] read(ByteBuffer content) {
+        byte[] data = new byte[content.remaining()];
+        content.get(data);
+        return data;
+    }
+
+    private static final class Entry {
+        private final Long materialId;
+        private final String fileName;
+        private final ByteBuffer content;
+        private int frequency = 1;
+        private double priority;
+        private long sequence;
+
+        private Entry(Long materialId, String fileName, ByteBuffer content) {
+            this.materialId = materialId;
+            this.fileName = fileName;
+            this.content = content;
+        }
+
+        // Empty files still take a slot
+        private long weight() {
+            return Math.max(1, content.capacity());
+        }
+    }
+}
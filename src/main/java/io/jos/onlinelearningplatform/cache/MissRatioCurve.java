@@ -0,0 +1,38 @@
+package io.jos.onlinelearningplatform.cache;
+
+/**
+ * Estimated LRU hits of a region at every capacity, from a {@link ShardsSampler}.
+ *
+ * @param bucketWidth    entries covered by each bucket
+ * @param references     estimated lookups, including those no capacity would have served
+ * @param cumulativeHits estimated hits at a capacity of {@code (i + 1) * bucketWidth} entries
+ */
+record MissRatioCurve(int bucketWidth, double references, double[] cumulativeHits) {
+
+    /**
+     * Estimated hits at {@code capacity}, interpolated within a bucket.
+     */
+    double hits(int capacity) {
+        if (capacity <= 0 || cumulativeHits.length == 0) {
+            return 0;
+        }
+        int full = Math.min(capacity / bucketWidth, cumulativeHits.length);
+        double hits = full == 0 ? 0 : cumulativeHits[full - 1];
+        if (full < cumulativeHits.length) {
+            double next = cumulativeHits[full] - hits;
+            hits += next * (capacity % bucketWidth) / bucketWidth;
+        }
+        return hits;
+    }
+
+    double hitRatio(int capacity) {
+        return references == 0 ? 0 : hits(capacity) / references;
+    }
+
+    /**
+     * Largest capacity the curve says anything about; hits do not grow beyond it.
+     */
+    int maxCapacity() {
+        return cumulativeHits.length * bucketWidth;
+    }
+}
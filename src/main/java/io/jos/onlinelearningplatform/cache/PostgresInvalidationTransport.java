@@ -0,0 +1,156 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Sends invalidations through Postgres {@code NOTIFY} and receives them with {@code LISTEN},
+ * so every node connected to the application database sees them without extra infrastructure.
+ * <p>
+ * One daemon thread holds a connection that listens on the channel and blocks in
+ * {@link PGConnection#getNotifications(int)}, so messages arrive within milliseconds of
+ * the sending transaction's commit. If that connection breaks the thread reconnects with
+ * backoff and reports {@link Subscriber#onMessagesLost()}, since notifications sent in
+ * between are gone. Publishing never fails the caller; errors are logged.
+ * <p>
+ * The listener runs between {@link #start()} and {@link #stop()}, which Spring calls once the
+ * context is refreshed and before it closes. While it runs it keeps one connection of the
+ * pool, so the pool needs one connection more than the request threads use.
+ */
+public class PostgresInvalidationTransport implements InvalidationTransport, SmartLifecycle, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresInvalidationTransport.class);
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private Thread listener;
+    private volatile boolean running;
+
+    public PostgresInvalidationTransport(DataSource dataSource, String channel) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.channel = channel;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, message.encode());
+            statement.execute();
+        } catch (SQLException e) {
+            logger.warn("Failed to publish cache invalidation {} on channel {}", message, channel, e);
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void listen() {
+        long backoff = 100;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    subscribers.forEach(Subscriber::onMessagesLost);
+                }
+                connectedBefore = true;
+                backoff = 100;
+                logger.info("Listening for cache invalidations on channel {}", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        deliver(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Cache invalidation listener lost its connection, retrying in {} ms", backoff, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring cache invalidation: {}", e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.onMessage(message);
+            } catch (RuntimeException e) {
+                logger.error("Cache invalidation subscriber failed for {}", message, e);
+            }
+        }
+    }
+}
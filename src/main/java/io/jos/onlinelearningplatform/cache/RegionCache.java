@@ -0,0 +1,69 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} view of a {@link CacheRegion}, so methods
+ * annotated with {@code @Cacheable} get the region's policy, TTL and statistics.
+ * <p>
+ * Null results are cached as Spring's null marker. {@code @Cacheable(sync = true)} loads
+ * through {@link CacheRegion#get(Object, java.util.function.Function)}, so concurrent
+ * misses share one call. Evictions and clears go through the {@link CacheInvalidator}
+ * and so reach every node.
+ */
+public class RegionCache extends AbstractValueAdaptingCache {
+
+    private final CacheRegion<Object, Object> region;
+    private final CacheInvalidator invalidator;
+
+    public RegionCache(CacheRegion<Object, Object> region, CacheInvalidator invalidator) {
+        super(true);
+        this.region = region;
+        this.invalidator = invalidator;
+    }
+
+    @Override
+    public String getName() {
+        return region.name();
+    }
+
+    @Override
+    public CacheRegion<Object, Object> getNativeCache() {
+        return region;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return region.get(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = region.get(key, k -> {
+            try {
+                return toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+        });
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        region.put(key, toStoreValue(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidator.invalidate(region, key);
+    }
+
+    @Override
+    public void clear() {
+        invalidator.invalidateAll(region);
+    }
+}
@@ -0,0 +1,13 @@
+package io.jos.onlinelearningplatform.cache;
+
+/**
+ * Why an entry left a cache without an explicit {@link CacheAlgo#remove}.
+ */
+public enum RemovalCause {
+
+    /** Pushed out by the eviction policy to make room. */
+    EVICTED,
+
+    /** Its deadline passed. */
+    EXPIRED
+}
@@ -0,0 +1,17 @@
+package io.jos.onlinelearningplatform.cache;
+
+/**
+ * Notified when a cache drops an entry on its own, see {@link RemovalCause}.
+ * <p>
+ * Called on the thread that caused the removal, usually while the cache holds its
+ * lock, so implementations must be cheap and must not call back into the cache.
+ */
+@FunctionalInterface
+public interface RemovalListener<K, V> {
+
+    void onRemoval(K key, V value, RemovalCause cause);
+
+    static <K, V> RemovalListener<K, V> none() {
+        return (key, value, cause) -> { };
+    }
+}
@@ -0,0 +1,63 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the keys the lesson repository and the username lookup are called with, in the
+ * {@link HotKeyTracker} of {@link GlobalCacheService}, one source per repository method.
+ * <p>
+ * The key of a call is its id and name arguments: a single one as is, several as a list,
+ * e.g. {@code [teacherId, status]}. Times, pages and entities are left out, they would
+ * make nearly every call a key of its own; calls without any id or name are not counted.
+ * Only registered when {@code app.cache.hot-keys.enabled} is set, so repositories are
+ * not proxied for nothing.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.cache.hot-keys.enabled", havingValue = "true")
+public class RepositoryHotKeyAspect {
+
+    private final HotKeyTracker hotKeys;
+
+    public RepositoryHotKeyAspect(GlobalCacheService globalCache) {
+        this.hotKeys = globalCache.hotKeys();
+    }
+
+    @Before("execution(* io.jos.onlinelearningplatform.repository.LessonRepository.*(..))")
+    public void recordLessonQuery(JoinPoint joinPoint) {
+        record("LessonRepository", joinPoint);
+    }
+
+    @Before("execution(* io.jos.onlinelearningplatform.repository.UserRepository.findByUsername(..))")
+    public void recordUsernameQuery(JoinPoint joinPoint) {
+        record("UserRepository", joinPoint);
+    }
+
+    private void record(String repository, JoinPoint joinPoint) {
+        Object key = key(joinPoint.getArgs());
+        if (key != null) {
+            hotKeys.record(repository + "." + joinPoint.getSignature().getName(), key);
+        }
+    }
+
+    static Object key(Object[] args) {
+        List<Object> ids = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            if (arg instanceof Number || arg instanceof String) {
+                ids.add(arg);
+            }
+        }
+        return switch (ids.size()) {
+            case 0 -> null;
+            case 1 -> ids.get(0);
+            default -> List.copyOf(ids);
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package io.jos.onlinelearningplatform.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hibernate's second-level cache for the reference data: courses, teachable courses and users.
+ * <p>
+ * The regions and their eviction settings live in {@code ehcache.xml}; entities opt in with
+ * {@code @Cache(region = ...)} and repository queries with the cacheable query hints. This class
+ * exposes the region statistics to {@link CacheMetrics} and the cache statistics endpoint.
+ * <p>
+ * Each node has its own copy of these regions. Hibernate keeps the local copy current; after a
+ * commit that changed a cached entity this class publishes an invalidation through the
+ * {@link CacheInvalidator}, and other nodes evict the entity, plus the query results when an
+ * insert or delete may have changed them.
+ */
+@Component
+public class SecondLevelCache {
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCache.class);
+
+    public static final String COURSES = "courses";
+    public static final String TEACHER_COURSES = "teacher-courses";
+    public static final String USERS = "users";
+    public static final String COURSE_QUERIES = "course-queries";
+    public static final String TEACHER_COURSE_QUERIES = "teacher-course-queries";
+
+    // Name of these regions on the invalidation transport
+    static final String INVALIDATION_CACHE = "hibernate";
+    private static final String QUERY_RESULTS = "queries";
+    private static final String POLICY = "jcache";
+    private static final List<String> REGIONS = List.of(COURSES, TEACHER_COURSES, USERS, COURSE_QUERIES, TEACHER_COURSE_QUERIES);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidator invalidator;
+    private final boolean enabled;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory, CacheInvalidator invalidator) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.invalidator = invalidator;
+        this.enabled = sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled();
+        if (!enabled) {
+            logger.info("Hibernate second-level cache disabled");
+            return;
+        }
+
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        CommitListener listener = new CommitListener();
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        invalidator.registerExternalCache(INVALIDATION_CACHE, this::evictRemote, sessionFactory.getCache()::evictAllRegions);
+        logger.info("Hibernate second-level cache enabled with regions {}", REGIONS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Names of the entity and query regions, empty when the second-level cache is disabled.
+     */
+    public List<String> regionNames() {
+        return enabled ? REGIONS : List.of();
+    }
+
+    public long hitCount(String region) {
+        CacheRegionStatistics stats = statistics(region);
+        return stats == null ? 0 : stats.getHitCount();
+    }
+
+    public long missCount(String region) {
+        CacheRegionStatistics stats = statistics(region);
+        return stats == null ? 0 : stats.getMissCount();
+    }
+
+    public long putCount(String region) {
+        CacheRegionStatistics stats = statistics(region);
+        return stats == null ? 0 : stats.getPutCount();
+    }
+
+    /**
+     * Entries held on the heap; negative if the provider does not report it.
+     */
+    public long size(String region) {
+        CacheRegionStatistics stats = statistics(region);
+        return stats == null ? 0 : stats.getElementCountInMemory();
+    }
+
+    /**
+     * Hit, miss and put counts of a region; Hibernate does not report evictions or expirations.
+     */
+    public CacheStatsSnapshot snapshot(String region) {
+        long hits = hitCount(region);
+        long misses = missCount(region);
+        long requests = hits + misses;
+        int size = (int) Math.max(0, size(region));
+        return new CacheStatsSnapshot(POLICY, size, 0, hits, misses, requests == 0 ? 0.0 : (double) hits / requests,
+                putCount(region), 0, 0, 0, 0.0, size, 0);
+    }
+
+    // Region statistics are created lazily, e.g. for a query region before its first query
+    private CacheRegionStatistics statistics(String region) {
+        return sessionFactory.getStatistics().getCacheRegionStatistics(region);
+    }
+
+    private void evictRemote(String key) {
+        if (QUERY_RESULTS.equals(key)) {
+            sessionFactory.getCache().evictQueryRegions();
+            return;
+        }
+        int separator = key.lastIndexOf('#');
+        if (separator < 0) {
+            logger.warn("Ignoring malformed second-level cache invalidation: {}", key);
+            return;
+        }
+        // All cached entities have Long ids
+        sessionFactory.getCache().evictEntityData(key.substring(0, separator), Long.valueOf(key.substring(separator + 1)));
+    }
+
+    private void publish(EntityPersister persister, Object id, boolean queryResultsChanged) {
+        invalidator.publish(INVALIDATION_CACHE, persister.getEntityName() + "#" + id);
+        if (queryResultsChanged) {
+            invalidator.publish(INVALIDATION_CACHE, QUERY_RESULTS);
+        }
+    }
+
+    private final class CommitListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            publish(event.getPersister(), event.getId(), true);
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            publish(event.getPersister(), event.getId(), false);
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            publish(event.getPersister(), event.getId(), true);
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.canWriteToCache();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Estimates a region's LRU miss ratio curve while it serves requests, from a spatially
+ * hashed sample of its keys (SHARDS, Waldspurger et al.).
+ * <p>
+ * A key is sampled when the low bits of its hash fall below a threshold, so every access
+ * to a sampled key is seen and the reuse distances among sampled keys, divided by the
+ * sampling rate, estimate those of all keys. Accesses to other keys return after one
+ * comparison; only sampled ones take the monitor. At most {@code maxKeys} keys are
+ * tracked: a new key beyond that lowers the threshold until the keys with the largest
+ * hashes are gone. Each reference is weighted by the rate at the time it was seen, so
+ * the histogram stays an estimate of all lookups as the rate drops.
+ * <p>
+ * Reuse distances are counted with a Fenwick tree over access times, renumbered when
+ * the times run out. {@link #decay()} halves the histogram, so the curve follows a
+ * changing workload instead of averaging over the whole uptime.
+ */
+final class ShardsSampler {
+
+    static final int BUCKETS = 256;
+    private static final int MODULUS = 1 << 24;
+    private static final int HASH_MASK = MODULUS - 1;
+
+    private final int maxKeys;
+    private final int bucketWidth;
+    private final double[] histogram = new double[BUCKETS];
+    // Sampled keys by fingerprint, with the time of their last access
+    private final Map<Long, Integer> lastAccess = new HashMap<>();
+    private final TreeSet<Long> byHash = new TreeSet<>(
+            Comparator.<Long>comparingLong(ShardsSampler::sampleHash).thenComparingLong(Long::longValue));
+    // Marks the last access time of every tracked key; index 0 is unused
+    private final int[] tree;
+    private volatile int threshold;
+    private int time;
+    private double references;
+
+    /**
+     * @param rate        share of keys sampled at first, between 0 and 1
+     * @param maxKeys     most keys tracked at once
+     * @param maxCapacity largest capacity the curve has to cover
+     */
+    ShardsSampler(double rate, int maxKeys, int maxCapacity) {
+        if (rate <= 0 || rate > 1) {
+            throw new IllegalArgumentException("Sampling rate must be in (0, 1]: " + rate);
+        }
+        if (maxKeys <= 0 || maxCapacity <= 0) {
+            throw new IllegalArgumentException("Sample size and capacity must be positive");
+        }
+        this.threshold = (int) Math.max(1, Math.round(rate * MODULUS));
+        this.maxKeys = maxKeys;
+        this.bucketWidth = (maxCapacity + BUCKETS - 1) / BUCKETS;
+        this.tree = new int[4 * maxKeys + 1];
+    }
+
+    void recordAccess(Object key) {
+        long fingerprint = CacheTrace.fingerprint(key);
+        if (sampleHash(fingerprint) < threshold) {
+            access(fingerprint);
+        }
+    }
+
+    /**
+     * An evicted key is loaded from scratch next time, like a key never seen.
+     */
+    void recordEviction(Object key) {
+        long fingerprint = CacheTrace.fingerprint(key);
+        if (sampleHash(fingerprint) < threshold) {
+            forget(fingerprint);
+        }
+    }
+
+    synchronized void recordClear() {
+        lastAccess.clear();
+        byHash.clear();
+        Arrays.fill(tree, 0);
+        time = 0;
+    }
+
+    synchronized MissRatioCurve curve() {
+        double[] cumulative = new double[BUCKETS];
+        double hits = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            hits += histogram[i];
+            cumulative[i] = hits;
+        }
+        return new MissRatioCurve(bucketWidth, references, cumulative);
+    }
+
+    /**
+     * Halves the weight of everything seen so far.
+     */
+    synchronized void decay() {
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] /= 2;
+        }
+        references /= 2;
+    }
+
+    double rate() {
+        return (double) threshold / MODULUS;
+    }
+
+    private synchronized void access(long fingerprint) {
+        // The threshold may have dropped since the unlocked check
+        if (sampleHash(fingerprint) >= threshold) {
+            return;
+        }
+        double weight = 1 / rate();
+        references += weight;
+
+        Integer previous = lastAccess.get(fingerprint);
+        if (previous != null) {
+            // Position in the LRU stack: keys accessed at or after the previous access, this one included
+            int position = count(time) - count(previous - 1);
+            unmark(previous);
+            long bucket = (long) ((position - 1) * weight) / bucketWidth;
+            if (bucket < BUCKETS) {
+                histogram[(int) bucket] += weight;
+            }
+        }
+
+        if (time + 1 >= tree.length) {
+            renumber();
+        }
+        time++;
+        mark(time);
+        lastAccess.put(fingerprint, time);
+        if (previous == null) {
+            byHash.add(fingerprint);
+            if (byHash.size() > maxKeys) {
+                lowerThreshold();
+            }
+        }
+    }
+
+    private synchronized void forget(long fingerprint) {
+        Integer previous = lastAccess.remove(fingerprint);
+        if (previous != null) {
+            unmark(previous);
+            byHash.remove(fingerprint);
+        }
+    }
+
+    // Drops the keys with the largest hashes, at least one, and samples less from now on
+    private void lowerThreshold() {
+        int newThreshold = sampleHash(byHash.last());
+        while (!byHash.isEmpty() && sampleHash(byHash.last()) >= newThreshold) {
+            long dropped = byHash.pollLast();
+            unmark(lastAccess.remove(dropped));
+        }
+        threshold = Math.max(1, newThreshold);
+    }
+
+    // Gives the tracked keys the times 1..n in their current order
+    private void renumber() {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(lastAccess.entrySet());
+        entries.sort(Map.Entry.comparingByValue());
+        Arrays.fill(tree, 0);
+        time = 0;
+        for (Map.Entry<Long, Integer> entry : entries) {
+            time++;
+            mark(time);
+            entry.setValue(time);
+        }
+    }
+
+    private void mark(int index) {
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i]++;
+        }
+    }
+
+    private void unmark(int index) {
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i]--;
+        }
+    }
+
+    // Marks at times 1..index
+    private int count(int index) {
+        int count = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private static int sampleHash(long fingerprint) {
+        return (int) (fingerprint & HASH_MASK);
+    }
+}
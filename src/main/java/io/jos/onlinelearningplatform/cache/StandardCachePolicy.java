@@ -0,0 +1,58 @@
+package io.jos.onlinelearningplatform.cache;
+
+/**
+ * Eviction policies shipped with the application.
+ */
+public enum StandardCachePolicy implements CachePolicy {
+
+    /** Segmented LRU, the cheapest option and the best fit for purely recency-driven access. */
+    LRU("lru") {
+        @Override
+        public <K, V> CacheAlgo<K, V> create(int capacity, RemovalListener<? super K, ? super V> listener) {
+            return new ConcurrentLRUCacheAlgo<>(capacity, listener);
+        }
+    },
+
+    /** Adaptive Replacement Cache, balances recency and frequency using ghost lists. */
+    ARC("arc") {
+        @Override
+        public <K, V> CacheAlgo<K, V> create(int capacity, RemovalListener<? super K, ? super V> listener) {
+            return new ArcCacheAlgo<>(capacity, listener);
+        }
+    },
+
+    /** 2Q, keeps one-time accesses in a small FIFO so scans cannot flush the hot set. */
+    TWO_QUEUE("2q") {
+        @Override
+        public <K, V> CacheAlgo<K, V> create(int capacity, RemovalListener<? super K, ? super V> listener) {
+            return new TwoQueueCacheAlgo<>(capacity, listener);
+        }
+    },
+
+    /** CLOCK-Pro, a clock approximation of LIRS with hot/cold pages and non-resident test entries. */
+    CLOCK_PRO("clock-pro") {
+        @Override
+        public <K, V> CacheAlgo<K, V> create(int capacity, RemovalListener<? super K, ? super V> listener) {
+            return new ClockProCacheAlgo<>(capacity, listener);
+        }
+    },
+
+    /** Window TinyLFU, an LRU window in front of a segmented LRU guarded by a frequency sketch. */
+    W_TINY_LFU("w-tinylfu") {
+        @Override
+        public <K, V> CacheAlgo<K, V> create(int capacity, RemovalListener<? super K, ? super V> listener) {
+            return new WTinyLfuCacheAlgo<>(capacity, listener);
+        }
+    };
+
+    private final String id;
+
+    StandardCachePolicy(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+}
@@ -0,0 +1,131 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel that tracks cache entry deadlines.
+ * <p>
+ * Four levels of 64 buckets each cover 2^24 ticks; anything further out is parked
+ * in the last bucket of the top level and re-inserted when it comes around.
+ * Scheduling is O(1), and every timeout is cascaded at most once per level before
+ * it fires, so advancing the wheel costs amortized O(1) per entry instead of a
+ * scan over the whole cache.
+ * <p>
+ * Timeouts cannot be cancelled; callers verify on expiry that the timeout still
+ * belongs to the live entry. Not thread-safe, callers guard it with a lock.
+ */
+class TimingWheel<K> {
+
+    private static final int BITS = 6;
+    private static final int WHEEL_SIZE = 1 << BITS;
+    private static final int MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Timeout<K>[][] buckets;
+    private long currentTick;
+    private int pending;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new Timeout[LEVELS][WHEEL_SIZE];
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Registers a timeout. It fires on the first {@link #advance} whose time is at or
+     * past its deadline rounded up to the next tick, so it never fires early.
+     */
+    void schedule(Timeout<K> timeout) {
+        timeout.tick = Math.floorDiv(timeout.deadline + tickMillis - 1, tickMillis);
+        pending++;
+        // The bucket for the current tick has already fired, so the earliest slot is the next one
+        insert(timeout, currentTick + 1);
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis}, handing every due timeout to
+     * {@code onExpired}.
+     */
+    void advance(long nowMillis, Consumer<Timeout<K>> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            if (pending == 0) {
+                currentTick = targetTick;
+                return;
+            }
+            currentTick++;
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (BITS * level)) & MASK));
+                }
+            }
+            fire((int) (currentTick & MASK), onExpired);
+        }
+    }
+
+    int pending() {
+        return pending;
+    }
+
+    private void insert(Timeout<K> timeout, long earliestTick) {
+        long tick = Math.max(timeout.tick, earliestTick);
+        long delta = tick - currentTick;
+        if (delta >= MAX_SPAN) {
+            tick = currentTick + MAX_SPAN - 1;
+            delta = MAX_SPAN - 1;
+        }
+
+        int level = 0;
+        while (delta >= (1L << (BITS * (level + 1)))) {
+            level++;
+        }
+        int index = (int) ((tick >>> (BITS * level)) & MASK);
+        timeout.next = buckets[level][index];
+        buckets[level][index] = timeout;
+    }
+
+    private void cascade(int level, int index) {
+        Timeout<K> timeout = buckets[level][index];
+        buckets[level][index] = null;
+        while (timeout != null) {
+            Timeout<K> next = timeout.next;
+            insert(timeout, currentTick);
+            timeout = next;
+        }
+    }
+
+    private void fire(int index, Consumer<Timeout<K>> onExpired) {
+        Timeout<K> timeout = buckets[0][index];
+        buckets[0][index] = null;
+        while (timeout != null) {
+            Timeout<K> next = timeout.next;
+            timeout.next = null;
+            if (timeout.tick > currentTick) {
+                // Parked beyond the wheel span, go around again
+                insert(timeout, currentTick + 1);
+            } else {
+                pending--;
+                onExpired.accept(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    static final class Timeout<K> {
+        final K key;
+        final long deadline;
+        private long tick;
+        private Timeout<K> next;
+
+        Timeout(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
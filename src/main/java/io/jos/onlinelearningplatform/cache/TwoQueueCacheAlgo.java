@@ -0,0 +1,173 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full 2Q replacement (Johnson and Shasha).
+ * <p>
+ * New keys enter a small FIFO, A1in, and are evicted from it without disturbing the
+ * main LRU, Am. Keys pushed out of A1in are remembered in the ghost queue A1out; only
+ * a key that comes back while it is still remembered is admitted to Am. A scan over
+ * many cold keys therefore churns A1in but leaves the hot entries in Am alone.
+ * <p>
+ * All operations run under the instance monitor.
+ */
+public class TwoQueueCacheAlgo<K, V> implements CacheAlgo<K, V> {
+
+    private final RemovalListener<? super K, ? super V> listener;
+    private int capacity;
+    private int inCapacity;
+    private int outCapacity;
+    private final LinkedHashMap<K, V> in = new LinkedHashMap<>();
+    private final LinkedHashSet<K> out = new LinkedHashSet<>();
+    // Least recently used first; hits move a key to the end by hand, so peek moves nothing
+    private final LinkedHashMap<K, V> main = new LinkedHashMap<>();
+
+    public TwoQueueCacheAlgo(int capacity) {
+        this(capacity, RemovalListener.none());
+    }
+
+    public TwoQueueCacheAlgo(int capacity, RemovalListener<? super K, ? super V> listener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.listener = listener;
+        setCapacity(capacity);
+    }
+
+    @Override
+    public synchronized void put(K key, V value) {
+        if (main.containsKey(key)) {
+            main.remove(key);
+            main.put(key, value);
+            return;
+        }
+        if (in.containsKey(key)) {
+            // A1in is a FIFO, a second touch does not move the key
+            in.put(key, value);
+            return;
+        }
+        if (out.remove(key)) {
+            makeRoom();
+            main.put(key, value);
+            return;
+        }
+        makeRoom();
+        in.put(key, value);
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        if (main.containsKey(key)) {
+            V value = main.remove(key);
+            main.put(key, value);
+            return value;
+        }
+        return in.get(key);
+    }
+
+    @Override
+    public synchronized V peek(K key) {
+        return main.containsKey(key) ? main.get(key) : in.get(key);
+    }
+
+    @Override
+    public synchronized boolean containsKey(K key) {
+        return main.containsKey(key) || in.containsKey(key);
+    }
+
+    @Override
+    public synchronized V remove(K key) {
+        out.remove(key);
+        if (in.containsKey(key)) {
+            return in.remove(key);
+        }
+        return main.remove(key);
+    }
+
+    // A resident key is not in A1out
+    @Override
+    public synchronized boolean remove(K key, V expected) {
+        return in.remove(key, expected) || main.remove(key, expected);
+    }
+
+    @Override
+    public synchronized int size() {
+        return in.size() + main.size();
+    }
+
+    @Override
+    public synchronized boolean resize(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        setCapacity(capacity);
+        while (in.size() + main.size() > capacity) {
+            makeRoom();
+        }
+        trimOut();
+        return true;
+    }
+
+    /**
+     * Am before A1in, most recent first in each.
+     */
+    @Override
+    public synchronized List<Map.Entry<K, V>> entries() {
+        List<Map.Entry<K, V>> entries = new ArrayList<>(in.size() + main.size());
+        addMostRecentFirst(main, entries);
+        addMostRecentFirst(in, entries);
+        return entries;
+    }
+
+    private void setCapacity(int capacity) {
+        this.capacity = capacity;
+        // The paper's recommended split: A1in at 25% of the cache, A1out remembering 50%
+        this.inCapacity = Math.max(1, capacity / 4);
+        this.outCapacity = Math.max(1, capacity / 2);
+    }
+
+    private void makeRoom() {
+        if (in.size() + main.size() < capacity) {
+            return;
+        }
+        if (in.size() > inCapacity || main.isEmpty()) {
+            out.add(evictEldest(in));
+            trimOut();
+        } else {
+            evictEldest(main);
+        }
+    }
+
+    private void trimOut() {
+        Iterator<K> oldest = out.iterator();
+        while (out.size() > outCapacity) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    private static <K, V> void addMostRecentFirst(LinkedHashMap<K, V> queue, List<Map.Entry<K, V>> entries) {
+        List<Map.Entry<K, V>> copy = new ArrayList<>(queue.size());
+        queue.forEach((key, value) -> copy.add(new AbstractMap.SimpleImmutableEntry<>(key, value)));
+        Collections.reverse(copy);
+        entries.addAll(copy);
+    }
+
+    private K evictEldest(LinkedHashMap<K, V> queue) {
+        Iterator<Map.Entry<K, V>> it = queue.entrySet().iterator();
+        Map.Entry<K, V> eldest = it.next();
+        K key = eldest.getKey();
+        V value = eldest.getValue();
+        it.remove();
+        listener.onRemoval(key, value, RemovalCause.EVICTED);
+        return key;
+    }
+}
@@ -0,0 +1,242 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Window TinyLFU replacement (Einziger, Friedman and Manes).
+ * <p>
+ * New entries land in a small LRU window, 1% of the capacity, that absorbs bursts.
+ * The rest of the cache is a segmented LRU split into probation (20%) and protected
+ * (80%); an entry in probation that is read again moves to protected. When the window
+ * overflows, its LRU entry has to compete with the LRU entry of probation and only
+ * the one the {@link FrequencySketch} has seen more often stays, so a scan of keys
+ * that are each read once cannot push out entries that are read all the time.
+ * <p>
+ * All three segments keep the least recently used entry first; hits move an entry to
+ * the end by hand, so {@link #peek} reads without moving anything. All operations run
+ * under the instance monitor.
+ */
+public class WTinyLfuCacheAlgo<K, V> implements CacheAlgo<K, V> {
+
+    private final RemovalListener<? super K, ? super V> listener;
+    private int windowCapacity;
+    private int mainCapacity;
+    private int protectedCapacity;
+    private FrequencySketch sketch;
+    // Capacity the sketch was sized for
+    private int sketchCapacity;
+
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>();
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>();
+
+    public WTinyLfuCacheAlgo(int capacity) {
+        this(capacity, RemovalListener.none());
+    }
+
+    public WTinyLfuCacheAlgo(int capacity, RemovalListener<? super K, ? super V> listener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.listener = listener;
+        setCapacity(capacity);
+        this.sketch = new FrequencySketch(capacity);
+        this.sketchCapacity = capacity;
+    }
+
+    @Override
+    public synchronized void put(K key, V value) {
+        // Not counted: get already counted the lookup that led to this put
+        if (window.containsKey(key)) {
+            window.remove(key);
+            window.put(key, value);
+            return;
+        }
+        if (protectedSegment.containsKey(key)) {
+            protectedSegment.remove(key);
+            protectedSegment.put(key, value);
+            return;
+        }
+        if (probation.containsKey(key)) {
+            probation.remove(key);
+            promote(key, value);
+            return;
+        }
+
+        window.put(key, value);
+        if (window.size() > windowCapacity) {
+            Map.Entry<K, V> candidate = removeEldest(window);
+            admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        if (window.containsKey(key)) {
+            sketch.increment(key);
+            return touch(window, key);
+        }
+        if (protectedSegment.containsKey(key)) {
+            sketch.increment(key);
+            return touch(protectedSegment, key);
+        }
+        if (probation.containsKey(key)) {
+            sketch.increment(key);
+            V value = probation.remove(key);
+            promote(key, value);
+            return value;
+        }
+        // Misses count too, a key that is asked for often deserves a place once it is loaded
+        sketch.increment(key);
+        return null;
+    }
+
+    // Estimated number of recent lookups of the key, for tests
+    synchronized int frequency(K key) {
+        return sketch.frequency(key);
+    }
+
+    @Override
+    public synchronized V peek(K key) {
+        if (window.containsKey(key)) {
+            return window.get(key);
+        }
+        return probation.containsKey(key) ? probation.get(key) : protectedSegment.get(key);
+    }
+
+    @Override
+    public synchronized boolean containsKey(K key) {
+        return window.containsKey(key) || probation.containsKey(key) || protectedSegment.containsKey(key);
+    }
+
+    @Override
+    public synchronized V remove(K key) {
+        if (window.containsKey(key)) {
+            return window.remove(key);
+        }
+        if (probation.containsKey(key)) {
+            return probation.remove(key);
+        }
+        return protectedSegment.remove(key);
+    }
+
+    @Override
+    public synchronized boolean remove(K key, V expected) {
+        return window.remove(key, expected) || probation.remove(key, expected) || protectedSegment.remove(key, expected);
+    }
+
+    @Override
+    public synchronized int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    /**
+     * Shrinking evicts the oldest window entries beyond the new window, then the main
+     * segment's least valuable entries, probation before protected. The sketch keeps its
+     * counts unless the cache grows past twice the size it was built for, when a wider one
+     * starts from scratch.
+     */
+    @Override
+    public synchronized boolean resize(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        setCapacity(capacity);
+        if (capacity > 2 * sketchCapacity) {
+            sketch = new FrequencySketch(capacity);
+            sketchCapacity = capacity;
+        }
+        while (window.size() > windowCapacity) {
+            evictEldest(window);
+        }
+        while (probation.size() + protectedSegment.size() > mainCapacity) {
+            evictEldest(probation.isEmpty() ? protectedSegment : probation);
+        }
+        while (protectedSegment.size() > protectedCapacity) {
+            Map.Entry<K, V> demoted = removeEldest(protectedSegment);
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * Protected, then probation, then the window, most recent first in each.
+     */
+    @Override
+    public synchronized List<Map.Entry<K, V>> entries() {
+        List<Map.Entry<K, V>> entries = new ArrayList<>(size());
+        addMostRecentFirst(protectedSegment, entries);
+        addMostRecentFirst(probation, entries);
+        addMostRecentFirst(window, entries);
+        return entries;
+    }
+
+    private void setCapacity(int capacity) {
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.mainCapacity = capacity - windowCapacity;
+        this.protectedCapacity = (int) (mainCapacity * 0.8);
+    }
+
+    private void promote(K key, V value) {
+        protectedSegment.put(key, value);
+        if (protectedSegment.size() > protectedCapacity) {
+            // Demoted entries get another chance at the most recent end of probation
+            Map.Entry<K, V> demoted = removeEldest(protectedSegment);
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+    }
+
+    private void admit(K candidateKey, V candidateValue) {
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(candidateKey, candidateValue);
+            return;
+        }
+        LinkedHashMap<K, V> victims = probation.isEmpty() ? protectedSegment : probation;
+        if (victims.isEmpty()) {
+            // No main segment at all (capacity 1), the window alone decides
+            listener.onRemoval(candidateKey, candidateValue, RemovalCause.EVICTED);
+            return;
+        }
+        K victimKey = victims.keySet().iterator().next();
+        if (sketch.frequency(candidateKey) > sketch.frequency(victimKey)) {
+            V victimValue = victims.remove(victimKey);
+            probation.put(candidateKey, candidateValue);
+            listener.onRemoval(victimKey, victimValue, RemovalCause.EVICTED);
+        } else {
+            listener.onRemoval(candidateKey, candidateValue, RemovalCause.EVICTED);
+        }
+    }
+
+    private static <K, V> void addMostRecentFirst(LinkedHashMap<K, V> segment, List<Map.Entry<K, V>> entries) {
+        List<Map.Entry<K, V>> copy = new ArrayList<>(segment.size());
+        segment.forEach((key, value) -> copy.add(new AbstractMap.SimpleImmutableEntry<>(key, value)));
+        Collections.reverse(copy);
+        entries.addAll(copy);
+    }
+
+    private void evictEldest(LinkedHashMap<K, V> segment) {
+        Map.Entry<K, V> evicted = removeEldest(segment);
+        listener.onRemoval(evicted.getKey(), evicted.getValue(), RemovalCause.EVICTED);
+    }
+
+    // Moves the key to the most recent end
+    private static <K, V> V touch(LinkedHashMap<K, V> segment, K key) {
+        V value = segment.remove(key);
+        segment.put(key, value);
+        return value;
+    }
+
+    private static <K, V> Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> map) {
+        Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+        Map.Entry<K, V> eldest = it.next();
+        Map.Entry<K, V> copy = new AbstractMap.SimpleImmutableEntry<>(eldest);
+        it.remove();
+        return copy;
+    }
+}
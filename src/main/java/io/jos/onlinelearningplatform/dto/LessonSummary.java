@@ -0,0 +1,58 @@
+package io.jos.onlinelearningplatform.dto;
+
+import io.jos.onlinelearningplatform.model.Course;
+import io.jos.onlinelearningplatform.model.Lesson;
+import io.jos.onlinelearningplatform.model.User;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable, detached view of a lesson for the home and list pages and the cache.
+ * <p>
+ * The lazy course, teacher and student associations are copied into small value
+ * records while the persistence context is still open, so reading a summary later
+ * never touches Hibernate and never keeps the entity graph reachable. The list pages
+ * get summaries straight from projection queries in {@link io.jos.onlinelearningplatform.repository.LessonRepository},
+ * without loading any entity. Serializable for the cache snapshots.
+ */
+public record LessonSummary(Long id,
+                            String description,
+                            LocalDateTime timestamp,
+                            String status,
+                            CourseInfo course,
+                            Participant teacher,
+                            Participant student) implements Serializable {
+
+    /**
+     * Flat form for JPQL constructor expressions, which cannot build the nested records.
+     */
+    public LessonSummary(Long id, String description, LocalDateTime timestamp, String status,
+                         Long courseId, String courseTitle,
+                         Long teacherId, String teacherUsername,
+                         Long studentId, String studentUsername) {
+        this(id, description, timestamp, status,
+                courseId == null ? null : new CourseInfo(courseId, courseTitle),
+                teacherId == null ? null : new Participant(teacherId, teacherUsername),
+                studentId == null ? null : new Participant(studentId, studentUsername));
+    }
+
+    public static LessonSummary of(Lesson lesson) {
+        return new LessonSummary(lesson.getId(), lesson.getDescription(), lesson.getTimestamp(), lesson.getStatus(),
+                CourseInfo.of(lesson.getCourse()), Participant.of(lesson.getTeacher()), Participant.of(lesson.getStudent()));
+    }
+
+    public record CourseInfo(Long id, String title) implements Serializable {
+
+        static CourseInfo of(Course course) {
+            return course == null ? null : new CourseInfo(course.getId(), course.getTitle());
+        }
+    }
+
+    public record Participant(Long id, String username) implements Serializable {
+
+        static Participant of(User user) {
+            return user == null ? null : new Participant(user.getId(), user.getUsername());
+        }
+    }
+}
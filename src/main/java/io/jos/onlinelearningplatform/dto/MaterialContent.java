@@ -0,0 +1,12 @@
+package io.jos.onlinelearningplatform.dto;
+
+/**
+ * File name and content of a study material, without the lesson or uploader.
+ * The content array may be shared with the material cache and must not be modified.
+ */
+public record MaterialContent(Long id, String fileName, byte[] data) {
+
+    public int length() {
+        return data == null ? 0 : data.length;
+    }
+}
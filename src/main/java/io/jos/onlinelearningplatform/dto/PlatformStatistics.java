@@ -0,0 +1,35 @@
+package io.jos.onlinelearningplatform.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Row counts for the admin dashboards, all taken by one query at {@code takenAt}: users by
+ * type (the discriminator value, e.g. {@code STUDENT}), lessons by status, and courses.
+ */
+public record PlatformStatistics(Map<String, Long> usersByType,
+                                 Map<String, Long> lessonsByStatus,
+                                 long totalCourses,
+                                 Instant takenAt) {
+
+    public PlatformStatistics {
+        usersByType = Map.copyOf(usersByType);
+        lessonsByStatus = Map.copyOf(lessonsByStatus);
+    }
+
+    public long totalUsers() {
+        return usersByType.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long users(String type) {
+        return usersByType.getOrDefault(type, 0L);
+    }
+
+    public long totalLessons() {
+        return lessonsByStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long lessons(String status) {
+        return lessonsByStatus.getOrDefault(status, 0L);
+    }
+}
@@ -0,0 +1,22 @@
+package io.jos.onlinelearningplatform.dto;
+
+import java.util.List;
+
+/**
+ * Number of lessons in one status, one row of the grouped counts in
+ * {@link io.jos.onlinelearningplatform.repository.LessonRepository}.
+ */
+public record StatusCount(String status, long count) {
+
+    public static long total(List<StatusCount> counts) {
+        return counts.stream().mapToLong(StatusCount::count).sum();
+    }
+
+    // Zero when no lesson is in the status, since the query returns no row for it
+    public static long countOf(List<StatusCount> counts, String status) {
+        return counts.stream()
+                .filter(count -> status.equals(count.status()))
+                .mapToLong(StatusCount::count)
+                .sum();
+    }
+}
@@ -0,0 +1,17 @@
+package io.jos.onlinelearningplatform.dto;
+
+import io.jos.onlinelearningplatform.model.Teacher;
+
+import java.io.Serializable;
+
+/**
+ * Immutable, detached view of a teacher for profile pages and the cache.
+ * Holds no reference to the entity, so it can be shared across requests and threads,
+ * and serializable for the cache snapshots.
+ */
+public record TeacherSummary(Long id, String username, String email) implements Serializable {
+
+    public static TeacherSummary of(Teacher teacher) {
+        return new TeacherSummary(teacher.getId(), teacher.getUsername(), teacher.getEmail());
+    }
+}
@@ -0,0 +1,13 @@
+package io.jos.onlinelearningplatform.event;
+
+import io.jos.onlinelearningplatform.model.Course;
+
+/**
+ * Published when a course is created or deleted. The id may be null when it is unknown.
+ */
+public record CourseChangedEvent(Long courseId) {
+
+    public static CourseChangedEvent of(Course course) {
+        return new CourseChangedEvent(course.getId());
+    }
+}
@@ -0,0 +1,18 @@
+package io.jos.onlinelearningplatform.event;
+
+import io.jos.onlinelearningplatform.model.Lesson;
+
+/**
+ * Published when a lesson is created, changes status or is deleted, so anything derived
+ * from the lesson schedule of its participants (e.g. cached "next lesson" entries) can be
+ * refreshed. Either participant id may be null when it is unknown.
+ */
+public record LessonChangedEvent(Long lessonId, Long teacherId, Long studentId) {
+
+    public static LessonChangedEvent of(Lesson lesson) {
+        // Reading the id of a lazy association does not initialize it
+        Long teacherId = lesson.getTeacher() != null ? lesson.getTeacher().getId() : null;
+        Long studentId = lesson.getStudent() != null ? lesson.getStudent().getId() : null;
+        return new LessonChangedEvent(lesson.getId(), teacherId, studentId);
+    }
+}
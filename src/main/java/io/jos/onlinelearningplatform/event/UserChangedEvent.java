@@ -0,0 +1,13 @@
+package io.jos.onlinelearningplatform.event;
+
+import io.jos.onlinelearningplatform.model.User;
+
+/**
+ * Published when a user's account or profile data changes or the user is deleted.
+ */
+public record UserChangedEvent(Long userId, String username) {
+
+    public static UserChangedEvent of(User user) {
+        return new UserChangedEvent(user.getId(), user.getUsername());
+    }
+}
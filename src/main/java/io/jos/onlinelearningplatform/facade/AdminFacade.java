@@ -1,8 +1,17 @@
 package io.jos.onlinelearningplatform.facade;
 
+import io.jos.onlinelearningplatform.cache.GlobalCacheService;
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.PlatformStatistics;
+import io.jos.onlinelearningplatform.dto.StatusCount;
+import io.jos.onlinelearningplatform.event.CourseChangedEvent;
+import io.jos.onlinelearningplatform.event.LessonChangedEvent;
+import io.jos.onlinelearningplatform.event.UserChangedEvent;
 import io.jos.onlinelearningplatform.model.*;
 import io.jos.onlinelearningplatform.repository.*;
-import io.jos.onlinelearningplatform.service.AdminService;
+import io.jos.onlinelearningplatform.service.StatisticsService;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -16,29 +25,36 @@ import java.util.List;
 @Component
 public class AdminFacade {
 
+    // The profile pages show the last 10 lessons
+    private static final Pageable RECENT_LESSONS = PageRequest.of(0, 10);
+
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final LessonRepository lessonRepository;
     private final MessageRepository messageRepository;
     private final TeacherCourseRepository teacherCourseRepository;
-    private final AdminService adminService;
+    private final StatisticsService statisticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdminFacade(UserRepository userRepository, CourseRepository courseRepository,
                       LessonRepository lessonRepository, MessageRepository messageRepository,
-                      TeacherCourseRepository teacherCourseRepository, AdminService adminService) {
+                      TeacherCourseRepository teacherCourseRepository, StatisticsService statisticsService,
+                      ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.courseRepository = courseRepository;
         this.lessonRepository = lessonRepository;
         this.messageRepository = messageRepository;
         this.teacherCourseRepository = teacherCourseRepository;
-        this.adminService = adminService;
+        this.statisticsService = statisticsService;
+        this.eventPublisher = eventPublisher;
     }
 
     public String prepareHomePage(Model model) {
-        model.addAttribute("totalStudents", adminService.getTotalStudents());
-        model.addAttribute("totalTeachers", adminService.getTotalTeachers());
-        model.addAttribute("totalCourses", adminService.getTotalCourses());
-        model.addAttribute("totalLessons", adminService.getTotalLessons());
+        PlatformStatistics statistics = statisticsService.getStatistics();
+        model.addAttribute("totalStudents", statistics.users("STUDENT"));
+        model.addAttribute("totalTeachers", statistics.users("TEACHER"));
+        model.addAttribute("totalCourses", statistics.totalCourses());
+        model.addAttribute("totalLessons", statistics.totalLessons());
         return "admin/home";
     }
 
@@ -57,6 +73,7 @@ public class AdminFacade {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         user.setActive(!user.isActive());
         userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(user));
         return "redirect:/admin/users";
     }
 
@@ -68,10 +85,12 @@ public class AdminFacade {
 
     public String createCourse(Course course) {
         courseRepository.save(course);
+        eventPublisher.publishEvent(CourseChangedEvent.of(course));
         return "redirect:/admin/courses?created=1";
     }
 
     @Transactional
+    @CacheEvict(cacheNames = GlobalCacheService.TEACHABLE_COURSES, allEntries = true)
     public String deleteCourse(Long courseId) {
         List<Lesson> courseLessons = lessonRepository.findByCourseIdOrderByTimestampDesc(courseId);
 
@@ -81,6 +100,7 @@ public class AdminFacade {
                 messageRepository.deleteAll(lessonMessages);
             }
             lessonRepository.deleteById(lesson.getId());
+            eventPublisher.publishEvent(LessonChangedEvent.of(lesson));
         }
 
         List<TeacherCourse> teacherCourses = teacherCourseRepository.findByCourseId(courseId);
@@ -89,12 +109,13 @@ public class AdminFacade {
         }
 
         courseRepository.deleteById(courseId);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
         return "redirect:/admin/courses?deleted=1";
     }
 
     public String prepareLessonsPage(int page, Model model) {
         Pageable pageable = PageRequest.of(page, 15, Sort.by("timestamp").descending());
-        Page<Lesson> lessons = lessonRepository.findAll(pageable);
+        Page<LessonSummary> lessons = lessonRepository.findSummaries(pageable);
 
         model.addAttribute("lessons", lessons);
         model.addAttribute("currentPage", page);
@@ -103,17 +124,18 @@ public class AdminFacade {
     }
 
     public String prepareReportsPage(Model model) {
-        long totalUsers = userRepository.count();
-        long totalStudents = userRepository.countByUserType(Student.class);
-        long totalTeachers = userRepository.countByUserType(Teacher.class);
-        long totalAdmins = userRepository.countByUserType(Admin.class);
+        PlatformStatistics statistics = statisticsService.getStatistics();
+        long totalUsers = statistics.totalUsers();
+        long totalStudents = statistics.users("STUDENT");
+        long totalTeachers = statistics.users("TEACHER");
+        long totalAdmins = statistics.users("ADMIN");
 
-        long totalLessons = lessonRepository.count();
-        long pendingLessons = lessonRepository.countByStatus("PENDING");
-        long acceptedLessons = lessonRepository.countByStatus("ACCEPTED");
-        long rejectedLessons = lessonRepository.countByStatus("REJECTED");
+        long totalLessons = statistics.totalLessons();
+        long pendingLessons = statistics.lessons("PENDING");
+        long acceptedLessons = statistics.lessons("ACCEPTED");
+        long rejectedLessons = statistics.lessons("REJECTED");
 
-        long totalCourses = courseRepository.count();
+        long totalCourses = statistics.totalCourses();
 
         model.addAttribute("totalUsers", totalUsers);
         model.addAttribute("totalStudents", totalStudents);
@@ -132,30 +154,17 @@ public class AdminFacade {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found"));
 
-        // Get course lessons
-        List<Lesson> courseLessons = lessonRepository.findByCourseIdOrderByTimestampDesc(courseId);
-
         // Get unique students and teachers from lessons
-        List<Student> students = courseLessons.stream()
-                .map(Lesson::getStudent)
-                .distinct()
-                .toList();
-
-        List<Teacher> teachers = courseLessons.stream()
-                .map(Lesson::getTeacher)
-                .distinct()
-                .toList();
+        List<Student> students = lessonRepository.findStudentsByCourseId(courseId);
+        List<Teacher> teachers = lessonRepository.findTeachersByCourseId(courseId);
 
         // Calculate statistics
-        long totalLessons = courseLessons.size();
-        long completedLessons = courseLessons.stream()
-                .filter(lesson -> "COMPLETED".equals(lesson.getStatus()))
-                .count();
+        List<StatusCount> statusCounts = lessonRepository.countStatusesByCourseId(courseId);
+        long totalLessons = StatusCount.total(statusCounts);
+        long completedLessons = StatusCount.countOf(statusCounts, "COMPLETED");
 
         // Get recent lessons (last 10)
-        List<Lesson> recentLessons = courseLessons.stream()
-                .limit(10)
-                .toList();
+        List<LessonSummary> recentLessons = lessonRepository.findRecentSummariesByCourse(courseId, RECENT_LESSONS);
 
         model.addAttribute("course", course);
         model.addAttribute("students", students);
@@ -183,6 +192,7 @@ public class AdminFacade {
 
         lesson.setStatus("ACCEPTED");
         lessonRepository.save(lesson);
+        eventPublisher.publishEvent(LessonChangedEvent.of(lesson));
 
         return "redirect:/admin/lessons/" + lessonId + "/details?approved=1";
     }
@@ -193,6 +203,7 @@ public class AdminFacade {
 
         lesson.setStatus("REJECTED");
         lessonRepository.save(lesson);
+        eventPublisher.publishEvent(LessonChangedEvent.of(lesson));
 
         return "redirect:/admin/lessons/" + lessonId + "/details?rejected=1";
     }
@@ -203,6 +214,7 @@ public class AdminFacade {
 
         lesson.setStatus("CANCELLED");
         lessonRepository.save(lesson);
+        eventPublisher.publishEvent(LessonChangedEvent.of(lesson));
 
         return "redirect:/admin/lessons/" + lessonId + "/details?cancelled=1";
     }
@@ -215,23 +227,14 @@ public class AdminFacade {
             throw new IllegalArgumentException("User is not a teacher");
         }
 
-        // Get teacher's lessons using the correct repository method
-        List<Lesson> teacherLessons = lessonRepository.findByTeacherId(teacherId);
-
         // Calculate statistics
-        long totalLessons = teacherLessons.size();
-        long completedLessons = teacherLessons.stream()
-                .filter(lesson -> "COMPLETED".equals(lesson.getStatus()))
-                .count();
-        long pendingLessons = teacherLessons.stream()
-                .filter(lesson -> "PENDING".equals(lesson.getStatus()))
-                .count();
+        List<StatusCount> statusCounts = lessonRepository.countStatusesByTeacherId(teacherId);
+        long totalLessons = StatusCount.total(statusCounts);
+        long completedLessons = StatusCount.countOf(statusCounts, "COMPLETED");
+        long pendingLessons = StatusCount.countOf(statusCounts, "PENDING");
 
         // Get unique students
-        List<Student> uniqueStudents = teacherLessons.stream()
-                .map(Lesson::getStudent)
-                .distinct()
-                .toList();
+        List<Student> uniqueStudents = lessonRepository.findStudentsByTeacherId(teacherId);
 
         // Get teachable courses
         List<TeacherCourse> teacherCourses = teacherCourseRepository.findByTeacherId(teacherId);
@@ -239,11 +242,8 @@ public class AdminFacade {
                 .map(TeacherCourse::getCourse)
                 .toList();
 
-        // Sort lessons by timestamp descending for recent lessons
-        List<Lesson> recentLessons = teacherLessons.stream()
-                .sorted((l1, l2) -> l2.getTimestamp().compareTo(l1.getTimestamp()))
-                .limit(10)
-                .toList();
+        // Get recent lessons (last 10)
+        List<LessonSummary> recentLessons = lessonRepository.findRecentSummariesByTeacher(teacherId, RECENT_LESSONS);
 
         model.addAttribute("teacher", teacher);
         model.addAttribute("totalLessons", totalLessons);
@@ -265,39 +265,20 @@ public class AdminFacade {
             throw new IllegalArgumentException("User is not a student");
         }
 
-        // Get student's lessons - we need to create a query to find by student ID
-        // For now, get all lessons and filter by student ID
-        List<Lesson> allLessons = lessonRepository.findAll();
-        List<Lesson> studentLessons = allLessons.stream()
-                .filter(lesson -> lesson.getStudent().getId().equals(studentId))
-                .sorted((l1, l2) -> l2.getTimestamp().compareTo(l1.getTimestamp()))
-                .toList();
-
         // Calculate statistics
-        long totalLessons = studentLessons.size();
-        long completedLessons = studentLessons.stream()
-                .filter(lesson -> "COMPLETED".equals(lesson.getStatus()))
-                .count();
-        long pendingLessons = studentLessons.stream()
-                .filter(lesson -> "PENDING".equals(lesson.getStatus()))
-                .count();
+        List<StatusCount> statusCounts = lessonRepository.countStatusesByStudentId(studentId);
+        long totalLessons = StatusCount.total(statusCounts);
+        long completedLessons = StatusCount.countOf(statusCounts, "COMPLETED");
+        long pendingLessons = StatusCount.countOf(statusCounts, "PENDING");
 
         // Get unique teachers
-        List<Teacher> uniqueTeachers = studentLessons.stream()
-                .map(Lesson::getTeacher)
-                .distinct()
-                .toList();
+        List<Teacher> uniqueTeachers = lessonRepository.findTeachersByStudentId(studentId);
 
         // Get courses the student has taken lessons in
-        List<Course> courses = studentLessons.stream()
-                .map(Lesson::getCourse)
-                .distinct()
-                .toList();
+        List<Course> courses = lessonRepository.findCoursesByStudentId(studentId);
 
         // Get recent lessons (last 10)
-        List<Lesson> recentLessons = studentLessons.stream()
-                .limit(10)
-                .toList();
+        List<LessonSummary> recentLessons = lessonRepository.findRecentSummariesByStudent(studentId, RECENT_LESSONS);
 
         model.addAttribute("student", student);
         model.addAttribute("totalLessons", totalLessons);
@@ -320,18 +301,16 @@ public class AdminFacade {
         }
 
         // Get system statistics
-        long totalUsers = userRepository.count();
-        long totalStudents = userRepository.countByUserType(Student.class);
-        long totalTeachers = userRepository.countByUserType(Teacher.class);
-        long totalLessons = lessonRepository.count();
-        long totalCourses = courseRepository.count();
-        long pendingLessons = lessonRepository.countByStatus("PENDING");
+        PlatformStatistics statistics = statisticsService.getStatistics();
+        long totalUsers = statistics.totalUsers();
+        long totalStudents = statistics.users("STUDENT");
+        long totalTeachers = statistics.users("TEACHER");
+        long totalLessons = statistics.totalLessons();
+        long totalCourses = statistics.totalCourses();
+        long pendingLessons = statistics.lessons("PENDING");
 
         // Get recent lessons for system activity overview (last 10)
-        List<Lesson> recentLessons = lessonRepository.findAll().stream()
-                .sorted((l1, l2) -> l2.getTimestamp().compareTo(l1.getTimestamp()))
-                .limit(10)
-                .toList();
+        List<LessonSummary> recentLessons = lessonRepository.findRecentSummaries(RECENT_LESSONS);
 
         model.addAttribute("admin", admin);
         model.addAttribute("totalUsers", totalUsers);
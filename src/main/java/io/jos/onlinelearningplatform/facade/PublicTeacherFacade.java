@@ -1,6 +1,6 @@
 package io.jos.onlinelearningplatform.facade;
 
-import io.jos.onlinelearningplatform.model.Teacher;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
 import io.jos.onlinelearningplatform.service.TeacherService;
 import org.springframework.stereotype.Component;
 import org.springframework.ui.Model;
@@ -15,7 +15,7 @@ public class PublicTeacherFacade {
     }
 
     public String prepareTeacherProfile(Long teacherId, Model model) {
-        Teacher teacher = teacherService.getTeacherProfile(teacherId);
+        TeacherSummary teacher = teacherService.getTeacherProfile(teacherId);
         if (teacher == null) {
             return "redirect:/student/search?notfound";
         }
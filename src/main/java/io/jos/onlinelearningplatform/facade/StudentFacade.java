@@ -1,11 +1,17 @@
 package io.jos.onlinelearningplatform.facade;
 
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.MaterialContent;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
+import io.jos.onlinelearningplatform.event.UserChangedEvent;
 import io.jos.onlinelearningplatform.model.*;
 import io.jos.onlinelearningplatform.repository.*;
 import io.jos.onlinelearningplatform.service.LessonService;
 import io.jos.onlinelearningplatform.service.StudentService;
+import io.jos.onlinelearningplatform.service.StudyMaterialService;
 import io.jos.onlinelearningplatform.service.TeacherService;
 import io.jos.onlinelearningplatform.util.UserUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -27,13 +33,16 @@ public class StudentFacade {
     private final LessonRepository lessonRepository;
     private final MessageRepository messageRepository;
     private final StudyMaterialRepository studyMaterialRepository;
+    private final StudyMaterialService studyMaterialService;
     private final UserUtils userUtils;
+    private final ApplicationEventPublisher eventPublisher;
 
     public StudentFacade(CourseRepository courseRepository, TeacherService teacherService,
                         LessonService lessonService, UserRepository userRepository,
                         StudentService studentService, LessonRepository lessonRepository,
                         MessageRepository messageRepository, StudyMaterialRepository studyMaterialRepository,
-                        UserUtils userUtils) {
+                        StudyMaterialService studyMaterialService, UserUtils userUtils,
+                        ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
         this.teacherService = teacherService;
         this.lessonService = lessonService;
@@ -42,7 +51,9 @@ public class StudentFacade {
         this.lessonRepository = lessonRepository;
         this.messageRepository = messageRepository;
         this.studyMaterialRepository = studyMaterialRepository;
+        this.studyMaterialService = studyMaterialService;
         this.userUtils = userUtils;
+        this.eventPublisher = eventPublisher;
     }
 
     public String prepareHomePage(Model model) {
@@ -66,15 +77,15 @@ public class StudentFacade {
 
     public String prepareLessonsPage(Model model) {
         Long studentId = userUtils.getCurrentStudentId();
-        List<Lesson> upcoming = lessonService.getUpcomingForStudent(studentId);
-        List<Lesson> past = lessonService.getPastForStudent(studentId);
+        List<LessonSummary> upcoming = lessonService.getUpcomingForStudent(studentId);
+        List<LessonSummary> past = lessonService.getPastForStudent(studentId);
         model.addAttribute("upcoming", upcoming);
         model.addAttribute("past", past);
         return "student/my-lessons";
     }
 
     public String prepareTeacherProfile(Long teacherId, Model model) {
-        Teacher teacher = teacherService.getTeacherProfile(teacherId);
+        TeacherSummary teacher = teacherService.getTeacherProfile(teacherId);
         if (teacher == null) {
             throw new IllegalArgumentException("Teacher not found");
         }
@@ -86,7 +97,7 @@ public class StudentFacade {
     }
 
     public String prepareLessonRequestForm(Long teacherId, Long courseId, Model model) {
-        Teacher teacher = teacherService.getTeacherProfile(teacherId);
+        TeacherSummary teacher = teacherService.getTeacherProfile(teacherId);
         List<Course> teacherCourses = teacherService.getTeachableCourses(teacherId);
         model.addAttribute("teacher", teacher);
         model.addAttribute("teacherCourses", teacherCourses);
@@ -193,13 +204,12 @@ public class StudentFacade {
     }
 
     public ResponseEntity<byte[]> downloadMaterial(Long materialId) {
-        StudyMaterial material = studyMaterialRepository.findById(materialId)
-                .orElseThrow(() -> new IllegalArgumentException("Material not found"));
+        MaterialContent material = studyMaterialService.getMaterialContent(materialId);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + material.getFileName() + "\"")
-                .body(material.getFileData());
+                        "attachment; filename=\"" + material.fileName() + "\"")
+                .body(material.data());
     }
 
     public String prepareProfilePage(Model model) {
@@ -283,6 +293,7 @@ public class StudentFacade {
         }
 
         userRepository.save(student);
+        eventPublisher.publishEvent(UserChangedEvent.of(student));
         return "redirect:/student/profile?success=1";
     }
 
@@ -1,12 +1,18 @@
 package io.jos.onlinelearningplatform.facade;
 
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.MaterialContent;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
+import io.jos.onlinelearningplatform.event.LessonChangedEvent;
 import io.jos.onlinelearningplatform.model.*;
 import io.jos.onlinelearningplatform.repository.LessonRepository;
 import io.jos.onlinelearningplatform.repository.MessageRepository;
 import io.jos.onlinelearningplatform.repository.StudyMaterialRepository;
 import io.jos.onlinelearningplatform.repository.UserRepository;
+import io.jos.onlinelearningplatform.service.StudyMaterialService;
 import io.jos.onlinelearningplatform.service.TeacherService;
 import io.jos.onlinelearningplatform.util.UserUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -24,18 +30,23 @@ public class TeacherFacade {
     private final LessonRepository lessonRepository;
     private final MessageRepository messageRepository;
     private final StudyMaterialRepository studyMaterialRepository;
+    private final StudyMaterialService studyMaterialService;
     private final UserRepository userRepository;
     private final UserUtils userUtils;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TeacherFacade(TeacherService teacherService, LessonRepository lessonRepository,
                         MessageRepository messageRepository, StudyMaterialRepository studyMaterialRepository,
-                        UserRepository userRepository, UserUtils userUtils) {
+                        StudyMaterialService studyMaterialService, UserRepository userRepository,
+                        UserUtils userUtils, ApplicationEventPublisher eventPublisher) {
         this.teacherService = teacherService;
         this.lessonRepository = lessonRepository;
         this.messageRepository = messageRepository;
         this.studyMaterialRepository = studyMaterialRepository;
+        this.studyMaterialService = studyMaterialService;
         this.userRepository = userRepository;
         this.userUtils = userUtils;
+        this.eventPublisher = eventPublisher;
     }
 
     public String prepareHomePage(Model model) {
@@ -56,8 +67,8 @@ public class TeacherFacade {
 
     public String prepareLessonsPage(Model model) {
         Long teacherId = userUtils.getCurrentTeacherId();
-        List<Lesson> upcoming = teacherService.getUpcomingLessonsForTeacher(teacherId);
-        List<Lesson> past = teacherService.getPastLessonsForTeacher(teacherId);
+        List<LessonSummary> upcoming = teacherService.getUpcomingLessonsForTeacher(teacherId);
+        List<LessonSummary> past = teacherService.getPastLessonsForTeacher(teacherId);
 
         model.addAttribute("upcoming", upcoming);
         model.addAttribute("past", past);
@@ -71,7 +82,7 @@ public class TeacherFacade {
     public String prepareProfilePage(Model model) {
         Long teacherId = userUtils.getCurrentTeacherId();
 
-        Teacher teacher = teacherService.getTeacherProfile(teacherId);
+        TeacherSummary teacher = teacherService.getTeacherProfile(teacherId);
         List<Course> current = teacherService.getTeachableCourses(teacherId);
         List<Course> all = teacherService.getAvailableCourses();
 
@@ -104,6 +115,7 @@ public class TeacherFacade {
         Lesson lesson = lessonRepository.findById(lessonId).orElseThrow();
         lesson.setStatus("REJECTED");
         lessonRepository.save(lesson);
+        eventPublisher.publishEvent(LessonChangedEvent.of(lesson));
         return "redirect:/home?rejected";
     }
 
@@ -152,7 +164,7 @@ public class TeacherFacade {
 
         Message message = new Message();
         message.setLesson(lesson);
-        message.setSender(teacherService.getTeacherProfile(userUtils.getCurrentTeacherId()));
+        message.setSender(userRepository.getReferenceById(userUtils.getCurrentTeacherId()));
         message.setContent(content);
         messageRepository.save(message);
 
@@ -172,7 +184,7 @@ public class TeacherFacade {
         try {
             StudyMaterial material = new StudyMaterial();
             material.setLesson(lesson);
-            material.setUploader(teacherService.getTeacherProfile(userUtils.getCurrentTeacherId()));
+            material.setUploader(userRepository.getReferenceById(userUtils.getCurrentTeacherId()));
             material.setFileName(file.getOriginalFilename());
             material.setFileSize(file.getSize());
             material.setDescription(description);
@@ -187,13 +199,12 @@ public class TeacherFacade {
     }
 
     public ResponseEntity<byte[]> downloadMaterial(Long materialId) {
-        StudyMaterial material = studyMaterialRepository.findById(materialId)
-                .orElseThrow(() -> new IllegalArgumentException("Material not found"));
+        MaterialContent material = studyMaterialService.getMaterialContent(materialId);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + material.getFileName() + "\"")
-                .body(material.getFileData());
+                        "attachment; filename=\"" + material.fileName() + "\"")
+                .body(material.data());
     }
 
     public String prepareStudentProfile(Long studentId, Model model) {
@@ -1,6 +1,9 @@
 package io.jos.onlinelearningplatform.model;
 
+import io.jos.onlinelearningplatform.cache.SecondLevelCache;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,6 +11,8 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 import java.util.List;
 
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCache.COURSES)
 @Entity
 @Table(name = "courses")
 @Data
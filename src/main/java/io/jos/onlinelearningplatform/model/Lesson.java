@@ -9,8 +9,13 @@ import java.util.List;
 
 @Getter @Setter
 @Entity
+// Everything the lesson lists show, loaded with the lessons instead of one SELECT per row
+@NamedEntityGraph(name = Lesson.WITH_PARTICIPANTS, attributeNodes = {
+        @NamedAttributeNode("course"), @NamedAttributeNode("teacher"), @NamedAttributeNode("student")})
 public class Lesson {
 
+    public static final String WITH_PARTICIPANTS = "Lesson.withParticipants";
+
 
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -1,10 +1,15 @@
 package io.jos.onlinelearningplatform.model;
 
+import io.jos.onlinelearningplatform.cache.SecondLevelCache;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCache.TEACHER_COURSES)
 @Entity
 @Table(name = "teacher_courses")
 @Data
@@ -1,12 +1,21 @@
 package io.jos.onlinelearningplatform.repository;
 
+import io.jos.onlinelearningplatform.cache.SecondLevelCache;
 import io.jos.onlinelearningplatform.model.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
+    // Course list of the search, profile and admin pages, served from the query cache
+    @Override
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCache.COURSE_QUERIES)})
+    List<Course> findAll();
 }
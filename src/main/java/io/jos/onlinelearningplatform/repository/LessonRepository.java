@@ -1,6 +1,14 @@
 package io.jos.onlinelearningplatform.repository;
 
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.StatusCount;
+import io.jos.onlinelearningplatform.model.Course;
 import io.jos.onlinelearningplatform.model.Lesson;
+import io.jos.onlinelearningplatform.model.Student;
+import io.jos.onlinelearningplatform.model.Teacher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,53 +17,167 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
+// List queries load course, teacher and student with the lessons (Lesson.WITH_PARTICIPANTS),
+// since every list page shows them. The read-only list pages use the *Summaries queries instead,
+// which select only the shown columns into LessonSummary rows and leave nothing managed.
+// The profile pages count, group and limit in the database, so they cost the size of their result.
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
 
+    String SUMMARY = "SELECT new io.jos.onlinelearningplatform.dto.LessonSummary(" +
+                     "l.id, l.description, l.timestamp, l.status, c.id, c.title, t.id, t.username, s.id, s.username) " +
+                     "FROM Lesson l LEFT JOIN l.course c LEFT JOIN l.teacher t LEFT JOIN l.student s ";
+
+    @Override
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
+    List<Lesson> findAll();
+
+    @Override
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
+    Page<Lesson> findAll(Pageable pageable);
+
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.teacher.id = :teacherId AND l.timestamp >= :now ORDER BY l.timestamp ASC")
     List<Lesson> findUpcomingByTeacher(@Param("teacherId") Long teacherId,
                                        @Param("now") LocalDateTime now);
 
+    // Lessons in [from, until) with course, teacher and student loaded in the same query, for cache warm-up
+    @Query("SELECT l FROM Lesson l JOIN FETCH l.course LEFT JOIN FETCH l.teacher LEFT JOIN FETCH l.student " +
+           "WHERE l.timestamp >= :from AND l.timestamp < :until ORDER BY l.timestamp ASC, l.id ASC")
+    List<Lesson> findUpcomingWithParticipants(@Param("from") LocalDateTime from,
+                                              @Param("until") LocalDateTime until,
+                                              Pageable pageable);
+
     @Query("SELECT COUNT(l) FROM Lesson l WHERE l.teacher.id = :teacherId")
     int countByTeacherId(@Param("teacherId") Long teacherId);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.teacher.id = :teacherId")
     List<Lesson> findByTeacherId(@Param("teacherId") Long teacherId);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.teacher.id = :teacherId AND l.status = :status")
     List<Lesson> findByTeacherIdAndStatus(@Param("teacherId") Long teacherId, @Param("status") String status);
 
     @Query("SELECT COUNT(l) FROM Lesson l WHERE l.teacher.id = :teacherId AND l.status = :status")
     int countByTeacherIdAndStatus(@Param("teacherId") Long teacherId, @Param("status") String status);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.student.id = :studentId AND l.status IN :statuses AND l.timestamp >= :from ORDER BY l.timestamp ASC")
     List<Lesson> findByStudent_IdAndStatusInAndTimestampGreaterThanEqualOrderByTimestampAsc(
             @Param("studentId") Long studentId, @Param("statuses") Collection<String> statuses, @Param("from") LocalDateTime from);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.student.id = :studentId AND l.status IN :statuses AND l.timestamp < :before ORDER BY l.timestamp DESC")
     List<Lesson> findByStudent_IdAndStatusInAndTimestampLessThanOrderByTimestampDesc(
             @Param("studentId") Long studentId, @Param("statuses") Collection<String> statuses, @Param("before") LocalDateTime before);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.student.id = :studentId AND l.status = :status ORDER BY l.timestamp DESC")
     List<Lesson> findByStudent_IdAndStatusOrderByTimestampDesc(@Param("studentId") Long studentId, @Param("status") String status);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.teacher.id = :teacherId AND l.timestamp BETWEEN :start AND :end ORDER BY l.timestamp ASC")
     List<Lesson> findByTeacherIdAndTimestampBetweenOrderByTimestampAsc(@Param("teacherId") Long teacherId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.student.id = :studentId AND l.timestamp BETWEEN :start AND :end ORDER BY l.timestamp ASC")
     List<Lesson> findByStudentIdAndTimestampBetweenOrderByTimestampAsc(@Param("studentId") Long studentId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.student.id = :studentId AND l.timestamp > :now ORDER BY l.timestamp ASC")
     List<Lesson> findUpcomingByStudent(@Param("studentId") Long studentId, @Param("now") LocalDateTime now);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.teacher.id = :teacherId AND l.timestamp < :now ORDER BY l.timestamp DESC")
     List<Lesson> findPastByTeacher(@Param("teacherId") Long teacherId, @Param("now") LocalDateTime now);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.course.id = :courseId ORDER BY l.timestamp DESC")
     List<Lesson> findByCourseIdOrderByTimestampDesc(@Param("courseId") Long courseId);
 
     @Query("SELECT COUNT(l) FROM Lesson l WHERE l.status = :status")
     long countByStatus(@Param("status") String status);
 
+    @EntityGraph(Lesson.WITH_PARTICIPANTS)
     @Query("SELECT l FROM Lesson l WHERE l.teacher.id = :teacherId AND l.student.id = :studentId ORDER BY l.timestamp DESC")
     List<Lesson> findByTeacherIdAndStudentIdOrderByTimestampDesc(@Param("teacherId") Long teacherId, @Param("studentId") Long studentId);
+
+    @Query(value = SUMMARY, countQuery = "SELECT COUNT(l) FROM Lesson l")
+    Page<LessonSummary> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE t.id = :teacherId AND l.timestamp >= :now ORDER BY l.timestamp ASC")
+    List<LessonSummary> findUpcomingSummariesByTeacher(@Param("teacherId") Long teacherId, @Param("now") LocalDateTime now);
+
+    // Upcoming lessons from the earliest, as many as the pageable asks for
+    @Query(SUMMARY + "WHERE t.id = :teacherId AND l.timestamp >= :now ORDER BY l.timestamp ASC, l.id ASC")
+    List<LessonSummary> findNextSummariesByTeacher(@Param("teacherId") Long teacherId, @Param("now") LocalDateTime now,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY + "WHERE s.id = :studentId AND l.timestamp > :now ORDER BY l.timestamp ASC, l.id ASC")
+    List<LessonSummary> findNextSummariesByStudent(@Param("studentId") Long studentId, @Param("now") LocalDateTime now,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY + "WHERE t.id = :teacherId AND l.timestamp < :now ORDER BY l.timestamp DESC")
+    List<LessonSummary> findPastSummariesByTeacher(@Param("teacherId") Long teacherId, @Param("now") LocalDateTime now);
+
+    @Query(SUMMARY + "WHERE s.id = :studentId AND l.status IN :statuses AND l.timestamp >= :from ORDER BY l.timestamp ASC")
+    List<LessonSummary> findUpcomingSummariesByStudent(@Param("studentId") Long studentId,
+                                                       @Param("statuses") Collection<String> statuses,
+                                                       @Param("from") LocalDateTime from);
+
+    // Lessons in the given statuses before the given time, plus those in the closed status at any time
+    @Query(SUMMARY + "WHERE s.id = :studentId AND ((l.status IN :statuses AND l.timestamp < :before) OR l.status = :closedStatus) " +
+           "ORDER BY l.timestamp DESC")
+    List<LessonSummary> findPastSummariesByStudent(@Param("studentId") Long studentId,
+                                                   @Param("statuses") Collection<String> statuses,
+                                                   @Param("before") LocalDateTime before,
+                                                   @Param("closedStatus") String closedStatus);
+
+    // Most recent first, as many as the pageable asks for
+    @Query(SUMMARY + "ORDER BY l.timestamp DESC, l.id DESC")
+    List<LessonSummary> findRecentSummaries(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE t.id = :teacherId ORDER BY l.timestamp DESC, l.id DESC")
+    List<LessonSummary> findRecentSummariesByTeacher(@Param("teacherId") Long teacherId, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE s.id = :studentId ORDER BY l.timestamp DESC, l.id DESC")
+    List<LessonSummary> findRecentSummariesByStudent(@Param("studentId") Long studentId, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE c.id = :courseId ORDER BY l.timestamp DESC, l.id DESC")
+    List<LessonSummary> findRecentSummariesByCourse(@Param("courseId") Long courseId, Pageable pageable);
+
+    @Query("SELECT new io.jos.onlinelearningplatform.dto.StatusCount(l.status, COUNT(l)) FROM Lesson l " +
+           "WHERE l.teacher.id = :teacherId GROUP BY l.status")
+    List<StatusCount> countStatusesByTeacherId(@Param("teacherId") Long teacherId);
+
+    @Query("SELECT new io.jos.onlinelearningplatform.dto.StatusCount(l.status, COUNT(l)) FROM Lesson l " +
+           "WHERE l.student.id = :studentId GROUP BY l.status")
+    List<StatusCount> countStatusesByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT new io.jos.onlinelearningplatform.dto.StatusCount(l.status, COUNT(l)) FROM Lesson l " +
+           "WHERE l.course.id = :courseId GROUP BY l.status")
+    List<StatusCount> countStatusesByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT DISTINCT s FROM Lesson l JOIN l.student s WHERE l.teacher.id = :teacherId ORDER BY s.username")
+    List<Student> findStudentsByTeacherId(@Param("teacherId") Long teacherId);
+
+    @Query("SELECT DISTINCT s FROM Lesson l JOIN l.student s WHERE l.course.id = :courseId ORDER BY s.username")
+    List<Student> findStudentsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT DISTINCT t FROM Lesson l JOIN l.teacher t WHERE l.student.id = :studentId ORDER BY t.username")
+    List<Teacher> findTeachersByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT DISTINCT t FROM Lesson l JOIN l.teacher t WHERE l.course.id = :courseId ORDER BY t.username")
+    List<Teacher> findTeachersByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT DISTINCT c FROM Lesson l JOIN l.course c WHERE l.student.id = :studentId ORDER BY c.title")
+    List<Course> findCoursesByStudentId(@Param("studentId") Long studentId);
+
+    // Rows of (kind, name, count): users by type, lessons by status and the number of courses,
+    // so the admin dashboards need one round trip
+    @Query(value = "SELECT 'USER' AS kind, user_type AS name, COUNT(*) AS total FROM users GROUP BY user_type " +
+                   "UNION ALL SELECT 'LESSON', status, COUNT(*) FROM lesson GROUP BY status " +
+                   "UNION ALL SELECT 'COURSE', NULL, COUNT(*) FROM courses",
+           nativeQuery = true)
+    List<Object[]> countRowsByKind();
 }
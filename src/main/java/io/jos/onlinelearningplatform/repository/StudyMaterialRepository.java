@@ -1,5 +1,6 @@
 package io.jos.onlinelearningplatform.repository;
 
+import io.jos.onlinelearningplatform.dto.MaterialContent;
 import io.jos.onlinelearningplatform.model.StudyMaterial;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -7,10 +8,16 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface StudyMaterialRepository extends JpaRepository<StudyMaterial, Long> {
 
     @Query("SELECT sm FROM StudyMaterial sm WHERE sm.lesson.id = :lessonId ORDER BY sm.uploadedAt DESC")
     List<StudyMaterial> findByLessonIdOrderByUploadedAtDesc(@Param("lessonId") Long lessonId);
-}
\ No newline at end of file
+
+    // File name and content only, for downloads
+    @Query("SELECT new io.jos.onlinelearningplatform.dto.MaterialContent(sm.id, sm.fileName, sm.fileData) " +
+           "FROM StudyMaterial sm WHERE sm.id = :materialId")
+    Optional<MaterialContent> findContentById(@Param("materialId") Long materialId);
+}
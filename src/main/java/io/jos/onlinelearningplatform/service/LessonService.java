@@ -1,5 +1,6 @@
 package io.jos.onlinelearningplatform.service;
 
+import io.jos.onlinelearningplatform.dto.LessonSummary;
 import io.jos.onlinelearningplatform.model.Lesson;
 import io.jos.onlinelearningplatform.model.Student;
 import io.jos.onlinelearningplatform.model.Teacher;
@@ -9,7 +10,7 @@ import java.util.List;
 
 public interface LessonService {
     Lesson requestLesson(Long studentId, Long teacherId, Long courseId, LocalDateTime timestamp);
-    List<Lesson> getUpcomingForStudent(Long studentId);
-    List<Lesson> getPastForStudent(Long studentId);
+    List<LessonSummary> getUpcomingForStudent(Long studentId);
+    List<LessonSummary> getPastForStudent(Long studentId);
     List<Lesson> getAllLessonsForStudent(Long studentId);
 }
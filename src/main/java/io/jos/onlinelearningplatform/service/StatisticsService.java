@@ -0,0 +1,9 @@
+package io.jos.onlinelearningplatform.service;
+
+import io.jos.onlinelearningplatform.dto.PlatformStatistics;
+
+public interface StatisticsService {
+    PlatformStatistics getStatistics();
+    PlatformStatistics refresh();
+    void invalidate();
+}
@@ -1,6 +1,6 @@
 package io.jos.onlinelearningplatform.service;
 
-import io.jos.onlinelearningplatform.model.Lesson;
+import io.jos.onlinelearningplatform.dto.LessonSummary;
 import io.jos.onlinelearningplatform.model.Schedule;
 
 import java.time.LocalDateTime;
@@ -10,5 +10,5 @@ public interface StudentService {
     List<Schedule> getStudentSchedule(Long studentId);
     List<Schedule> getUpcomingSchedule(Long studentId);
     List<Schedule> getSchedulesForMonth(Long studentId, LocalDateTime start, LocalDateTime end);
-    Lesson getNextLesson(Long studentId);
+    LessonSummary getNextLesson(Long studentId);
 }
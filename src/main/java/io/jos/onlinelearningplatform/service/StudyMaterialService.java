@@ -1,5 +1,6 @@
 package io.jos.onlinelearningplatform.service;
 
+import io.jos.onlinelearningplatform.dto.MaterialContent;
 import io.jos.onlinelearningplatform.model.StudyMaterial;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -11,4 +12,5 @@ public interface StudyMaterialService {
     StudyMaterial getMaterialById(Long materialId);
     void deleteMaterial(Long materialId);
     byte[] downloadMaterial(Long materialId);
+    MaterialContent getMaterialContent(Long materialId);
 }
\ No newline at end of file
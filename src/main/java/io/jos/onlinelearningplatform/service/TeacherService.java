@@ -1,5 +1,7 @@
 package io.jos.onlinelearningplatform.service;
 
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
 import io.jos.onlinelearningplatform.model.Course;
 import io.jos.onlinelearningplatform.model.Lesson;
 import io.jos.onlinelearningplatform.model.Schedule;
@@ -19,15 +21,15 @@ public interface TeacherService {
     List<Lesson> getAcceptedLessons(Long teacherId);
     List<Lesson> getPendingLessons(Long teacherId);
     int countPendingLessons(Long teacherId);
-    Teacher getTeacherProfile(Long teacherId);
-    Lesson getNextLesson(Long teacherId);
+    TeacherSummary getTeacherProfile(Long teacherId);
+    LessonSummary getNextLesson(Long teacherId);
     int getLessonCount(Long teacherId);
     List<Teacher> findTeachersByCourse(Long courseId);
     void acceptLesson(Long lessonId);
     List<Schedule> getTeacherSchedule(Long teacherId);
     List<Schedule> getUpcomingSchedule(Long teacherId);
     List<Schedule> getSchedulesForMonth(Long teacherId, LocalDateTime start, LocalDateTime end);
-    List<Lesson> getUpcomingLessonsForTeacher(Long teacherId);
-    List<Lesson> getPastLessonsForTeacher(Long teacherId);
+    List<LessonSummary> getUpcomingLessonsForTeacher(Long teacherId);
+    List<LessonSummary> getPastLessonsForTeacher(Long teacherId);
     List<Lesson> getLessonsWithStudent(Long teacherId, Long studentId);
 }
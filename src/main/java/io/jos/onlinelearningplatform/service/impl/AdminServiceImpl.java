@@ -1,5 +1,8 @@
 package io.jos.onlinelearningplatform.service.impl;
 
+import io.jos.onlinelearningplatform.cache.GlobalCacheService;
+import io.jos.onlinelearningplatform.event.CourseChangedEvent;
+import io.jos.onlinelearningplatform.event.UserChangedEvent;
 import io.jos.onlinelearningplatform.model.Course;
 import io.jos.onlinelearningplatform.model.Lesson;
 import io.jos.onlinelearningplatform.model.Student;
@@ -11,6 +14,8 @@ import io.jos.onlinelearningplatform.repository.UserRepository;
 import io.jos.onlinelearningplatform.service.AdminService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,13 +30,16 @@ public class AdminServiceImpl implements AdminService {
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final LessonRepository lessonRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdminServiceImpl(UserRepository userRepository,
                             CourseRepository courseRepository,
-                            LessonRepository lessonRepository) {
+                            LessonRepository lessonRepository,
+                            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.courseRepository = courseRepository;
         this.lessonRepository = lessonRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -106,14 +114,17 @@ public class AdminServiceImpl implements AdminService {
         course.setTitle(title);
         course.setDescription(description);
         courseRepository.save(course);
+        eventPublisher.publishEvent(CourseChangedEvent.of(course));
         logger.info("Successfully created course: {}", title);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = GlobalCacheService.TEACHABLE_COURSES, allEntries = true)
     public void deleteCourse(Long courseId) {
         logger.debug("Deleting course with ID: {}", courseId);
         courseRepository.deleteById(courseId);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
         logger.info("Successfully deleted course with ID: {}", courseId);
     }
 
@@ -126,6 +137,7 @@ public class AdminServiceImpl implements AdminService {
         boolean previousStatus = user.isActive();
         user.setActive(!user.isActive());
         userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(user));
         logger.info("Toggled user {} active status from {} to {}", userId, previousStatus, user.isActive());
     }
 }
\ No newline at end of file
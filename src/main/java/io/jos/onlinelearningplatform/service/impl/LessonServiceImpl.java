@@ -1,6 +1,8 @@
 // src/main/java/io/jos/onlinelearningplatform/service/impl/LessonServiceImpl.java
 package io.jos.onlinelearningplatform.service.impl;
 
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.event.LessonChangedEvent;
 import io.jos.onlinelearningplatform.model.*;
 import io.jos.onlinelearningplatform.repository.CourseRepository;
 import io.jos.onlinelearningplatform.repository.LessonRepository;
@@ -9,11 +11,10 @@ import io.jos.onlinelearningplatform.service.LessonService;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
@@ -25,11 +26,14 @@ public class LessonServiceImpl implements LessonService {
     private final LessonRepository lessonRepo;
     private final UserRepository userRepo;
     private final CourseRepository courseRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public LessonServiceImpl(LessonRepository lessonRepo, UserRepository userRepo, CourseRepository courseRepo) {
+    public LessonServiceImpl(LessonRepository lessonRepo, UserRepository userRepo, CourseRepository courseRepo,
+                             ApplicationEventPublisher eventPublisher) {
         this.lessonRepo = lessonRepo;
         this.userRepo = userRepo;
         this.courseRepo = courseRepo;
+        this.eventPublisher = eventPublisher;
     }
     @Override
     @Transactional
@@ -58,6 +62,8 @@ public class LessonServiceImpl implements LessonService {
         l.setTimestamp(timestamp);
         l.setStatus("PENDING");
         Lesson savedLesson = lessonRepo.save(l);
+        // A new request may now be the earliest upcoming lesson of either participant
+        eventPublisher.publishEvent(new LessonChangedEvent(savedLesson.getId(), teacherId, studentId));
 
         logger.info("Successfully created lesson request with ID: {} for student: {} and teacher: {}",
                    savedLesson.getId(), studentId, teacherId);
@@ -65,37 +71,25 @@ public class LessonServiceImpl implements LessonService {
     }
 
     @Override
-    public java.util.List<Lesson> getUpcomingForStudent(Long studentId) {
+    public List<LessonSummary> getUpcomingForStudent(Long studentId) {
         logger.debug("Getting upcoming lessons for student ID: {}", studentId);
         java.util.List<String> statuses = java.util.Arrays.asList("PENDING", "ACCEPTED");
         java.time.LocalDateTime today = java.time.LocalDate.now().atStartOfDay();
-        List<Lesson> lessons = lessonRepo.findByStudent_IdAndStatusInAndTimestampGreaterThanEqualOrderByTimestampAsc(studentId, statuses, today);
+        List<LessonSummary> lessons = lessonRepo.findUpcomingSummariesByStudent(studentId, statuses, today);
         logger.info("Found {} upcoming lessons for student ID: {}", lessons.size(), studentId);
         return lessons;
     }
 
     @Override
-    public java.util.List<Lesson> getPastForStudent(Long studentId) {
+    public List<LessonSummary> getPastForStudent(Long studentId) {
         logger.debug("Getting past lessons for student ID: {}", studentId);
         LocalDateTime today = java.time.LocalDate.now().atStartOfDay();
 
-        // accepted lessons that already happened
+        // accepted lessons that already happened, and any rejected lesson (any date)
         java.util.List<String> acceptedOnly = java.util.Collections.singletonList("ACCEPTED");
-        java.util.List<Lesson> acceptedPast =
-                lessonRepo.findByStudent_IdAndStatusInAndTimestampLessThanOrderByTimestampDesc(
-                        studentId, acceptedOnly, today
-                );
+        List<LessonSummary> out = lessonRepo.findPastSummariesByStudent(studentId, acceptedOnly, today, "REJECTED");
 
-        // any rejected lesson (any date)
-        List<Lesson> rejectedAnyTimestamp =
-                lessonRepo.findByStudent_IdAndStatusOrderByTimestampDesc(studentId, "REJECTED");
-
-        List<Lesson> out = new ArrayList<>(acceptedPast);
-        out.addAll(rejectedAnyTimestamp);
-        out.sort(Comparator.comparing(Lesson::getTimestamp).reversed());
-
-        logger.info("Found {} past lessons for student ID: {} ({} accepted past, {} rejected)",
-                   out.size(), studentId, acceptedPast.size(), rejectedAnyTimestamp.size());
+        logger.info("Found {} past lessons for student ID: {}", out.size(), studentId);
         return out;
     }
 
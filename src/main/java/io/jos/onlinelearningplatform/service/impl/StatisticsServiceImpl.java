@@ -0,0 +1,147 @@
+package io.jos.onlinelearningplatform.service.impl;
+
+import io.jos.onlinelearningplatform.cache.CacheProperties;
+import io.jos.onlinelearningplatform.dto.PlatformStatistics;
+import io.jos.onlinelearningplatform.event.CourseChangedEvent;
+import io.jos.onlinelearningplatform.event.LessonChangedEvent;
+import io.jos.onlinelearningplatform.event.UserChangedEvent;
+import io.jos.onlinelearningplatform.repository.LessonRepository;
+import io.jos.onlinelearningplatform.service.StatisticsService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the admin dashboard counts in memory, so viewing a dashboard costs no query at all.
+ * <p>
+ * The counts are loaded by one grouped query on first use and dropped once a lesson, user
+ * or course change is committed, so the next view reloads them. When enabled they are also
+ * reloaded every interval on a background thread, which bounds how stale writes made on
+ * other nodes leave them. A load racing an invalidation is returned but not kept.
+ */
+@Service
+public class StatisticsServiceImpl implements StatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsServiceImpl.class);
+
+    private final LessonRepository lessonRepository;
+    private final CacheProperties.Statistics config;
+    // Incremented by every invalidation
+    private final AtomicLong version = new AtomicLong();
+    // Null until loaded and after an invalidation
+    private volatile PlatformStatistics snapshot;
+    private ScheduledExecutorService scheduler;
+
+    public StatisticsServiceImpl(LessonRepository lessonRepository, CacheProperties properties) {
+        this.lessonRepository = lessonRepository;
+        this.config = properties.getStatistics();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "statistics-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshSafely, 0, interval, TimeUnit.MILLISECONDS);
+        logger.info("Refreshing admin statistics every {}", config.getInterval());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public PlatformStatistics getStatistics() {
+        PlatformStatistics current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    @Override
+    public PlatformStatistics refresh() {
+        long seen = version.get();
+        PlatformStatistics fresh = load();
+        synchronized (this) {
+            if (version.get() == seen) {
+                snapshot = fresh;
+            }
+        }
+        return fresh;
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLessonChanged(LessonChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        invalidate();
+    }
+
+    private PlatformStatistics load() {
+        logger.debug("Loading admin statistics");
+        Map<String, Long> usersByType = new HashMap<>();
+        Map<String, Long> lessonsByStatus = new HashMap<>();
+        long courses = 0;
+        List<Object[]> rows = lessonRepository.countRowsByKind();
+        for (Object[] row : rows) {
+            String kind = (String) row[0];
+            String name = (String) row[1];
+            long count = ((Number) row[2]).longValue();
+            switch (kind) {
+                case "USER" -> usersByType.put(name, count);
+                // A lesson without a status still counts towards the total
+                case "LESSON" -> lessonsByStatus.merge(name == null ? "" : name, count, Long::sum);
+                case "COURSE" -> courses = count;
+                default -> logger.warn("Ignoring statistics row of unknown kind {}", kind);
+            }
+        }
+        PlatformStatistics statistics = new PlatformStatistics(usersByType, lessonsByStatus, courses, Instant.now());
+        logger.debug("Loaded admin statistics: {} users, {} lessons, {} courses",
+                statistics.totalUsers(), statistics.totalLessons(), courses);
+        return statistics;
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // The previous counts, if any, are still served
+            logger.warn("Refreshing admin statistics failed", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.jos.onlinelearningplatform.service.impl;
 
 import io.jos.onlinelearningplatform.cache.GlobalCacheService;
+import io.jos.onlinelearningplatform.dto.LessonSummary;
 import io.jos.onlinelearningplatform.model.Lesson;
 import io.jos.onlinelearningplatform.model.Schedule;
 import io.jos.onlinelearningplatform.repository.LessonRepository;
@@ -9,7 +10,10 @@ import io.jos.onlinelearningplatform.service.StudentService;
 import io.jos.onlinelearningplatform.util.ScheduleUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,6 +22,8 @@ import java.util.List;
 public class StudentServiceImpl implements StudentService {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentServiceImpl.class);
+    // The next lesson is the first upcoming one
+    private static final Pageable NEXT_LESSON = PageRequest.of(0, 1);
 
     private final ScheduleRepository scheduleRepository;
     private final LessonRepository lessonRepository;
@@ -59,35 +65,26 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
-    public Lesson getNextLesson(Long studentId) {
+    @Transactional(readOnly = true)
+    public LessonSummary getNextLesson(Long studentId) {
         logger.debug("Getting next lesson for student ID: {}", studentId);
-        String cacheKey = studentId + "_next";
-
-        // Check global cache first for lesson
-        Lesson cached = globalCache.getLesson(cacheKey, Lesson.class);
-        if (cached != null) {
-            logger.debug("Found next lesson in cache for student ID: {}", studentId);
-            logger.info("Retrieved next lesson from cache for student ID: {} - lesson at {}",
-                       studentId, cached.getTimestamp());
-            return cached;
-        }
-
-        // If not in cache, fetch from database
-        logger.debug("Next lesson not in cache, fetching from database for student ID: {}", studentId);
-        List<Lesson> upcomingLessons = lessonRepository.findUpcomingByStudent(studentId, LocalDateTime.now());
-        Lesson nextLesson = upcomingLessons.stream().findFirst().orElse(null);
-
-        // Store in global cache
+        // Stop serving a lesson from the cache the moment it starts; students without one are cached as absent
+        LessonSummary nextLesson = globalCache.nextLessons().get(studentId, this::loadNextLesson, LessonSummary::timestamp);
         if (nextLesson != null) {
-            globalCache.putLesson(cacheKey, nextLesson);
             // Add null check for teacher
-            String teacherInfo = nextLesson.getTeacher() != null ? nextLesson.getTeacher().getUsername() : "Unknown Teacher";
-            logger.info("Found and cached next lesson for student ID: {} - lesson at {} with teacher: {}",
-                       studentId, nextLesson.getTimestamp(), teacherInfo);
+            String teacherInfo = nextLesson.teacher() != null ? nextLesson.teacher().username() : "Unknown Teacher";
+            logger.info("Returning next lesson for student ID: {} - lesson at {} with teacher: {}",
+                       studentId, nextLesson.timestamp(), teacherInfo);
         } else {
             logger.info("No upcoming lessons found for student ID: {}", studentId);
         }
-
         return nextLesson;
     }
+
+    private LessonSummary loadNextLesson(Long studentId) {
+        logger.debug("Next lesson not in cache, fetching from database for student ID: {}", studentId);
+        // Projected straight into a summary, one row at most
+        return lessonRepository.findNextSummariesByStudent(studentId, LocalDateTime.now(), NEXT_LESSON)
+                .stream().findFirst().orElse(null);
+    }
 }
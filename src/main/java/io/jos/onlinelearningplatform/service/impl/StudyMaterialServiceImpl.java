@@ -1,5 +1,8 @@
 package io.jos.onlinelearningplatform.service.impl;
 
+import io.jos.onlinelearningplatform.cache.CacheInvalidator;
+import io.jos.onlinelearningplatform.cache.MaterialContentCache;
+import io.jos.onlinelearningplatform.dto.MaterialContent;
 import io.jos.onlinelearningplatform.model.Lesson;
 import io.jos.onlinelearningplatform.model.StudyMaterial;
 import io.jos.onlinelearningplatform.model.User;
@@ -23,13 +26,19 @@ public class StudyMaterialServiceImpl implements StudyMaterialService {
     private final StudyMaterialRepository studyMaterialRepository;
     private final LessonRepository lessonRepository;
     private final UserRepository userRepository;
+    private final MaterialContentCache materialCache;
+    private final CacheInvalidator cacheInvalidator;
 
     public StudyMaterialServiceImpl(StudyMaterialRepository studyMaterialRepository,
                                    LessonRepository lessonRepository,
-                                   UserRepository userRepository) {
+                                   UserRepository userRepository,
+                                   MaterialContentCache materialCache,
+                                   CacheInvalidator cacheInvalidator) {
         this.studyMaterialRepository = studyMaterialRepository;
         this.lessonRepository = lessonRepository;
         this.userRepository = userRepository;
+        this.materialCache = materialCache;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Override
@@ -86,6 +95,7 @@ public class StudyMaterialServiceImpl implements StudyMaterialService {
         try {
             // Use delete(entity) instead of deleteById() to match test expectations
             studyMaterialRepository.delete(material);
+            cacheInvalidator.invalidateMaterial(materialId);
             logger.info("Successfully deleted study material with ID: {} (filename: {})", materialId, material.getFileName());
         } catch (Exception e) {
             logger.error("Error deleting study material with ID: {}", materialId, e);
@@ -97,17 +107,23 @@ public class StudyMaterialServiceImpl implements StudyMaterialService {
     public byte[] downloadMaterial(Long materialId) {
         logger.debug("Downloading study material with ID: {}", materialId);
 
-        StudyMaterial material = studyMaterialRepository.findById(materialId)
-                .orElseThrow(() -> new IllegalArgumentException("Study material not found"));
+        MaterialContent material = getMaterialContent(materialId);
 
-        if (material.getFileData() == null || material.getFileData().length == 0) {
+        if (material.length() == 0) {
             logger.warn("File data not available for material ID: {}", materialId);
             throw new IllegalStateException("File data not available for material ID: " + materialId);
         }
 
         logger.info("Successfully retrieved file data for material: {} (size: {} bytes)",
-                   material.getFileName(), material.getFileData().length);
-        return material.getFileData();
+                   material.fileName(), material.length());
+        return material.data();
+    }
+
+    @Override
+    public MaterialContent getMaterialContent(Long materialId) {
+        // A delete evicts the id, which also keeps a download that read the content just before it from caching it
+        return materialCache.get(materialId, id -> studyMaterialRepository.findContentById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Study material not found")));
     }
 
     @Override
@@ -1,12 +1,20 @@
 package io.jos.onlinelearningplatform.service.impl;
 
 import io.jos.onlinelearningplatform.cache.GlobalCacheService;
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
+import io.jos.onlinelearningplatform.event.LessonChangedEvent;
 import io.jos.onlinelearningplatform.model.*;
 import io.jos.onlinelearningplatform.repository.*;
 import io.jos.onlinelearningplatform.service.TeacherService;
 import io.jos.onlinelearningplatform.util.ScheduleUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,20 +26,24 @@ import java.util.stream.Collectors;
 @Service
 public class TeacherServiceImpl implements TeacherService {
     private static final Logger logger = LoggerFactory.getLogger(TeacherServiceImpl.class);
+    // The next lesson is the first upcoming one
+    private static final Pageable NEXT_LESSON = PageRequest.of(0, 1);
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final LessonRepository lessonRepository;
     private final TeacherCourseRepository teacherCourseRepository;
     private final ScheduleRepository scheduleRepository;
     private final GlobalCacheService globalCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TeacherServiceImpl(UserRepository userRepository, CourseRepository courseRepository, LessonRepository lessonRepository, TeacherCourseRepository teacherCourseRepository, ScheduleRepository scheduleRepository, GlobalCacheService globalCache) {
+    public TeacherServiceImpl(UserRepository userRepository, CourseRepository courseRepository, LessonRepository lessonRepository, TeacherCourseRepository teacherCourseRepository, ScheduleRepository scheduleRepository, GlobalCacheService globalCache, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.courseRepository = courseRepository;
         this.lessonRepository = lessonRepository;
         this.teacherCourseRepository = teacherCourseRepository;
         this.scheduleRepository = scheduleRepository;
         this.globalCache = globalCache;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -65,16 +77,13 @@ public class TeacherServiceImpl implements TeacherService {
             throw new IllegalArgumentException("Invalid username");
         }
 
-        String cacheKey = "by_username_" + teacherName;
-
-        // Check global cache first for user
-        Teacher cached = globalCache.getUser(cacheKey, Teacher.class);
-        if (cached != null) {
-            logger.debug("Found teacher in cache for username: {}", teacherName);
-            logger.info("Returning cached teacher ID: {} for username: {}", cached.getId(), teacherName);
-            return cached.getId();
-        }
+        // Concurrent lookups of the same username share one query
+        Long teacherId = globalCache.teacherIds().get(teacherName, this::loadTeacherId);
+        logger.info("Returning teacher ID: {} for username: {}", teacherId, teacherName);
+        return teacherId;
+    }
 
+    private Long loadTeacherId(String teacherName) {
         User user = userRepository.findByUsername(teacherName)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with username: " + teacherName));
 
@@ -84,13 +93,8 @@ public class TeacherServiceImpl implements TeacherService {
             throw new IllegalArgumentException("User " + teacherName + " is not a teacher");
         }
 
-        Teacher teacher = (Teacher) user;
-
-        // Store user in global cache
-        globalCache.putUser(cacheKey, teacher);
-
-        logger.info("Found and cached teacher ID: {} for username: {}", teacher.getId(), teacherName);
-        return teacher.getId();
+        logger.debug("Loaded teacher ID: {} for username: {}", user.getId(), teacherName);
+        return user.getId();
     }
 
     @Override
@@ -103,6 +107,7 @@ public class TeacherServiceImpl implements TeacherService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = GlobalCacheService.TEACHABLE_COURSES, key = "#teacherId")
     public void addTeachableCourse(Long teacherId, Long courseId) {
         logger.debug("Adding teachable course - Teacher ID: {}, Course ID: {}", teacherId, courseId);
 
@@ -132,13 +137,16 @@ public class TeacherServiceImpl implements TeacherService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = GlobalCacheService.TEACHABLE_COURSES, key = "#teacherId")
     public void removeTeachableCourse(Long teacherId, Long courseId) {
         logger.debug("Removing teachable course - Teacher ID: {}, Course ID: {}", teacherId, courseId);
         teacherCourseRepository.deleteByTeacherIdAndCourseId(teacherId, courseId);
         logger.info("Successfully removed course ID: {} from teacher ID: {}", courseId, teacherId);
     }
 
+    // Courses have no lazy associations, so the detached entities are safe to share
     @Override
+    @Cacheable(cacheNames = GlobalCacheService.TEACHABLE_COURSES, key = "#teacherId", sync = true)
     public List<Course> getTeachableCourses(Long teacherId) {
         logger.debug("Getting teachable courses for teacher ID: {}", teacherId);
         List<Course> courses = teacherCourseRepository.findByTeacherId(teacherId).stream()
@@ -173,18 +181,17 @@ public class TeacherServiceImpl implements TeacherService {
     }
 
     @Override
-    public Teacher getTeacherProfile(Long teacherId) {
+    public TeacherSummary getTeacherProfile(Long teacherId) {
         logger.debug("Getting teacher profile for ID: {}", teacherId);
-        String cacheKey = "profile_" + teacherId;
-
-        // Check global cache first for user
-        Teacher cached = globalCache.getUser(cacheKey, Teacher.class);
-        if (cached != null) {
-            logger.debug("Found teacher profile in cache for ID: {}", teacherId);
-            logger.info("Returning cached profile for teacher ID: {}", teacherId);
-            return cached;
+        // Unknown ids and non-teachers are cached as absent too, for the region's negative TTL
+        TeacherSummary teacher = globalCache.teacherProfiles().get(teacherId, this::loadTeacherProfile);
+        if (teacher != null) {
+            logger.info("Returning profile for teacher: {} (ID: {})", teacher.username(), teacherId);
         }
+        return teacher;
+    }
 
+    private TeacherSummary loadTeacherProfile(Long teacherId) {
         User user = userRepository.findById(teacherId).orElse(null);
         if (user == null) {
             logger.warn("No user found with ID: {}", teacherId);
@@ -194,45 +201,33 @@ public class TeacherServiceImpl implements TeacherService {
             logger.warn("User with ID: {} is not a Teacher (type: {})", teacherId, user.getClass().getSimpleName());
             return null;
         }
-        Teacher teacher = (Teacher) user;
-
-        // Store user in global cache
-        globalCache.putUser(cacheKey, teacher);
-
-        logger.info("Retrieved and cached teacher profile for: {} (ID: {})", teacher.getUsername(), teacherId);
-        return teacher;
+        logger.debug("Loaded teacher profile for ID: {}", teacherId);
+        return TeacherSummary.of((Teacher) user);
     }
 
     @Override
-    public Lesson getNextLesson(Long teacherId) {
+    @Transactional(readOnly = true)
+    public LessonSummary getNextLesson(Long teacherId) {
         logger.debug("Getting next lesson for teacher ID: {}", teacherId);
-        String cacheKey = teacherId + "_next";
-
-        // Check global cache first for lesson
-        Lesson cached = globalCache.getLesson(cacheKey, Lesson.class);
-        if (cached != null) {
-            logger.debug("Found next lesson in cache for teacher ID: {}", teacherId);
-            logger.info("Returning cached next lesson for teacher ID: {} at {}", teacherId, cached.getTimestamp());
-            return cached;
-        }
-
-        List<Lesson> upcomingLessons = lessonRepository.findUpcomingByTeacher(teacherId, LocalDateTime.now());
-        Lesson nextLesson = upcomingLessons.stream().findFirst().orElse(null);
-
-        // Store lesson in global cache
+        // Stop serving a lesson from the cache the moment it starts; teachers without one are cached as absent
+        LessonSummary nextLesson = globalCache.nextLessons().get(teacherId, this::loadNextLesson, LessonSummary::timestamp);
         if (nextLesson != null) {
-            globalCache.putLesson(cacheKey, nextLesson);
             // Add null check for student
-            String studentInfo = nextLesson.getStudent() != null ? nextLesson.getStudent().getUsername() : "Unknown Student";
-            logger.info("Found and cached next lesson for teacher ID: {} at {} with student: {}",
-                       teacherId, nextLesson.getTimestamp(), studentInfo);
+            String studentInfo = nextLesson.student() != null ? nextLesson.student().username() : "Unknown Student";
+            logger.info("Returning next lesson for teacher ID: {} at {} with student: {}",
+                       teacherId, nextLesson.timestamp(), studentInfo);
         } else {
             logger.info("No upcoming lessons found for teacher ID: {}", teacherId);
         }
-
         return nextLesson;
     }
 
+    // Projected straight into a summary, one row at most
+    private LessonSummary loadNextLesson(Long teacherId) {
+        return lessonRepository.findNextSummariesByTeacher(teacherId, LocalDateTime.now(), NEXT_LESSON)
+                .stream().findFirst().orElse(null);
+    }
+
     @Override
     public int getLessonCount(Long teacherId) {
         logger.debug("Getting lesson count for teacher ID: {}", teacherId);
@@ -260,6 +255,7 @@ public class TeacherServiceImpl implements TeacherService {
                 .orElseThrow(() -> new IllegalArgumentException("Lesson not found: " + lessonId));
         lesson.setStatus("ACCEPTED");
         lessonRepository.save(lesson);
+        eventPublisher.publishEvent(LessonChangedEvent.of(lesson));
 
         // Add null check for student
         String studentInfo = lesson.getStudent() != null ? lesson.getStudent().getUsername() : "Unknown Student";
@@ -299,17 +295,17 @@ public class TeacherServiceImpl implements TeacherService {
     }
 
     @Override
-    public List<Lesson> getUpcomingLessonsForTeacher(Long teacherId) {
+    public List<LessonSummary> getUpcomingLessonsForTeacher(Long teacherId) {
         logger.debug("Getting upcoming lessons for teacher ID: {}", teacherId);
-        List<Lesson> lessons = lessonRepository.findUpcomingByTeacher(teacherId, LocalDateTime.now());
+        List<LessonSummary> lessons = lessonRepository.findUpcomingSummariesByTeacher(teacherId, LocalDateTime.now());
         logger.info("Found {} upcoming lessons for teacher ID: {}", lessons.size(), teacherId);
         return lessons;
     }
 
     @Override
-    public List<Lesson> getPastLessonsForTeacher(Long teacherId) {
+    public List<LessonSummary> getPastLessonsForTeacher(Long teacherId) {
         logger.debug("Getting past lessons for teacher ID: {}", teacherId);
-        List<Lesson> lessons = lessonRepository.findPastByTeacher(teacherId, LocalDateTime.now());
+        List<LessonSummary> lessons = lessonRepository.findPastSummariesByTeacher(teacherId, LocalDateTime.now());
         logger.info("Found {} past lessons for teacher ID: {}", lessons.size(), teacherId);
         return lessons;
     }
@@ -2,12 +2,14 @@ package io.jos.onlinelearningplatform.service.impl;
 
 import io.jos.onlinelearningplatform.factory.UserFactory;
 import io.jos.onlinelearningplatform.dto.RegisterDto;
+import io.jos.onlinelearningplatform.event.UserChangedEvent;
 import io.jos.onlinelearningplatform.model.User;
 import io.jos.onlinelearningplatform.repository.UserRepository;
 import io.jos.onlinelearningplatform.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,18 +26,22 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final  UserFactory userFactory;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new UserServiceImpl with the required dependencies.
      *
      * @param userRepository Repository for user data access
      * @param passwordEncoder Encoder for securely hashing passwords
+     * @param eventPublisher Publisher notifying listeners, such as the cache, of changed users
      */
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, UserFactory userFactory) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, UserFactory userFactory,
+                           ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userFactory = userFactory;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -45,6 +51,7 @@ public class UserServiceImpl implements UserService {
 
         User user = userFactory.createUser(dto);
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(savedUser));
 
         logger.info("Successfully registered new user with ID: {}, username: {}, type: {}",
                    savedUser.getId(), savedUser.getUsername(), savedUser.getClass().getSimpleName());
@@ -63,6 +70,7 @@ public class UserServiceImpl implements UserService {
         logger.debug("Attempting to delete user with ID: {}", userId);
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
         userRepository.delete(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(user));
         logger.info("User with ID {} (username: {}) has been deleted", userId, user.getUsername());
     }
 
@@ -98,6 +106,7 @@ public class UserServiceImpl implements UserService {
         if (passwordEncoder.matches(oldPassword, user.getPasswordHash())) {
             user.setPasswordHash(passwordEncoder.encode(newPassword));
             userRepository.save(user);
+            eventPublisher.publishEvent(UserChangedEvent.of(user));
             logger.info("Password changed successfully for user: {} (ID: {})", user.getUsername(), userId);
             return true;
         } else {
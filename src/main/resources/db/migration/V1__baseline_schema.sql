@@ -0,0 +1,70 @@
+-- Schema as mapped by the entities. Databases created by Hibernate before migrations
+-- existed are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE lesson_seq START WITH 1 INCREMENT BY 50;
+
+-- Admins, teachers and students, told apart by user_type
+CREATE TABLE users (
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    user_type     VARCHAR(31)  NOT NULL,
+    username      VARCHAR(50)  NOT NULL UNIQUE,
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(60)  NOT NULL,
+    connected     BOOLEAN      NOT NULL,
+    active        BOOLEAN      NOT NULL DEFAULT TRUE
+);
+
+CREATE TABLE courses (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    subject     VARCHAR(255) NOT NULL,
+    description VARCHAR(500),
+    created_at  TIMESTAMP(6)
+);
+
+CREATE TABLE lesson (
+    id          BIGINT NOT NULL PRIMARY KEY,
+    course_id   BIGINT NOT NULL REFERENCES courses,
+    student_id  BIGINT REFERENCES users,
+    teacher_id  BIGINT REFERENCES users,
+    description VARCHAR(255),
+    timestamp   TIMESTAMP(6),
+    status      VARCHAR(255)
+);
+
+CREATE TABLE messages (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    lesson_id BIGINT REFERENCES lesson,
+    sender_id BIGINT REFERENCES users,
+    content   TEXT,
+    sent_at   TIMESTAMP(6)
+);
+
+CREATE TABLE schedules (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    teacher_id     BIGINT REFERENCES users,
+    student_id     BIGINT REFERENCES users,
+    lesson_id      BIGINT REFERENCES lesson,
+    scheduled_time TIMESTAMP(6),
+    status         VARCHAR(255),
+    notes          VARCHAR(255)
+);
+
+CREATE TABLE study_materials (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    lesson_id   BIGINT REFERENCES lesson,
+    uploader_id BIGINT REFERENCES users,
+    file_name   VARCHAR(255),
+    file_size   BIGINT,
+    description VARCHAR(255),
+    file_data   BYTEA,
+    uploaded_at TIMESTAMP(6)
+);
+
+CREATE TABLE teacher_courses (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    teacher_id BIGINT       NOT NULL REFERENCES users,
+    course_id  BIGINT       NOT NULL REFERENCES courses,
+    added_at   TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,25 @@
+-- Indexes for the repository queries. PostgreSQL does not index foreign keys on its own,
+-- so without these every dashboard query scans its whole table. IF NOT EXISTS because
+-- baselined databases may have some of them already.
+
+-- LessonRepository: a teacher's lessons by status, and upcoming/past/between by time
+CREATE INDEX IF NOT EXISTS idx_lesson_teacher_status_timestamp ON lesson (teacher_id, status, timestamp);
+CREATE INDEX IF NOT EXISTS idx_lesson_teacher_timestamp ON lesson (teacher_id, timestamp);
+-- A student's lessons by status, and upcoming/between by time
+CREATE INDEX IF NOT EXISTS idx_lesson_student_status_timestamp ON lesson (student_id, status, timestamp);
+CREATE INDEX IF NOT EXISTS idx_lesson_student_timestamp ON lesson (student_id, timestamp);
+CREATE INDEX IF NOT EXISTS idx_lesson_course_timestamp ON lesson (course_id, timestamp);
+-- Lessons in a time window for the cache warm-up
+CREATE INDEX IF NOT EXISTS idx_lesson_timestamp ON lesson (timestamp);
+
+-- A lesson's chat and materials, in the order they are shown
+CREATE INDEX IF NOT EXISTS idx_messages_lesson_sent_at ON messages (lesson_id, sent_at);
+CREATE INDEX IF NOT EXISTS idx_study_materials_lesson_uploaded_at ON study_materials (lesson_id, uploaded_at);
+
+-- TeacherCourseRepository: a teacher's courses and whether they teach one, the teachers of a course
+CREATE INDEX IF NOT EXISTS idx_teacher_courses_teacher_course ON teacher_courses (teacher_id, course_id);
+CREATE INDEX IF NOT EXISTS idx_teacher_courses_course ON teacher_courses (course_id);
+
+-- ScheduleRepository: a teacher's or student's schedule by time
+CREATE INDEX IF NOT EXISTS idx_schedules_teacher_scheduled_time ON schedules (teacher_id, scheduled_time);
+CREATE INDEX IF NOT EXISTS idx_schedules_student_scheduled_time ON schedules (student_id, scheduled_time);
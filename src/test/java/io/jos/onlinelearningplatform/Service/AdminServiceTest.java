@@ -1,5 +1,6 @@
 package io.jos.onlinelearningplatform.service;
 
+import io.jos.onlinelearningplatform.event.UserChangedEvent;
 import io.jos.onlinelearningplatform.model.*;
 import io.jos.onlinelearningplatform.repository.CourseRepository;
 import io.jos.onlinelearningplatform.repository.LessonRepository;
@@ -12,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 
 import java.util.Arrays;
@@ -36,12 +38,15 @@ class AdminServiceTest {
     @Mock
     private LessonRepository lessonRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private AdminService adminService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        adminService = new AdminServiceImpl(userRepository, courseRepository, lessonRepository);
+        adminService = new AdminServiceImpl(userRepository, courseRepository, lessonRepository, eventPublisher);
         logger.info("AdminServiceTest setup completed");
     }
 
@@ -252,6 +257,7 @@ class AdminServiceTest {
         assertFalse(user.isActive()); // Should be toggled to false
         verify(userRepository).findById(userId);
         verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
         logger.info("toggleUserActive test passed");
     }
 
@@ -1,5 +1,7 @@
 package io.jos.onlinelearningplatform.service;
 
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.event.LessonChangedEvent;
 import io.jos.onlinelearningplatform.model.*;
 import io.jos.onlinelearningplatform.repository.CourseRepository;
 import io.jos.onlinelearningplatform.repository.LessonRepository;
@@ -12,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -36,12 +39,15 @@ class LessonServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private LessonService lessonService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        lessonService = new LessonServiceImpl(lessonRepository, userRepository, courseRepository);
+        lessonService = new LessonServiceImpl(lessonRepository, userRepository, courseRepository, eventPublisher);
         logger.info("LessonServiceTest setup completed");
     }
 
@@ -81,6 +87,7 @@ class LessonServiceTest {
         verify(userRepository).findById(teacherId);
         verify(courseRepository).findById(courseId);
         verify(lessonRepository).save(any(Lesson.class));
+        verify(eventPublisher).publishEvent(new LessonChangedEvent(1L, teacherId, studentId));
         logger.info("requestLesson success test passed");
     }
 
@@ -191,23 +198,21 @@ class LessonServiceTest {
         logger.info("Testing getUpcomingForStudent");
         // Arrange
         Long studentId = 1L;
-        Lesson lesson1 = new Lesson();
-        lesson1.setStatus("PENDING");
-        Lesson lesson2 = new Lesson();
-        lesson2.setStatus("ACCEPTED");
-        List<Lesson> expectedLessons = Arrays.asList(lesson1, lesson2);
+        LessonSummary lesson1 = summary(1L, "PENDING", LocalDateTime.now().plusDays(1));
+        LessonSummary lesson2 = summary(2L, "ACCEPTED", LocalDateTime.now().plusDays(2));
+        List<LessonSummary> expectedLessons = Arrays.asList(lesson1, lesson2);
 
-        when(lessonRepository.findByStudent_IdAndStatusInAndTimestampGreaterThanEqualOrderByTimestampAsc(
-            eq(studentId), any(List.class), any(LocalDateTime.class))).thenReturn(expectedLessons);
+        when(lessonRepository.findUpcomingSummariesByStudent(
+            eq(studentId), eq(Arrays.asList("PENDING", "ACCEPTED")), any(LocalDateTime.class))).thenReturn(expectedLessons);
 
         // Act
-        List<Lesson> result = lessonService.getUpcomingForStudent(studentId);
+        List<LessonSummary> result = lessonService.getUpcomingForStudent(studentId);
 
         // Assert
         assertEquals(2, result.size());
-        assertEquals("PENDING", result.get(0).getStatus());
-        assertEquals("ACCEPTED", result.get(1).getStatus());
-        verify(lessonRepository).findByStudent_IdAndStatusInAndTimestampGreaterThanEqualOrderByTimestampAsc(
+        assertEquals("PENDING", result.get(0).status());
+        assertEquals("ACCEPTED", result.get(1).status());
+        verify(lessonRepository).findUpcomingSummariesByStudent(
             eq(studentId), any(List.class), any(LocalDateTime.class));
         logger.info("getUpcomingForStudent test passed");
     }
@@ -218,29 +223,20 @@ class LessonServiceTest {
         logger.info("Testing getPastForStudent");
         // Arrange
         Long studentId = 1L;
-        Lesson acceptedPastLesson = new Lesson();
-        acceptedPastLesson.setStatus("ACCEPTED");
-        acceptedPastLesson.setTimestamp(LocalDateTime.now().minusDays(1));
-
-        Lesson rejectedLesson = new Lesson();
-        rejectedLesson.setStatus("REJECTED");
-        rejectedLesson.setTimestamp(LocalDateTime.now().minusDays(2));
+        LessonSummary acceptedPastLesson = summary(1L, "ACCEPTED", LocalDateTime.now().minusDays(1));
+        LessonSummary rejectedLesson = summary(2L, "REJECTED", LocalDateTime.now().minusDays(2));
 
-        when(lessonRepository.findByStudent_IdAndStatusInAndTimestampLessThanOrderByTimestampDesc(
-            eq(studentId), any(List.class), any(LocalDateTime.class)))
-            .thenReturn(Arrays.asList(acceptedPastLesson));
-
-        when(lessonRepository.findByStudent_IdAndStatusOrderByTimestampDesc(studentId, "REJECTED"))
-            .thenReturn(Arrays.asList(rejectedLesson));
+        when(lessonRepository.findPastSummariesByStudent(
+            eq(studentId), eq(List.of("ACCEPTED")), any(LocalDateTime.class), eq("REJECTED")))
+            .thenReturn(Arrays.asList(acceptedPastLesson, rejectedLesson));
 
         // Act
-        List<Lesson> result = lessonService.getPastForStudent(studentId);
+        List<LessonSummary> result = lessonService.getPastForStudent(studentId);
 
         // Assert
         assertEquals(2, result.size());
-        verify(lessonRepository).findByStudent_IdAndStatusInAndTimestampLessThanOrderByTimestampDesc(
-            eq(studentId), any(List.class), any(LocalDateTime.class));
-        verify(lessonRepository).findByStudent_IdAndStatusOrderByTimestampDesc(studentId, "REJECTED");
+        verify(lessonRepository).findPastSummariesByStudent(
+            eq(studentId), any(List.class), any(LocalDateTime.class), eq("REJECTED"));
         logger.info("getPastForStudent test passed");
     }
 
@@ -250,15 +246,15 @@ class LessonServiceTest {
         logger.info("Testing getUpcomingForStudent with no results");
         // Arrange
         Long studentId = 1L;
-        when(lessonRepository.findByStudent_IdAndStatusInAndTimestampGreaterThanEqualOrderByTimestampAsc(
+        when(lessonRepository.findUpcomingSummariesByStudent(
             eq(studentId), any(List.class), any(LocalDateTime.class))).thenReturn(Arrays.asList());
 
         // Act
-        List<Lesson> result = lessonService.getUpcomingForStudent(studentId);
+        List<LessonSummary> result = lessonService.getUpcomingForStudent(studentId);
 
         // Assert
         assertTrue(result.isEmpty());
-        verify(lessonRepository).findByStudent_IdAndStatusInAndTimestampGreaterThanEqualOrderByTimestampAsc(
+        verify(lessonRepository).findUpcomingSummariesByStudent(
             eq(studentId), any(List.class), any(LocalDateTime.class));
         logger.info("getUpcomingForStudent empty result test passed");
     }
@@ -269,19 +265,20 @@ class LessonServiceTest {
         logger.info("Testing getPastForStudent with no results");
         // Arrange
         Long studentId = 1L;
-        when(lessonRepository.findByStudent_IdAndStatusInAndTimestampLessThanOrderByTimestampDesc(
-            eq(studentId), any(List.class), any(LocalDateTime.class))).thenReturn(Arrays.asList());
-        when(lessonRepository.findByStudent_IdAndStatusOrderByTimestampDesc(studentId, "REJECTED"))
-            .thenReturn(Arrays.asList());
+        when(lessonRepository.findPastSummariesByStudent(
+            eq(studentId), any(List.class), any(LocalDateTime.class), eq("REJECTED"))).thenReturn(Arrays.asList());
 
         // Act
-        List<Lesson> result = lessonService.getPastForStudent(studentId);
+        List<LessonSummary> result = lessonService.getPastForStudent(studentId);
 
         // Assert
         assertTrue(result.isEmpty());
-        verify(lessonRepository).findByStudent_IdAndStatusInAndTimestampLessThanOrderByTimestampDesc(
-            eq(studentId), any(List.class), any(LocalDateTime.class));
-        verify(lessonRepository).findByStudent_IdAndStatusOrderByTimestampDesc(studentId, "REJECTED");
+        verify(lessonRepository).findPastSummariesByStudent(
+            eq(studentId), any(List.class), any(LocalDateTime.class), eq("REJECTED"));
         logger.info("getPastForStudent empty result test passed");
     }
+
+    private static LessonSummary summary(Long id, String status, LocalDateTime timestamp) {
+        return new LessonSummary(id, null, timestamp, status, 3L, "Algebra", 2L, "teacher1", 1L, "student1");
+    }
 }
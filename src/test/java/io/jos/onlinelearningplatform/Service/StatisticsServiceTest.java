@@ -0,0 +1,131 @@
+package io.jos.onlinelearningplatform.service;
+
+import io.jos.onlinelearningplatform.cache.CacheProperties;
+import io.jos.onlinelearningplatform.dto.PlatformStatistics;
+import io.jos.onlinelearningplatform.event.CourseChangedEvent;
+import io.jos.onlinelearningplatform.event.LessonChangedEvent;
+import io.jos.onlinelearningplatform.event.UserChangedEvent;
+import io.jos.onlinelearningplatform.repository.LessonRepository;
+import io.jos.onlinelearningplatform.service.impl.StatisticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatisticsServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsServiceTest.class);
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    private StatisticsServiceImpl statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        statisticsService = new StatisticsServiceImpl(lessonRepository, new CacheProperties());
+        when(lessonRepository.countRowsByKind()).thenReturn(rows(3));
+        logger.info("StatisticsServiceTest setup completed");
+    }
+
+    @Test
+    @DisplayName("Get Statistics - One Query, Then Served From Memory")
+    void getStatistics_ServedFromMemory() {
+        logger.info("Testing getStatistics");
+        // Act
+        PlatformStatistics first = statisticsService.getStatistics();
+        PlatformStatistics second = statisticsService.getStatistics();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(3, first.users("STUDENT"));
+        assertEquals(2, first.users("TEACHER"));
+        assertEquals(0, first.users("ADMIN"));
+        assertEquals(5, first.totalUsers());
+        assertEquals(4, first.lessons("PENDING"));
+        assertEquals(0, first.lessons("REJECTED"));
+        assertEquals(10, first.totalLessons());
+        assertEquals(7, first.totalCourses());
+        verify(lessonRepository, times(1)).countRowsByKind();
+        logger.info("getStatistics test passed");
+    }
+
+    @Test
+    @DisplayName("Get Statistics - Reloaded After Every Kind Of Write")
+    void getStatistics_ReloadedAfterWrites() {
+        logger.info("Testing getStatistics after writes");
+        statisticsService.getStatistics();
+
+        statisticsService.onLessonChanged(new LessonChangedEvent(1L, 2L, 3L));
+        statisticsService.getStatistics();
+        statisticsService.onUserChanged(new UserChangedEvent(2L, "teacher1"));
+        statisticsService.getStatistics();
+        statisticsService.onCourseChanged(new CourseChangedEvent(7L));
+        when(lessonRepository.countRowsByKind()).thenReturn(rows(4));
+
+        // Assert
+        assertEquals(4, statisticsService.getStatistics().users("STUDENT"));
+        verify(lessonRepository, times(4)).countRowsByKind();
+        logger.info("getStatistics after writes test passed");
+    }
+
+    @Test
+    @DisplayName("Get Statistics - Load Racing An Invalidation Is Not Kept")
+    void getStatistics_RacingInvalidationNotKept() {
+        logger.info("Testing getStatistics racing an invalidation");
+        // A write commits while the counts are being read
+        when(lessonRepository.countRowsByKind()).thenAnswer(invocation -> {
+            statisticsService.invalidate();
+            return rows(3);
+        }).thenReturn(rows(4));
+
+        // Act
+        PlatformStatistics racing = statisticsService.getStatistics();
+        PlatformStatistics next = statisticsService.getStatistics();
+
+        // Assert
+        assertEquals(3, racing.users("STUDENT"));
+        assertEquals(4, next.users("STUDENT"));
+        assertSame(next, statisticsService.getStatistics());
+        verify(lessonRepository, times(2)).countRowsByKind();
+        logger.info("getStatistics racing invalidation test passed");
+    }
+
+    @Test
+    @DisplayName("Refresh - Replaces The Counts In Memory")
+    void refresh_ReplacesCounts() {
+        logger.info("Testing refresh");
+        statisticsService.getStatistics();
+        when(lessonRepository.countRowsByKind()).thenReturn(rows(4));
+
+        // Act
+        PlatformStatistics refreshed = statisticsService.refresh();
+
+        // Assert
+        assertEquals(4, refreshed.users("STUDENT"));
+        assertSame(refreshed, statisticsService.getStatistics());
+        verify(lessonRepository, times(2)).countRowsByKind();
+        logger.info("refresh test passed");
+    }
+
+    // Rows as the grouped query returns them, with the given number of students
+    private static List<Object[]> rows(long students) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"USER", "STUDENT", students});
+        rows.add(new Object[]{"USER", "TEACHER", 2L});
+        rows.add(new Object[]{"LESSON", "PENDING", 4L});
+        rows.add(new Object[]{"LESSON", "ACCEPTED", 6});
+        rows.add(new Object[]{"COURSE", null, 7L});
+        return rows;
+    }
+}
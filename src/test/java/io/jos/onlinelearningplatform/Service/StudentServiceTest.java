@@ -1,6 +1,9 @@
 package io.jos.onlinelearningplatform.service;
 
+import io.jos.onlinelearningplatform.cache.CachePolicyRegistry;
+import io.jos.onlinelearningplatform.cache.CacheProperties;
 import io.jos.onlinelearningplatform.cache.GlobalCacheService;
+import io.jos.onlinelearningplatform.dto.LessonSummary;
 import io.jos.onlinelearningplatform.model.*;
 import io.jos.onlinelearningplatform.repository.LessonRepository;
 import io.jos.onlinelearningplatform.repository.ScheduleRepository;
@@ -12,7 +15,9 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -32,8 +37,9 @@ class StudentServiceTest {
     @Mock
     private LessonRepository lessonRepository;
 
-    @Mock
-    private GlobalCacheService globalCacheService;
+    // Real regions, fresh for every test, so cache hits never leak between tests
+    private final GlobalCacheService globalCacheService =
+            new GlobalCacheService(new CacheProperties(), new CachePolicyRegistry());
 
     private StudentService studentService;
 
@@ -131,16 +137,16 @@ class StudentServiceTest {
         Lesson nextLesson = new Lesson();
         nextLesson.setTimestamp(LocalDateTime.now().plusHours(2));
 
-        when(lessonRepository.findUpcomingByStudent(eq(studentId), any(LocalDateTime.class)))
-            .thenReturn(Arrays.asList(nextLesson));
+        when(lessonRepository.findNextSummariesByStudent(eq(studentId), any(LocalDateTime.class), eq(PageRequest.of(0, 1))))
+            .thenReturn(List.of(LessonSummary.of(nextLesson)));
 
         // Act
-        Lesson result = studentService.getNextLesson(studentId);
+        LessonSummary result = studentService.getNextLesson(studentId);
 
         // Assert
         assertNotNull(result);
-        assertEquals(nextLesson, result);
-        verify(lessonRepository).findUpcomingByStudent(eq(studentId), any(LocalDateTime.class));
+        assertEquals(LessonSummary.of(nextLesson), result);
+        verify(lessonRepository).findNextSummariesByStudent(eq(studentId), any(LocalDateTime.class), eq(PageRequest.of(0, 1)));
         logger.info("getNextLesson test passed");
     }
 
@@ -151,15 +157,42 @@ class StudentServiceTest {
         // Arrange
         Long studentId = 1L;
 
-        when(lessonRepository.findUpcomingByStudent(eq(studentId), any(LocalDateTime.class)))
+        when(lessonRepository.findNextSummariesByStudent(eq(studentId), any(LocalDateTime.class), eq(PageRequest.of(0, 1))))
             .thenReturn(Arrays.asList());
 
         // Act
-        Lesson result = studentService.getNextLesson(studentId);
+        LessonSummary result = studentService.getNextLesson(studentId);
 
         // Assert
         assertNull(result);
-        verify(lessonRepository).findUpcomingByStudent(eq(studentId), any(LocalDateTime.class));
+        verify(lessonRepository).findNextSummariesByStudent(eq(studentId), any(LocalDateTime.class), eq(PageRequest.of(0, 1)));
         logger.info("getNextLesson no upcoming lessons test passed");
     }
+
+    @Test
+    @DisplayName("Get Next Lesson - No Upcoming Lessons Cached For The Negative TTL")
+    void getNextLesson_NoUpcomingLessons_CachedAsAbsent() {
+        logger.info("Testing getNextLesson negative caching");
+        // Arrange
+        Long studentId = 1L;
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Region nextLessons = new CacheProperties.Region();
+        nextLessons.setNegativeTtl(Duration.ofMinutes(2));
+        properties.getRegions().put(GlobalCacheService.NEXT_LESSONS, nextLessons);
+        StudentService service = new StudentServiceImpl(scheduleRepository, lessonRepository,
+                new GlobalCacheService(properties, new CachePolicyRegistry()));
+
+        when(lessonRepository.findNextSummariesByStudent(eq(studentId), any(LocalDateTime.class), eq(PageRequest.of(0, 1))))
+            .thenReturn(Arrays.asList());
+
+        // Act
+        LessonSummary first = service.getNextLesson(studentId);
+        LessonSummary second = service.getNextLesson(studentId);
+
+        // Assert
+        assertNull(first);
+        assertNull(second);
+        verify(lessonRepository, times(1)).findNextSummariesByStudent(eq(studentId), any(LocalDateTime.class), eq(PageRequest.of(0, 1)));
+        logger.info("getNextLesson negative caching test passed");
+    }
 }
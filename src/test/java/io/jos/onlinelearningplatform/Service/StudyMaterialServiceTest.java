@@ -1,5 +1,12 @@
 package io.jos.onlinelearningplatform.service;
 
+import io.jos.onlinelearningplatform.cache.CacheInvalidator;
+import io.jos.onlinelearningplatform.cache.CachePolicyRegistry;
+import io.jos.onlinelearningplatform.cache.CacheProperties;
+import io.jos.onlinelearningplatform.cache.GlobalCacheService;
+import io.jos.onlinelearningplatform.cache.InMemoryInvalidationTransport;
+import io.jos.onlinelearningplatform.cache.MaterialContentCache;
+import io.jos.onlinelearningplatform.dto.MaterialContent;
 import io.jos.onlinelearningplatform.model.Lesson;
 import io.jos.onlinelearningplatform.model.StudyMaterial;
 import io.jos.onlinelearningplatform.model.User;
@@ -41,12 +48,17 @@ class StudyMaterialServiceTest {
     @Mock
     private MultipartFile mockFile;
 
+    private MaterialContentCache materialCache;
     private StudyMaterialService studyMaterialService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        studyMaterialService = new StudyMaterialServiceImpl(studyMaterialRepository, lessonRepository, userRepository);
+        materialCache = new MaterialContentCache(1024, 512, MaterialContentCache.Storage.HEAP);
+        CacheInvalidator invalidator = new CacheInvalidator(new GlobalCacheService(new CacheProperties(), new CachePolicyRegistry()),
+                materialCache, new InMemoryInvalidationTransport());
+        studyMaterialService = new StudyMaterialServiceImpl(studyMaterialRepository, lessonRepository, userRepository,
+                materialCache, invalidator);
         logger.info("StudyMaterialServiceTest setup completed");
     }
 
@@ -289,6 +301,109 @@ class StudyMaterialServiceTest {
         logger.info("deleteMaterial test passed");
     }
 
+    @Test
+    @DisplayName("Download Material - Served From Cache")
+    void downloadMaterial_SecondCallServedFromCache() {
+        logger.info("Testing downloadMaterial cache hit");
+        // Arrange
+        Long materialId = 1L;
+        byte[] data = "worksheet".getBytes();
+        when(studyMaterialRepository.findContentById(materialId))
+                .thenReturn(Optional.of(new MaterialContent(materialId, "worksheet.pdf", data)));
+
+        // Act
+        byte[] first = studyMaterialService.downloadMaterial(materialId);
+        byte[] second = studyMaterialService.downloadMaterial(materialId);
+
+        // Assert
+        assertArrayEquals(data, first);
+        assertArrayEquals(data, second);
+        verify(studyMaterialRepository, times(1)).findContentById(materialId);
+        verify(studyMaterialRepository, never()).findById(materialId);
+        assertEquals(1, materialCache.stats().hitCount());
+        assertEquals(1, materialCache.stats().loadCount());
+        logger.info("downloadMaterial cache hit test passed");
+    }
+
+    @Test
+    @DisplayName("Download Material - Too Large For Cache")
+    void downloadMaterial_LargeFileNotCached() {
+        logger.info("Testing downloadMaterial with a file above the entry limit");
+        // Arrange
+        Long materialId = 1L;
+        when(studyMaterialRepository.findContentById(materialId))
+                .thenReturn(Optional.of(new MaterialContent(materialId, "video.mp4", new byte[600])));
+
+        // Act
+        studyMaterialService.downloadMaterial(materialId);
+        studyMaterialService.downloadMaterial(materialId);
+
+        // Assert
+        verify(studyMaterialRepository, times(2)).findContentById(materialId);
+        assertEquals(0, materialCache.size());
+        logger.info("downloadMaterial large file test passed");
+    }
+
+    @Test
+    @DisplayName("Download Material - Empty File")
+    void downloadMaterial_EmptyFile_ThrowsException() {
+        logger.info("Testing downloadMaterial with empty file data");
+        // Arrange
+        Long materialId = 1L;
+        when(studyMaterialRepository.findContentById(materialId))
+                .thenReturn(Optional.of(new MaterialContent(materialId, "empty.txt", new byte[0])));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> studyMaterialService.downloadMaterial(materialId));
+        logger.info("downloadMaterial empty file test passed");
+    }
+
+    @Test
+    @DisplayName("Delete Material - Evicts Cached Content")
+    void deleteMaterial_EvictsCachedContent() {
+        logger.info("Testing deleteMaterial cache eviction");
+        // Arrange
+        Long materialId = 1L;
+        StudyMaterial material = new StudyMaterial();
+        material.setId(materialId);
+        materialCache.put(new MaterialContent(materialId, "notes.txt", "notes".getBytes()));
+
+        when(studyMaterialRepository.findById(materialId)).thenReturn(Optional.of(material));
+
+        // Act
+        studyMaterialService.deleteMaterial(materialId);
+
+        // Assert
+        assertNull(materialCache.get(materialId));
+        logger.info("deleteMaterial cache eviction test passed");
+    }
+
+    @Test
+    @DisplayName("Delete Material - Download Racing The Delete Does Not Cache The Content")
+    void deleteMaterial_DuringDownload_ContentNotCached() {
+        logger.info("Testing a download that read the content just before it was deleted");
+        // Arrange
+        Long materialId = 1L;
+        StudyMaterial material = new StudyMaterial();
+        material.setId(materialId);
+        when(studyMaterialRepository.findById(materialId)).thenReturn(Optional.of(material));
+        // The delete commits and evicts after the download read the content
+        when(studyMaterialRepository.findContentById(materialId)).thenAnswer(invocation -> {
+            MaterialContent content = new MaterialContent(materialId, "notes.txt", "notes".getBytes());
+            studyMaterialService.deleteMaterial(materialId);
+            return Optional.of(content);
+        });
+
+        // Act
+        byte[] data = studyMaterialService.downloadMaterial(materialId);
+
+        // Assert
+        assertArrayEquals("notes".getBytes(), data);
+        assertNull(materialCache.get(materialId));
+        verify(studyMaterialRepository).delete(material);
+        logger.info("deleteMaterial during download test passed");
+    }
+
     @Test
     @DisplayName("Delete Material - Material Not Found")
     void deleteMaterial_MaterialNotFound_ThrowsException() {
@@ -1,6 +1,11 @@
 package io.jos.onlinelearningplatform.service;
 
+import io.jos.onlinelearningplatform.cache.CachePolicyRegistry;
+import io.jos.onlinelearningplatform.cache.CacheProperties;
 import io.jos.onlinelearningplatform.cache.GlobalCacheService;
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
+import io.jos.onlinelearningplatform.event.LessonChangedEvent;
 import io.jos.onlinelearningplatform.model.*;
 import io.jos.onlinelearningplatform.repository.*;
 import io.jos.onlinelearningplatform.service.impl.TeacherServiceImpl;
@@ -11,6 +16,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -41,8 +48,12 @@ class TeacherServiceTest {
     @Mock
     private ScheduleRepository scheduleRepository;
 
+    // Real regions, fresh for every test, so cache hits never leak between tests
+    private final GlobalCacheService globalCacheService =
+            new GlobalCacheService(new CacheProperties(), new CachePolicyRegistry());
+
     @Mock
-    private GlobalCacheService globalCacheService;
+    private ApplicationEventPublisher eventPublisher;
 
     private TeacherService teacherService;
 
@@ -51,7 +62,7 @@ class TeacherServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         teacherService = new TeacherServiceImpl(userRepository, courseRepository, lessonRepository,
-                teacherCourseRepository, scheduleRepository, globalCacheService);
+                teacherCourseRepository, scheduleRepository, globalCacheService, eventPublisher);
         logger.info("TeacherServiceTest setup completed");
     }
 
@@ -294,16 +305,41 @@ class TeacherServiceTest {
         when(userRepository.findById(teacherId)).thenReturn(Optional.of(teacher));
 
         // Act
-        Teacher result = teacherService.getTeacherProfile(teacherId);
+        TeacherSummary result = teacherService.getTeacherProfile(teacherId);
 
         // Assert
         assertNotNull(result);
-        assertEquals(teacherId, result.getId());
-        assertEquals("teacher1", result.getUsername());
+        assertEquals(teacherId, result.id());
+        assertEquals("teacher1", result.username());
         verify(userRepository).findById(teacherId);
         logger.info("getTeacherProfile test passed");
     }
 
+    @Test
+    @DisplayName("Get Teacher Profile - Served From Cache")
+    void getTeacherProfile_SecondCallServedFromCache() {
+        logger.info("Testing getTeacherProfile cache hit");
+        // Arrange
+        Long teacherId = 1L;
+        Teacher teacher = new Teacher();
+        teacher.setId(teacherId);
+        teacher.setUsername("teacher1");
+
+        when(userRepository.findById(teacherId)).thenReturn(Optional.of(teacher));
+
+        // Act
+        TeacherSummary first = teacherService.getTeacherProfile(teacherId);
+        // Later changes to the entity must not leak into the cached snapshot
+        teacher.setUsername("renamed");
+        TeacherSummary second = teacherService.getTeacherProfile(teacherId);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("teacher1", second.username());
+        verify(userRepository, times(1)).findById(teacherId);
+        logger.info("getTeacherProfile cache hit test passed");
+    }
+
     @Test
     @DisplayName("Get Next Lesson - Success")
     void getNextLesson_Success() {
@@ -313,16 +349,16 @@ class TeacherServiceTest {
         Lesson nextLesson = new Lesson();
         nextLesson.setTimestamp(LocalDateTime.now().plusHours(1));
 
-        when(lessonRepository.findUpcomingByTeacher(eq(teacherId), any(LocalDateTime.class)))
-            .thenReturn(Arrays.asList(nextLesson));
+        when(lessonRepository.findNextSummariesByTeacher(eq(teacherId), any(LocalDateTime.class), eq(PageRequest.of(0, 1))))
+            .thenReturn(List.of(LessonSummary.of(nextLesson)));
 
         // Act
-        Lesson result = teacherService.getNextLesson(teacherId);
+        LessonSummary result = teacherService.getNextLesson(teacherId);
 
         // Assert
         assertNotNull(result);
-        assertEquals(nextLesson, result);
-        verify(lessonRepository).findUpcomingByTeacher(eq(teacherId), any(LocalDateTime.class));
+        assertEquals(LessonSummary.of(nextLesson), result);
+        verify(lessonRepository).findNextSummariesByTeacher(eq(teacherId), any(LocalDateTime.class), eq(PageRequest.of(0, 1)));
         logger.info("getNextLesson test passed");
     }
 
@@ -346,6 +382,7 @@ class TeacherServiceTest {
         assertEquals("ACCEPTED", lesson.getStatus());
         verify(lessonRepository).findById(lessonId);
         verify(lessonRepository).save(lesson);
+        verify(eventPublisher).publishEvent(any(LessonChangedEvent.class));
         logger.info("acceptLesson test passed");
     }
 }
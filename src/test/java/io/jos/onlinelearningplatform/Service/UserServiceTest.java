@@ -17,6 +17,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -39,12 +40,15 @@ class UserServiceTest {
     @Mock
     private UserFactory userFactory;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userService = new UserServiceImpl(userRepository, passwordEncoder, userFactory);
+        userService = new UserServiceImpl(userRepository, passwordEncoder, userFactory, eventPublisher);
 
         // Default mock behavior
         when(passwordEncoder.encode(any())).thenReturn("hashedPassword");
@@ -0,0 +1,388 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contract every policy in the {@link CachePolicyRegistry} has to honour.
+ */
+class CacheAlgoConformanceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheAlgoConformanceTest.class);
+
+    private static final CachePolicyRegistry registry = new CachePolicyRegistry();
+
+    static Stream<String> policies() {
+        return registry.ids().stream();
+    }
+
+    static Stream<String> scanResistantPolicies() {
+        return policies().filter(id -> !id.equals("lru"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should return a value right after it is put")
+    void testPutThenGet(String policy) {
+        CacheAlgo<String, String> cache = registry.create(policy, 3);
+
+        cache.put("key1", "value1");
+
+        assertEquals("value1", cache.get("key1"));
+        assertTrue(cache.containsKey("key1"));
+        assertEquals(1, cache.size());
+        assertNull(cache.get("missing"));
+        assertFalse(cache.containsKey("missing"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should replace the value of an existing key without growing")
+    void testUpdateExistingKey(String policy) {
+        CacheAlgo<String, String> cache = registry.create(policy, 3);
+
+        cache.put("key1", "value1");
+        cache.get("key1");
+        cache.put("key1", "value2");
+
+        assertEquals("value2", cache.get("key1"));
+        assertEquals(1, cache.size());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should remove entries and report the removed value")
+    void testRemove(String policy) {
+        CacheAlgo<String, String> cache = registry.create(policy, 3);
+        cache.put("key1", "value1");
+        cache.put("key2", "value2");
+
+        assertEquals("value1", cache.remove("key1"));
+        assertNull(cache.remove("key1"));
+        assertFalse(cache.containsKey("key1"));
+        assertEquals(1, cache.size());
+
+        // A removed key starts over like any new key
+        cache.put("key1", "value3");
+        assertEquals("value3", cache.get("key1"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should handle null values")
+    void testNullValues(String policy) {
+        CacheAlgo<String, String> cache = registry.create(policy, 3);
+
+        cache.put("nullValue", null);
+
+        assertTrue(cache.containsKey("nullValue"));
+        assertNull(cache.get("nullValue"));
+        assertEquals(1, cache.size());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should work with a capacity of one")
+    void testCapacityOne(String policy) {
+        CacheAlgo<String, String> cache = registry.create(policy, 1);
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i);
+            assertEquals("value" + i, cache.get("key" + i));
+            assertEquals(1, cache.size());
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should reject non-positive capacity")
+    void testInvalidCapacity(String policy) {
+        assertThrows(IllegalArgumentException.class, () -> registry.create(policy, 0));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should never hold more entries than its capacity under a mixed workload")
+    void testCapacityBound(String policy) {
+        int capacity = 20;
+        CacheAlgo<Integer, Integer> cache = registry.create(policy, capacity);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            // Skewed keys so ghosts, promotions and demotions are all exercised
+            int key = random.nextInt(4) == 0 ? random.nextInt(500) : random.nextInt(30);
+            switch (random.nextInt(5)) {
+                case 0 -> cache.remove(key);
+                case 1, 2 -> cache.put(key, key);
+                default -> {
+                    Integer value = cache.get(key);
+                    if (value != null) {
+                        assertEquals(key, value.intValue());
+                    }
+                }
+            }
+            assertTrue(cache.size() <= capacity, "size " + cache.size() + " exceeds " + capacity);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should evict down to a smaller capacity and fill a larger one after resizing")
+    void testResize(String policy) {
+        AtomicInteger evictions = new AtomicInteger();
+        CacheAlgo<Integer, Integer> cache = registry.create(policy, 100,
+                (Integer key, Integer value, RemovalCause cause) -> evictions.incrementAndGet());
+        Random random = new Random(11);
+        for (int i = 0; i < 1_000; i++) {
+            int key = random.nextInt(150);
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        int before = cache.size();
+        int evictedBefore = evictions.get();
+
+        assertTrue(cache.resize(10));
+        assertTrue(cache.size() <= 10, "size " + cache.size() + " exceeds 10");
+        assertEquals(before - cache.size(), evictions.get() - evictedBefore);
+        for (int i = 0; i < 1_000; i++) {
+            int key = random.nextInt(150);
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+            assertTrue(cache.size() <= 10, "size " + cache.size() + " exceeds 10");
+        }
+
+        assertTrue(cache.resize(200));
+        for (int key = 1_000; key < 1_200; key++) {
+            cache.put(key, key);
+        }
+        assertTrue(cache.size() > 100, policy + " holds only " + cache.size() + " after growing");
+        assertTrue(cache.size() <= 200);
+        assertThrows(IllegalArgumentException.class, () -> cache.resize(0));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should list exactly its entries")
+    void testEntries(String policy) {
+        CacheAlgo<Integer, Integer> cache = registry.create(policy, 20);
+        Random random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            int key = random.nextInt(40);
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        cache.remove(3);
+
+        List<Map.Entry<Integer, Integer>> entries = cache.entries();
+
+        assertEquals(cache.size(), entries.size());
+        assertEquals(entries.size(), entries.stream().map(Map.Entry::getKey).distinct().count());
+        for (Map.Entry<Integer, Integer> entry : entries) {
+            assertEquals(entry.getKey(), entry.getValue());
+            assertTrue(cache.containsKey(entry.getKey()));
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should report every evicted entry exactly once")
+    void testEvictionsAreReported(String policy) {
+        int capacity = 20;
+        AtomicInteger evictions = new AtomicInteger();
+        CacheAlgo<Integer, Integer> cache = registry.create(policy, capacity,
+                (Integer key, Integer value, RemovalCause cause) -> {
+                    assertEquals(RemovalCause.EVICTED, cause);
+                    assertEquals(key, value);
+                    evictions.incrementAndGet();
+                });
+        Random random = new Random(7);
+
+        int distinctPuts = 0;
+        for (int i = 0; i < 2_000; i++) {
+            int key = random.nextInt(3) == 0 ? random.nextInt(10) : 100 + i;
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+                distinctPuts++;
+            }
+        }
+
+        assertEquals(distinctPuts - cache.size(), evictions.get());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should peek and conditionally remove only the current value")
+    void testPeekAndConditionalRemove(String policy) {
+        CacheAlgo<String, String> cache = registry.create(policy, 3);
+        cache.put("key1", "value1");
+
+        assertEquals("value1", cache.peek("key1"));
+        assertNull(cache.peek("missing"));
+        assertFalse(cache.remove("key1", "stale"));
+        assertFalse(cache.remove("missing", null));
+        assertEquals("value1", cache.get("key1"));
+
+        assertTrue(cache.remove("key1", "value1"));
+        assertFalse(cache.containsKey("key1"));
+        assertEquals(0, cache.size());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should leave the eviction order alone when checking for keys")
+    void testContainsKeyDoesNotTouch(String policy) {
+        ExpiringCacheAlgo<Integer, Integer> checked = expiring(policy, new ExpiringCacheAlgoTest.MutableClock(Instant.EPOCH));
+        ExpiringCacheAlgo<Integer, Integer> untouched = expiring(policy, new ExpiringCacheAlgoTest.MutableClock(Instant.EPOCH));
+        replay(new Random(3), checked, untouched);
+
+        // What the warm-up and the snapshot restore do for every key
+        for (int key = 0; key < 40; key++) {
+            checked.containsKey(key);
+        }
+        replay(new Random(9), checked, untouched);
+
+        assertEquals(untouched.entries(), checked.entries());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should leave the eviction order as an explicit remove would when an entry expires")
+    void testExpiryDoesNotTouch(String policy) {
+        ExpiringCacheAlgoTest.MutableClock clock = new ExpiringCacheAlgoTest.MutableClock(Instant.EPOCH);
+        ExpiringCacheAlgo<Integer, Integer> expired = expiring(policy, clock);
+        ExpiringCacheAlgo<Integer, Integer> removed = expiring(policy, clock);
+        replay(new Random(3), expired, removed);
+        expired.put(7, 7, clock.instant().plusSeconds(1));
+        removed.put(7, 7, null);
+        assertTrue(expired.containsKey(7));
+        assertTrue(removed.containsKey(7));
+
+        clock.advance(Duration.ofSeconds(2));
+        removed.remove(7);
+        // Any call advances the wheel
+        assertFalse(expired.containsKey(7));
+        replay(new Random(9), expired, removed);
+
+        assertEquals(removed.entries(), expired.entries());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("scanResistantPolicies")
+    @DisplayName("Should keep frequently used entries through a one-off scan")
+    void testScanResistance(String policy) {
+        CacheAlgo<Integer, Integer> cache = registry.create(policy, 100);
+        int hotKeys = 20;
+        int nextColdKey = 1_000;
+
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < hotKeys; key++) {
+                access(cache, key);
+            }
+            for (int i = 0; i < 50; i++) {
+                access(cache, nextColdKey++);
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            access(cache, nextColdKey++);
+        }
+
+        int survivors = 0;
+        for (int key = 0; key < hotKeys; key++) {
+            if (cache.containsKey(key)) {
+                survivors++;
+            }
+        }
+        logger.info("{}: {} of {} hot keys survived the scan", policy, survivors, hotKeys);
+        assertTrue(survivors >= hotKeys / 2, policy + " kept only " + survivors + " hot keys");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should stay consistent under concurrent readers and writers")
+    void testConcurrentAccess(String policy) throws Exception {
+        int threads = 8;
+        int capacity = 64;
+        CacheAlgo<Integer, Integer> cache = registry.create(policy, capacity);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        int key = random.nextInt(256);
+                        int op = random.nextInt(8);
+                        if (op == 0) {
+                            cache.remove(key);
+                        } else if (op < 3) {
+                            cache.put(key, key);
+                        } else {
+                            Integer value = cache.get(key);
+                            // A key only ever maps to itself, so any other value means corrupted state
+                            if (value != null && value != key) {
+                                throw new AssertionError("Key " + key + " mapped to " + value);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(cache.size() <= capacity);
+    }
+
+    private static ExpiringCacheAlgo<Integer, Integer> expiring(String policy, ExpiringCacheAlgoTest.MutableClock clock) {
+        return new ExpiringCacheAlgo<>(registry.create(policy, 20), null, clock, 100);
+    }
+
+    // Runs the same cache-aside workload against every cache
+    @SafeVarargs
+    private static void replay(Random random, CacheAlgo<Integer, Integer>... caches) {
+        for (int i = 0; i < 500; i++) {
+            int key = random.nextInt(3) == 0 ? random.nextInt(200) : random.nextInt(40);
+            for (CacheAlgo<Integer, Integer> cache : caches) {
+                access(cache, key);
+            }
+        }
+    }
+
+    // Cache-aside access as the services do it: read, and load on a miss
+    private static void access(CacheAlgo<Integer, Integer> cache, int key) {
+        if (cache.get(key) == null) {
+            cache.put(key, key);
+        }
+    }
+}
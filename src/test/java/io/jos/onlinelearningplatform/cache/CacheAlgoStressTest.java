@@ -0,0 +1,253 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.cache.LinearizabilityChecker.History;
+import io.jos.onlinelearningplatform.cache.LinearizabilityChecker.Kind;
+import io.jos.onlinelearningplatform.cache.LinearizabilityChecker.Operation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Randomized multi-threaded histories against every policy in the {@link CachePolicyRegistry}.
+ * <p>
+ * The stress test checks invariants over long histories; the linearizability test records
+ * many short histories and checks each one with {@link LinearizabilityChecker}. Seeds are
+ * logged, and a failing history is printed, so a failure can be replayed.
+ */
+class CacheAlgoStressTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheAlgoStressTest.class);
+
+    private static final CachePolicyRegistry registry = new CachePolicyRegistry();
+    private static final long TIMEOUT_SECONDS = 30;
+
+    static Stream<String> policies() {
+        return registry.ids().stream();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should keep its invariants under randomized concurrent histories")
+    void testRandomizedStress(String policy) throws Exception {
+        int threads = 8;
+        int operations = 50_000;
+        int capacity = 64;
+        int sharedKeys = 256;
+        int privateKeys = 32;
+        long seed = System.nanoTime();
+        logger.info("{}: stress seed {}", policy, seed);
+
+        CacheAlgo<Integer, Long> cache = registry.create(policy, capacity);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Future<Integer>> results = run(threads, thread -> {
+            SplittableRandom random = new SplittableRandom(seed + thread);
+            // Keys only this thread writes, with the value it wrote last or null once removed
+            Map<Integer, Long> written = new HashMap<>();
+            int privateBase = sharedKeys + thread * privateKeys;
+            start.await();
+            for (int i = 0; i < operations; i++) {
+                boolean own = random.nextInt(4) == 0;
+                int key = own ? privateBase + random.nextInt(privateKeys) : random.nextInt(sharedKeys);
+                int op = random.nextInt(10);
+                if (op < 3) {
+                    long value = value(key, thread, i);
+                    cache.put(key, value);
+                    if (own) {
+                        written.put(key, value);
+                    }
+                } else if (op < 7) {
+                    Long value = cache.get(key);
+                    checkValue(key, value);
+                    if (own && value != null && !value.equals(written.get(key))) {
+                        throw new AssertionError("Key " + key + " returned " + value + " but its last put was " + written.get(key));
+                    }
+                } else if (op < 8) {
+                    cache.containsKey(key);
+                } else if (op < 9) {
+                    Long removed = cache.remove(key);
+                    checkValue(key, removed);
+                    if (own) {
+                        written.put(key, null);
+                    }
+                } else {
+                    int size = cache.size();
+                    if (size < 0 || size > capacity) {
+                        throw new AssertionError("Size " + size + " outside [0, " + capacity + "]");
+                    }
+                }
+            }
+            return operations;
+        });
+        await(results);
+
+        // Quiescent: size must agree with the entries that can actually be found
+        int found = 0;
+        for (int key = 0; key < sharedKeys + threads * privateKeys; key++) {
+            if (cache.containsKey(key)) {
+                found++;
+                checkValue(key, cache.get(key));
+            }
+        }
+        assertEquals(found, cache.size(), policy + " size disagrees with its entries");
+        assertTrue(cache.size() <= capacity);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("policies")
+    @DisplayName("Should produce only linearizable short histories")
+    void testLinearizableHistories(String policy) throws Exception {
+        int rounds = 200;
+        int threads = 3;
+        int operationsPerThread = 5;
+        int capacity = 2;
+        long seed = System.nanoTime();
+        logger.info("{}: linearizability seed {}", policy, seed);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                CacheAlgo<Integer, Long> cache = registry.create(policy, capacity);
+                History history = new History();
+                CyclicBarrier start = new CyclicBarrier(threads);
+                AtomicLong values = new AtomicLong();
+                long roundSeed = seed + round;
+
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int thread = t;
+                    results.add(executor.submit(() -> {
+                        SplittableRandom random = new SplittableRandom(roundSeed * 31 + thread);
+                        start.await();
+                        for (int i = 0; i < operationsPerThread; i++) {
+                            // One more key than fits, so evictions happen
+                            int key = random.nextInt(capacity + 1);
+                            switch (random.nextInt(6)) {
+                                case 0, 1 -> history.put(cache, thread, key, values.incrementAndGet());
+                                case 2, 3 -> history.get(cache, thread, key);
+                                case 4 -> history.containsKey(cache, thread, key);
+                                default -> {
+                                    if (random.nextBoolean()) {
+                                        history.remove(cache, thread, key);
+                                    } else {
+                                        history.size(cache, thread);
+                                    }
+                                }
+                            }
+                        }
+                        return operationsPerThread;
+                    }));
+                }
+                await(results);
+
+                List<Operation> operations = history.operations();
+                int failedRound = round;
+                assertTrue(LinearizabilityChecker.isLinearizable(operations, capacity),
+                        () -> policy + " round " + failedRound + " is not linearizable:\n" + format(operations));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Checker should accept overlapping calls in any order and reject stale reads")
+    void testCheckerSelfTest() {
+        // put(1)=10 overlaps get(1): both a miss and the new value are fine
+        assertTrue(LinearizabilityChecker.isLinearizable(List.of(
+                op(0, Kind.PUT, 1, 10L, null, 1, 4),
+                op(1, Kind.GET, 1, null, 10L, 2, 3)), 2));
+        assertTrue(LinearizabilityChecker.isLinearizable(List.of(
+                op(0, Kind.PUT, 1, 10L, null, 1, 4),
+                op(1, Kind.GET, 1, null, null, 2, 3)), 2));
+
+        // The second put finished before the get started, so the first value is stale
+        assertFalse(LinearizabilityChecker.isLinearizable(List.of(
+                op(0, Kind.PUT, 1, 10L, null, 1, 2),
+                op(0, Kind.PUT, 1, 11L, null, 3, 4),
+                op(1, Kind.GET, 1, null, 10L, 5, 6)), 2));
+
+        // An evicted entry cannot come back
+        assertFalse(LinearizabilityChecker.isLinearizable(List.of(
+                op(0, Kind.PUT, 1, 10L, null, 1, 2),
+                op(1, Kind.CONTAINS, 1, null, 0L, 3, 4),
+                op(1, Kind.GET, 1, null, 10L, 5, 6)), 2));
+
+        // Neither a value never put nor a size above the capacity
+        assertFalse(LinearizabilityChecker.isLinearizable(List.of(
+                op(0, Kind.GET, 1, null, 99L, 1, 2)), 2));
+        assertFalse(LinearizabilityChecker.isLinearizable(List.of(
+                op(0, Kind.PUT, 1, 10L, null, 1, 2),
+                op(0, Kind.PUT, 2, 11L, null, 3, 4),
+                op(0, Kind.PUT, 3, 12L, null, 5, 6),
+                op(1, Kind.SIZE, null, null, 3L, 7, 8)), 2));
+    }
+
+    private interface Worker {
+        Integer run(int thread) throws Exception;
+    }
+
+    private static List<Future<Integer>> run(int threads, Worker worker) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            results.add(executor.submit(() -> worker.run(thread)));
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    // A timeout means a thread is stuck, e.g. looping over a corrupted list
+    private static void await(List<Future<Integer>> results) throws Exception {
+        for (Future<Integer> result : results) {
+            try {
+                result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                results.forEach(pending -> pending.cancel(true));
+                fail("Cache operations did not finish within " + TIMEOUT_SECONDS + " seconds");
+            }
+        }
+    }
+
+    // The key is encoded in every value, so a value under the wrong key is detected
+    private static long value(int key, int thread, int sequence) {
+        return ((long) key << 40) | ((long) thread << 24) | sequence;
+    }
+
+    private static void checkValue(int key, Long value) {
+        if (value != null && value >>> 40 != key) {
+            throw new AssertionError("Key " + key + " mapped to a value of key " + (value >>> 40));
+        }
+    }
+
+    private static Operation op(int thread, Kind kind, Integer key, Long value, Long result, long call, long ret) {
+        return new Operation(thread, kind, key, value, result, call, ret);
+    }
+
+    private static String format(List<Operation> operations) {
+        StringBuilder text = new StringBuilder();
+        operations.stream()
+                .sorted((a, b) -> Long.compare(a.call(), b.call()))
+                .forEach(operation -> text.append("  ").append(operation).append('\n'));
+        return text.toString();
+    }
+}
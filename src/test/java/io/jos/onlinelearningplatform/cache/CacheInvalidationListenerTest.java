@@ -0,0 +1,68 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
+import io.jos.onlinelearningplatform.event.LessonChangedEvent;
+import io.jos.onlinelearningplatform.event.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationListenerTest {
+
+    private GlobalCacheService globalCache;
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        globalCache = new GlobalCacheService(new CacheProperties(), new CachePolicyRegistry());
+        CacheInvalidator invalidator = new CacheInvalidator(globalCache,
+                new MaterialContentCache(new CacheProperties()), new InMemoryInvalidationTransport());
+        listener = new CacheInvalidationListener(globalCache, invalidator);
+    }
+
+    @Test
+    @DisplayName("Lesson change evicts the next lesson of both participants only")
+    void testLessonChangedEvictsNextLessons() {
+        LessonSummary other = lesson(12L);
+        globalCache.nextLessons().put(1L, lesson(10L));
+        globalCache.nextLessons().put(2L, lesson(10L));
+        globalCache.nextLessons().put(3L, other);
+
+        listener.onLessonChanged(new LessonChangedEvent(10L, 1L, 2L));
+
+        assertNull(globalCache.nextLessons().get(1L));
+        assertNull(globalCache.nextLessons().get(2L));
+        assertSame(other, globalCache.nextLessons().get(3L));
+    }
+
+    @Test
+    @DisplayName("User change evicts the profile and username entries of that user")
+    void testUserChangedEvictsUserEntries() {
+        TeacherSummary other = new TeacherSummary(2L, "teacher2", "teacher2@example.com");
+        globalCache.teacherProfiles().put(1L, new TeacherSummary(1L, "teacher1", "teacher1@example.com"));
+        globalCache.teacherIds().put("teacher1", 1L);
+        globalCache.teacherProfiles().put(2L, other);
+
+        listener.onUserChanged(new UserChangedEvent(1L, "teacher1"));
+
+        assertNull(globalCache.teacherProfiles().get(1L));
+        assertNull(globalCache.teacherIds().get("teacher1"));
+        assertSame(other, globalCache.teacherProfiles().get(2L));
+    }
+
+    @Test
+    @DisplayName("Events with unknown participants are ignored")
+    void testNullIdsAreIgnored() {
+        assertDoesNotThrow(() -> listener.onLessonChanged(new LessonChangedEvent(10L, null, null)));
+        assertDoesNotThrow(() -> listener.onUserChanged(new UserChangedEvent(null, null)));
+    }
+
+    private static LessonSummary lesson(Long id) {
+        return new LessonSummary(id, "Lesson " + id, LocalDateTime.now().plusDays(1), "ACCEPTED", null, null, null);
+    }
+}
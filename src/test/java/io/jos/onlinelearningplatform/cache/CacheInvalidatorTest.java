@@ -0,0 +1,99 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.dto.MaterialContent;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two nodes, each with its own caches, connected by one in-memory transport.
+ */
+class CacheInvalidatorTest {
+
+    private InMemoryInvalidationTransport transport;
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        transport = new InMemoryInvalidationTransport();
+        nodeA = new Node(transport);
+        nodeB = new Node(transport);
+    }
+
+    @Test
+    @DisplayName("Should evict a key on every node")
+    void testEvictsOnAllNodes() {
+        TeacherSummary teacher = new TeacherSummary(1L, "teacher1", "teacher1@example.com");
+        nodeA.globalCache.teacherProfiles().put(1L, teacher);
+        nodeB.globalCache.teacherProfiles().put(1L, teacher);
+        nodeB.globalCache.teacherProfiles().put(2L, teacher);
+        nodeA.globalCache.teacherIds().put("teacher1", 1L);
+        nodeB.globalCache.teacherIds().put("teacher1", 1L);
+
+        nodeA.invalidator.invalidate(nodeA.globalCache.teacherProfiles(), 1L);
+        nodeB.invalidator.invalidate(nodeB.globalCache.teacherIds(), "teacher1");
+
+        assertNull(nodeA.globalCache.teacherProfiles().get(1L));
+        assertNull(nodeB.globalCache.teacherProfiles().get(1L));
+        assertNotNull(nodeB.globalCache.teacherProfiles().get(2L));
+        assertNull(nodeA.globalCache.teacherIds().get("teacher1"));
+        assertNull(nodeB.globalCache.teacherIds().get("teacher1"));
+    }
+
+    @Test
+    @DisplayName("Should evict material content on every node")
+    void testEvictsMaterialOnAllNodes() {
+        MaterialContent material = new MaterialContent(5L, "notes.txt", "notes".getBytes());
+        nodeA.materialCache.put(material);
+        nodeB.materialCache.put(material);
+
+        nodeB.invalidator.invalidateMaterial(5L);
+
+        assertNull(nodeA.materialCache.get(5L));
+        assertNull(nodeB.materialCache.get(5L));
+    }
+
+    @Test
+    @DisplayName("Should round-trip keys containing the separator")
+    void testMessageEncoding() {
+        InvalidationMessage message = new InvalidationMessage("node", GlobalCacheService.TEACHER_IDS, "odd|name");
+
+        assertEquals(message, InvalidationMessage.decode(message.encode()));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.decode("garbage"));
+    }
+
+    @Test
+    @DisplayName("Should ignore messages for unknown caches")
+    void testUnknownCache() {
+        assertDoesNotThrow(() -> transport.publish(new InvalidationMessage("other", "courses", "1")));
+    }
+
+    @Test
+    @DisplayName("Should clear all local caches when messages were lost")
+    void testMessagesLost() {
+        nodeA.globalCache.teacherIds().put("teacher1", 1L);
+        nodeA.materialCache.put(new MaterialContent(5L, "notes.txt", "notes".getBytes()));
+
+        nodeA.invalidator.onMessagesLost();
+
+        assertEquals(0, nodeA.globalCache.size());
+        assertEquals(0, nodeA.materialCache.size());
+        // The region works as before once cleared
+        nodeA.globalCache.teacherIds().put("teacher1", 1L);
+        assertEquals(1L, nodeA.globalCache.teacherIds().get("teacher1"));
+    }
+
+    private static final class Node {
+        private final GlobalCacheService globalCache = new GlobalCacheService(new CacheProperties(), new CachePolicyRegistry());
+        private final MaterialContentCache materialCache = new MaterialContentCache(new CacheProperties());
+        private final CacheInvalidator invalidator;
+
+        private Node(InvalidationTransport transport) {
+            invalidator = new CacheInvalidator(globalCache, materialCache, transport);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheRegionTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRegionTest.class);
+
+    private ExpiringCacheAlgoTest.MutableClock clock;
+    private CacheProperties.Region config;
+    // Refresh tasks are queued here and run by the test
+    private List<Runnable> refreshes;
+
+    @BeforeEach
+    void setUp() {
+        clock = new ExpiringCacheAlgoTest.MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+        config = new CacheProperties.Region();
+        config.setTtl(Duration.ofMinutes(10));
+        refreshes = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should run a single load for concurrent misses of the same key")
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        CacheRegion<Long, String> region = region();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, String> loader = id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "teacher" + id;
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> region.get(1L, loader)));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(() -> region.get(1L, loader)));
+            }
+            // Give the other callers time to reach the running load
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("teacher1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, region.snapshot().loads());
+        assertEquals(8, region.snapshot().misses() + region.snapshot().hits());
+        logger.info("Concurrent misses: {}", region.snapshot());
+    }
+
+    @Test
+    @DisplayName("Should load again on every miss when absent keys are not cached")
+    void testAbsentNotCachedByDefault() {
+        CacheRegion<Long, String> region = region();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(region.get(1L, id -> { loads.incrementAndGet(); return null; }));
+        assertNull(region.get(1L, id -> { loads.incrementAndGet(); return null; }));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, region.size());
+    }
+
+    @Test
+    @DisplayName("Should cache absent keys for the negative TTL")
+    void testNegativeCaching() {
+        config.setNegativeTtl(Duration.ofMinutes(2));
+        CacheRegion<Long, String> region = region();
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, String> loader = id -> { loads.incrementAndGet(); return null; };
+
+        assertNull(region.get(1L, loader));
+        assertNull(region.get(1L, loader));
+        assertEquals(1, loads.get());
+        assertTrue(region.contains(1L));
+        // A plain lookup still reports the absent key as a miss
+        assertNull(region.get(1L));
+
+        clock.advance(Duration.ofMinutes(2));
+        assertNull(region.get(1L, loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache anything when the loader throws")
+    void testLoaderFailure() {
+        CacheRegion<String, Long> region = region();
+
+        assertThrows(IllegalArgumentException.class, () -> region.get("ghost", name -> {
+            throw new IllegalArgumentException("User not found with username: " + name);
+        }));
+
+        assertFalse(region.contains("ghost"));
+        assertEquals(7L, region.get("ghost", name -> 7L));
+    }
+
+    @Test
+    @DisplayName("Should cap a loaded value at its own deadline")
+    void testLoadedValueDeadline() {
+        CacheRegion<Long, String> region = region();
+        LocalDateTime startsAt = LocalDateTime.ofInstant(clock.instant().plus(Duration.ofMinutes(3)), ZoneId.systemDefault());
+
+        region.get(1L, id -> "lesson", lesson -> startsAt);
+        clock.advance(Duration.ofMinutes(3));
+
+        assertFalse(region.contains(1L));
+    }
+
+    @Test
+    @DisplayName("Should serve the cached value while refreshing it ahead of expiry")
+    void testRefreshAhead() {
+        config.setRefreshAhead(Duration.ofMinutes(2));
+        CacheRegion<Long, String> region = region();
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, String> loader = id -> "v" + loads.incrementAndGet();
+
+        assertEquals("v1", region.get(1L, loader));
+        clock.advance(Duration.ofMinutes(7));
+        assertEquals("v1", region.get(1L, loader));
+        assertTrue(refreshes.isEmpty());
+
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals("v1", region.get(1L, loader));
+        assertEquals("v1", region.get(1L, loader));
+        // Only one refresh per key is in flight
+        assertEquals(1, refreshes.size());
+
+        refreshes.remove(0).run();
+        assertEquals("v2", region.get(1L, loader));
+        // The refreshed value has a fresh TTL
+        clock.advance(Duration.ofMinutes(9));
+        assertEquals("v2", region.get(1L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should keep serving the old value when a refresh fails")
+    void testFailedRefresh() {
+        config.setRefreshAhead(Duration.ofMinutes(2));
+        CacheRegion<Long, String> region = region();
+        region.get(1L, id -> "v1");
+
+        clock.advance(Duration.ofMinutes(9));
+        region.get(1L, id -> { throw new IllegalStateException("database down"); });
+        refreshes.remove(0).run();
+
+        assertEquals("v1", region.get(1L));
+    }
+
+    @Test
+    @DisplayName("Should not store a value loaded before the key was evicted")
+    void testEvictionDuringLoad() {
+        config.setRefreshAhead(Duration.ofMinutes(2));
+        CacheRegion<Long, String> region = region();
+        region.get(1L, id -> "old");
+
+        clock.advance(Duration.ofMinutes(9));
+        region.get(1L, id -> "stale");
+        // The lesson changes after the refresh read it but before it is stored
+        region.evict(1L);
+        refreshes.remove(0).run();
+
+        assertFalse(region.contains(1L));
+        assertEquals("new", region.get(1L, id -> "new"));
+    }
+
+    @Test
+    @DisplayName("Should keep the most recent entries when resized down")
+    void testResize() {
+        CacheRegion<Long, String> region = region();
+        for (long id = 0; id < 100; id++) {
+            region.put(id, "teacher" + id);
+        }
+
+        region.resize(10);
+
+        assertEquals(10, region.capacity());
+        assertEquals(10, region.size());
+        assertEquals(10, region.snapshot().capacity());
+        assertEquals("teacher99", region.get(99L));
+        assertNull(region.get(0L));
+        assertThrows(IllegalArgumentException.class, () -> region.resize(0));
+    }
+
+    private <K, V> CacheRegion<K, V> region() {
+        return new CacheRegion<>("test", null, config, new CachePolicyRegistry(), clock, refreshes::add, null, null, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
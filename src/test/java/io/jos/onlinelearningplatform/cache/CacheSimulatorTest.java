@@ -0,0 +1,126 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSimulatorTest {
+
+    private final CacheSimulator simulator = new CacheSimulator(new CachePolicyRegistry());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should record region lookups, evictions and clears and read them back")
+    void testRecordAndRead() throws Exception {
+        CacheProperties properties = new CacheProperties();
+        properties.getTrace().setEnabled(true);
+        properties.getTrace().setDirectory(directory.toString());
+        GlobalCacheService globalCache = new GlobalCacheService(properties, new CachePolicyRegistry());
+
+        CacheRegion<Long, String> nextLessons = cast(globalCache.region(GlobalCacheService.NEXT_LESSONS));
+        nextLessons.get(1L);
+        nextLessons.get(2L, id -> "lesson" + id);
+        nextLessons.get(1L);
+        nextLessons.evict(2L);
+        nextLessons.clear();
+        globalCache.closeTraces();
+
+        long[] trace = CacheTrace.read(directory.resolve(GlobalCacheService.NEXT_LESSONS + CacheTrace.EXTENSION));
+        assertEquals(5, trace.length);
+        assertEquals(trace[0], trace[2]);
+        assertNotEquals(trace[0], trace[1]);
+        assertFalse(CacheTrace.isEviction(trace[1]));
+        assertTrue(CacheTrace.isEviction(trace[3]));
+        assertEquals(trace[1], CacheTrace.key(trace[3]));
+        assertEquals(CacheTrace.CLEAR, trace[4]);
+        // Every region gets its own file, even if it was never used
+        assertTrue(Files.exists(directory.resolve(GlobalCacheService.TEACHER_PROFILES + CacheTrace.EXTENSION)));
+    }
+
+    @Test
+    @DisplayName("Should stop recording once the size limit is reached")
+    void testSizeLimit() throws Exception {
+        Path file = directory.resolve("limited" + CacheTrace.EXTENSION);
+        try (CacheTrace trace = new CacheTrace(file, 3 * Long.BYTES)) {
+            for (long key = 0; key < 10; key++) {
+                trace.recordAccess(key);
+            }
+        }
+
+        assertEquals(3, CacheTrace.read(file).length);
+    }
+
+    @Test
+    @DisplayName("Should count a lookup as a hit only while the key is cached")
+    void testReplay() {
+        // a b a c a: with room for two keys, LRU evicts b for c and keeps a
+        long[] trace = {1, 2, 1, 3, 1};
+
+        CacheSimulator.Result result = simulator.simulate(trace, List.of("lru"), new int[] {2}).get(0);
+
+        assertEquals(5, result.accesses());
+        assertEquals(2, result.hits());
+        assertEquals(0.4, result.hitRatio());
+    }
+
+    @Test
+    @DisplayName("Should replay evictions and clears as misses on the next lookup")
+    void testReplayEvictionsAndClears() {
+        long[] trace = {1, 2, 1 | Long.MIN_VALUE, 1, 2, CacheTrace.CLEAR, 2};
+
+        CacheSimulator.Result result = simulator.simulate(trace, List.of("lru"), new int[] {10}).get(0);
+
+        assertEquals(5, result.accesses());
+        assertEquals(1, result.hits());
+    }
+
+    @Test
+    @DisplayName("Should produce one result per policy and capacity, growing with the capacity")
+    void testHitRatioCurves() {
+        // Repeated passes over 100 keys: nothing fits below 100, everything after the first pass above
+        long[] trace = LongStream.range(0, 1000).map(i -> 1 + i % 100).toArray();
+        List<String> policies = List.copyOf(new CachePolicyRegistry().ids());
+        int[] capacities = CacheSimulator.defaultCapacities(trace);
+
+        List<CacheSimulator.Result> results = simulator.simulate(trace, policies, capacities);
+
+        assertArrayEquals(new int[] {16, 32, 64, 100}, capacities);
+        assertEquals(policies.size() * capacities.length, results.size());
+        for (int p = 0; p < policies.size(); p++) {
+            CacheSimulator.Result largest = results.get(p * capacities.length + capacities.length - 1);
+            assertEquals(policies.get(p), largest.policy());
+            assertEquals(100, largest.capacity());
+            assertEquals(0.9, largest.hitRatio(), 1e-9, largest.policy());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CacheSimulator.print(results.subList(0, 1), new PrintStream(out, true));
+        assertEquals("policy,capacity,accesses,hits,hit_ratio", out.toString().lines().findFirst().orElseThrow());
+        assertTrue(out.toString().lines().skip(1).findFirst().orElseThrow().startsWith(policies.get(0) + ",16,1000,"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown policies and non-positive capacities")
+    void testInvalidArguments() {
+        long[] trace = {1, 2};
+
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(trace, List.of("random"), new int[] {2}));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(trace, List.of("lru"), new int[] {0}));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> CacheRegion<K, V> cast(CacheRegion<?, ?> region) {
+        return (CacheRegion<K, V>) region;
+    }
+}
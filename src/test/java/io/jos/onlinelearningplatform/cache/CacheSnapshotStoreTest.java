@@ -0,0 +1,195 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ExpiringCacheAlgoTest.MutableClock clock;
+    private CacheProperties properties;
+    private GlobalCacheService before;
+
+    @BeforeEach
+    void setUp() {
+        clock = new ExpiringCacheAlgoTest.MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+        properties = new CacheProperties();
+        properties.getSnapshot().setFile(directory.resolve("regions.snapshot").toString());
+        before = new GlobalCacheService(properties, new CachePolicyRegistry(), clock);
+    }
+
+    @Test
+    @DisplayName("Should restore values with their deadlines into a restarted node")
+    void testSaveAndRestore() throws Exception {
+        before.teacherProfiles().put(1L, new TeacherSummary(1L, "teacher1", "t1@test.com"));
+        before.teacherIds().put("teacher1", 1L);
+        LocalDateTime lessonStart = LocalDateTime.ofInstant(clock.instant().plus(Duration.ofMinutes(3)), ZoneId.systemDefault());
+        before.nextLessons().put(7L, lesson(lessonStart), lessonStart);
+        // Known to be absent: not worth saving
+        before.nextLessons().put(8L, null);
+        store(before).save();
+
+        clock.advance(Duration.ofMinutes(1));
+        GlobalCacheService after = new GlobalCacheService(properties, new CachePolicyRegistry(), clock);
+        assertEquals(3, store(after).restore());
+
+        assertEquals("teacher1", after.teacherProfiles().get(1L).username());
+        assertEquals(1L, after.teacherIds().get("teacher1"));
+        assertEquals(lessonStart, after.nextLessons().get(7L).timestamp());
+        assertFalse(after.nextLessons().contains(8L));
+        // The lesson still starts when it did, the entry does not get a fresh TTL
+        clock.advance(Duration.ofMinutes(2));
+        assertNull(after.nextLessons().get(7L));
+    }
+
+    @Test
+    @DisplayName("Should skip expired entries and keys cached since the restart")
+    void testRestoreSkipsStaleEntries() throws Exception {
+        LocalDateTime lessonStart = LocalDateTime.ofInstant(clock.instant().plus(Duration.ofMinutes(1)), ZoneId.systemDefault());
+        before.nextLessons().put(7L, lesson(lessonStart), lessonStart);
+        before.teacherProfiles().put(1L, new TeacherSummary(1L, "old", "old@test.com"));
+        store(before).save();
+
+        clock.advance(Duration.ofMinutes(2));
+        GlobalCacheService after = new GlobalCacheService(properties, new CachePolicyRegistry(), clock);
+        after.teacherProfiles().put(1L, new TeacherSummary(1L, "new", "new@test.com"));
+
+        assertEquals(0, store(after).restore());
+        assertFalse(after.nextLessons().contains(7L));
+        assertEquals("new", after.teacherProfiles().get(1L).username());
+    }
+
+    @Test
+    @DisplayName("Should ignore a snapshot older than the maximum age")
+    void testRestoreIgnoresOldSnapshot() throws Exception {
+        before.teacherIds().put("teacher1", 1L);
+        store(before).save();
+
+        clock.advance(properties.getSnapshot().getMaxAge().plusSeconds(1));
+        GlobalCacheService after = new GlobalCacheService(properties, new CachePolicyRegistry(), clock);
+
+        assertEquals(0, store(after).restore());
+        assertFalse(after.teacherIds().contains("teacher1"));
+    }
+
+    @Test
+    @DisplayName("Should save only the hottest entries and leave out regions that cannot be serialized")
+    void testHottestEntriesAndUnserializableRegions() throws Exception {
+        properties.getSnapshot().setMaxEntries(2);
+        properties.getSnapshot().setRegions(List.of(GlobalCacheService.TEACHABLE_COURSES, GlobalCacheService.TEACHER_IDS));
+        before.annotatedRegions().get(GlobalCacheService.TEACHABLE_COURSES).put(1L, List.of(new Object()));
+        before.teacherIds().put("teacher1", 1L);
+        before.teacherIds().put("teacher2", 2L);
+        before.teacherIds().put("teacher3", 3L);
+        store(before).save();
+
+        GlobalCacheService after = new GlobalCacheService(properties, new CachePolicyRegistry(), clock);
+        assertEquals(2, store(after).restore());
+
+        assertEquals(2, after.teacherIds().size());
+        assertEquals(0, after.annotatedRegions().get(GlobalCacheService.TEACHABLE_COURSES).size());
+    }
+
+    @Test
+    @DisplayName("Should leave a region cold when its entries exceed the deserialization limits")
+    void testRestoreRejectsOversizedEntries() throws Exception {
+        properties.getSnapshot().setRegions(List.of(GlobalCacheService.TEACHABLE_COURSES, GlobalCacheService.TEACHER_IDS));
+        before.annotatedRegions().get(GlobalCacheService.TEACHABLE_COURSES).put(1L, new ArrayList<>(Collections.nCopies(20_000, 1L)));
+        before.teacherIds().put("teacher1", 1L);
+        store(before).save();
+
+        GlobalCacheService after = new GlobalCacheService(properties, new CachePolicyRegistry(), clock);
+        assertEquals(1, store(after).restore());
+
+        assertEquals(1L, after.teacherIds().get("teacher1"));
+        assertEquals(0, after.annotatedRegions().get(GlobalCacheService.TEACHABLE_COURSES).size());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(ints = {-1, Integer.MAX_VALUE})
+    @DisplayName("Should leave a region cold and restore the others when its entry count is corrupt")
+    void testRestoreRejectsCorruptEntryCount(int count) throws Exception {
+        properties.getSnapshot().setRegions(List.of(GlobalCacheService.TEACHER_IDS, GlobalCacheService.TEACHER_PROFILES));
+        before.teacherIds().put("teacher1", 1L);
+        before.teacherProfiles().put(1L, new TeacherSummary(1L, "teacher1", "t1@test.com"));
+        store(before).save();
+
+        // Header, then the first block's name and length, then the serialization stream header and block data marker
+        Path file = Path.of(properties.getSnapshot().getFile());
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        int countOffset = 20 + Integer.BYTES + GlobalCacheService.TEACHER_IDS.length() + Integer.BYTES + 6;
+        assertEquals(1, bytes.getInt(countOffset));
+        bytes.putInt(countOffset, count);
+        Files.write(file, bytes.array());
+
+        GlobalCacheService after = new GlobalCacheService(properties, new CachePolicyRegistry(), clock);
+        assertEquals(1, store(after).restore());
+
+        assertFalse(after.teacherIds().contains("teacher1"));
+        assertEquals("teacher1", after.teacherProfiles().get(1L).username());
+    }
+
+    @Test
+    @DisplayName("Should refuse to enable snapshots without an absolute file")
+    void testEnabledNeedsAbsoluteFile() {
+        properties.getSnapshot().setEnabled(true);
+        assertNotNull(store(before));
+
+        properties.getSnapshot().setFile("cache-snapshot/regions.snapshot");
+        assertThrows(IllegalArgumentException.class, () -> store(before));
+        properties.getSnapshot().setFile(null);
+        assertThrows(IllegalArgumentException.class, () -> store(before));
+    }
+
+    @Test
+    @DisplayName("Should start cold on a missing, foreign or truncated snapshot")
+    void testRestoreUnreadableSnapshots() throws Exception {
+        GlobalCacheService after = new GlobalCacheService(properties, new CachePolicyRegistry(), clock);
+        CacheSnapshotStore store = store(after);
+        assertEquals(0, store.restore());
+
+        Path file = Path.of(properties.getSnapshot().getFile());
+        Files.writeString(file, "not a snapshot");
+        assertEquals(0, store.restore());
+
+        before.teacherIds().put("teacher1", 1L);
+        store(before).save();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+        assertEquals(0, store.restore());
+        assertFalse(after.teacherIds().contains("teacher1"));
+    }
+
+    private CacheSnapshotStore store(GlobalCacheService globalCache) {
+        return new CacheSnapshotStore(globalCache, properties, clock);
+    }
+
+    private static LessonSummary lesson(LocalDateTime start) {
+        return new LessonSummary(7L, "Algebra", start, "SCHEDULED",
+                new LessonSummary.CourseInfo(3L, "Math"),
+                new LessonSummary.Participant(1L, "teacher1"),
+                new LessonSummary.Participant(2L, "student1"));
+    }
+}
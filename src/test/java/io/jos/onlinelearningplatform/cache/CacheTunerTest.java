@@ -0,0 +1,70 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheTunerTest {
+
+    @Test
+    @DisplayName("Should spend the budget where it buys the most hits per byte")
+    void testAllocate() {
+        // A loop over 100 keys: worthless below 100 entries, 900 hits at 100
+        MissRatioCurve loop = curve(10, 1000, capacity -> capacity >= 100 ? 900 : 0);
+        // Uniform over 1000 keys: one hit per entry
+        MissRatioCurve uniform = curve(10, 1000, capacity -> capacity);
+        long[] entryBytes = {1, 1};
+
+        assertArrayEquals(new int[] {100, 200},
+                CacheTuner.allocate(new MissRatioCurve[] {loop, uniform}, entryBytes, new int[] {50, 50}, 300, 10));
+        // Too small for the loop to pay off, the uniform region gets it all
+        assertArrayEquals(new int[] {10, 80},
+                CacheTuner.allocate(new MissRatioCurve[] {loop, uniform}, entryBytes, new int[] {50, 50}, 90, 10));
+        // Bigger entries cost more of the budget for the same hits
+        assertArrayEquals(new int[] {100, 10},
+                CacheTuner.allocate(new MissRatioCurve[] {loop, uniform}, new long[] {1, 20}, new int[] {50, 50}, 400, 10));
+    }
+
+    @Test
+    @DisplayName("Should leave regions with too few lookups at their current size")
+    void testAllocateKeepsQuietRegions() {
+        MissRatioCurve quiet = curve(10, 5, capacity -> 0);
+        MissRatioCurve uniform = curve(10, 1000, capacity -> capacity);
+
+        assertArrayEquals(new int[] {50, 250},
+                CacheTuner.allocate(new MissRatioCurve[] {quiet, uniform}, new long[] {1, 1}, new int[] {50, 50}, 300, 10));
+    }
+
+    @Test
+    @DisplayName("Should resize a busy region from its sampled curve and leave idle ones alone")
+    void testTune() {
+        CacheProperties properties = new CacheProperties();
+        properties.getTuning().setEnabled(true);
+        properties.getTuning().setSamplingRate(1.0);
+        properties.getTuning().setMemoryBudget(DataSize.ofKilobytes(2048));
+        GlobalCacheService globalCache = new GlobalCacheService(properties, new CachePolicyRegistry());
+        CacheTuner tuner = new CacheTuner(globalCache, properties);
+
+        for (int pass = 0; pass < 5; pass++) {
+            for (long id = 0; id < 300; id++) {
+                globalCache.teacherProfiles().get(id, key -> null);
+            }
+        }
+        tuner.tune();
+
+        assertTrue(globalCache.teacherProfiles().capacity() >= 300,
+                "capacity " + globalCache.teacherProfiles().capacity());
+        assertTrue(globalCache.teacherProfiles().capacity() <= 2048);
+        assertEquals(100, globalCache.nextLessons().capacity());
+    }
+
+    private static MissRatioCurve curve(int bucketWidth, double references, java.util.function.IntToDoubleFunction hits) {
+        double[] cumulative = new double[100];
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] = hits.applyAsDouble((i + 1) * bucketWidth);
+        }
+        return new MissRatioCurve(bucketWidth, references, cumulative);
+    }
+}
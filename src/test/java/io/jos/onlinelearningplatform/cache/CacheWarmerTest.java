@@ -0,0 +1,132 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.model.Course;
+import io.jos.onlinelearningplatform.model.Lesson;
+import io.jos.onlinelearningplatform.model.Student;
+import io.jos.onlinelearningplatform.model.Teacher;
+import io.jos.onlinelearningplatform.repository.LessonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CacheWarmerTest {
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    private GlobalCacheService globalCache;
+    private CacheProperties properties;
+    private CacheWarmer warmer;
+
+    private final Teacher teacher = teacher(1L, "teacher1");
+    private final Student alice = student(2L, "alice");
+    private final Student bob = student(3L, "bob");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new CacheProperties();
+        properties.getWarmup().setBatchSize(2);
+        globalCache = new GlobalCacheService(properties, new CachePolicyRegistry());
+        warmer = new CacheWarmer(lessonRepository, globalCache, properties, TransactionOperations.withoutTransaction());
+    }
+
+    @Test
+    @DisplayName("Should cache each user's first upcoming lesson and the teacher's profile")
+    void testWarmUp() {
+        Lesson first = lesson(10L, teacher, alice, 1);
+        Lesson second = lesson(11L, teacher, bob, 2);
+        Lesson third = lesson(12L, teacher, alice, 3);
+        when(lessonRepository.findUpcomingWithParticipants(any(), any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(first, second));
+        when(lessonRepository.findUpcomingWithParticipants(any(), any(), eq(PageRequest.of(1, 2))))
+                .thenReturn(List.of(third));
+
+        int cached = warmer.warmUp();
+
+        assertEquals(10L, globalCache.nextLessons().get(teacher.getId()).id());
+        assertEquals(10L, globalCache.nextLessons().get(alice.getId()).id());
+        assertEquals(11L, globalCache.nextLessons().get(bob.getId()).id());
+        assertEquals("teacher1", globalCache.teacherProfiles().get(teacher.getId()).username());
+        assertEquals(teacher.getId(), globalCache.teacherIds().get("teacher1"));
+        assertEquals(5, cached);
+        verify(lessonRepository, times(2)).findUpcomingWithParticipants(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should leave entries cached by live requests alone")
+    void testKeepsExistingEntries() {
+        LessonSummary live = LessonSummary.of(lesson(99L, teacher, alice, 1));
+        globalCache.nextLessons().put(alice.getId(), live);
+        when(lessonRepository.findUpcomingWithParticipants(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(lesson(10L, teacher, alice, 1)));
+
+        warmer.warmUp();
+
+        assertSame(live, globalCache.nextLessons().get(alice.getId()));
+    }
+
+    @Test
+    @DisplayName("Should stop between pages once the time budget is spent")
+    void testTimeBudget() {
+        properties.getWarmup().setTimeBudget(Duration.ZERO);
+        when(lessonRepository.findUpcomingWithParticipants(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(lesson(10L, teacher, alice, 1), lesson(11L, teacher, bob, 2)));
+
+        warmer.warmUp();
+
+        verify(lessonRepository, times(1)).findUpcomingWithParticipants(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should not propagate database failures")
+    void testFailure() {
+        when(lessonRepository.findUpcomingWithParticipants(any(), any(), any(Pageable.class)))
+                .thenThrow(new RuntimeException("Database unavailable"));
+
+        assertEquals(0, warmer.warmUp());
+    }
+
+    private static Lesson lesson(Long id, Teacher teacher, Student student, int daysAhead) {
+        Course course = new Course();
+        course.setId(100L);
+        course.setTitle("Algebra");
+        Lesson lesson = new Lesson();
+        lesson.setId(id);
+        lesson.setCourse(course);
+        lesson.setTeacher(teacher);
+        lesson.setStudent(student);
+        lesson.setStatus("ACCEPTED");
+        lesson.setTimestamp(LocalDateTime.now().plusDays(daysAhead));
+        return lesson;
+    }
+
+    private static Teacher teacher(Long id, String username) {
+        Teacher teacher = new Teacher();
+        teacher.setId(id);
+        teacher.setUsername(username);
+        return teacher;
+    }
+
+    private static Student student(Long id, String username) {
+        Student student = new Student();
+        student.setId(id);
+        student.setUsername(username);
+        return student;
+    }
+}
@@ -0,0 +1,138 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLRUCacheAlgoTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentLRUCacheAlgoTest.class);
+
+    @Test
+    @DisplayName("Should behave as an exact LRU with a single segment")
+    void testSingleSegmentLRU() {
+        logger.info("Testing single segment LRU eviction");
+
+        ConcurrentLRUCacheAlgo<String, String> cache = new ConcurrentLRUCacheAlgo<>(3, 1);
+        cache.put("key1", "value1");
+        cache.put("key2", "value2");
+        cache.put("key3", "value3");
+
+        // Access key1 so key2 becomes the least recently used
+        cache.get("key1");
+        cache.put("key4", "value4");
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.containsKey("key1"));
+        assertFalse(cache.containsKey("key2"));
+        assertTrue(cache.containsKey("key3"));
+        assertTrue(cache.containsKey("key4"));
+
+        logger.info("Single segment LRU test passed - key2 evicted, cache size: {}", cache.size());
+    }
+
+    @Test
+    @DisplayName("Should never hold more entries than its capacity")
+    void testCapacityIsSplitAcrossSegments() {
+        logger.info("Testing capacity split across segments");
+
+        ConcurrentLRUCacheAlgo<Integer, Integer> cache = new ConcurrentLRUCacheAlgo<>(50, 16);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, i);
+            assertTrue(cache.size() <= 50);
+        }
+
+        assertEquals(16, cache.segmentCount());
+        assertEquals(50, cache.capacity());
+        logger.info("Capacity split test passed - {} segments, final size: {}", cache.segmentCount(), cache.size());
+    }
+
+    @Test
+    @DisplayName("Should not use more segments than entries")
+    void testSegmentCountBoundedByCapacity() {
+        ConcurrentLRUCacheAlgo<String, String> cache = new ConcurrentLRUCacheAlgo<>(3, 64);
+
+        assertEquals(2, cache.segmentCount());
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        cache.put("d", "4");
+        assertTrue(cache.size() <= 3);
+    }
+
+    @Test
+    @DisplayName("Should handle null keys and values")
+    void testNullKeysAndValues() {
+        ConcurrentLRUCacheAlgo<String, String> cache = new ConcurrentLRUCacheAlgo<>(4);
+
+        cache.put(null, "nullKey");
+        cache.put("nullValue", null);
+
+        assertEquals("nullKey", cache.get(null));
+        assertTrue(cache.containsKey("nullValue"));
+        assertNull(cache.get("nullValue"));
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive capacity")
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLRUCacheAlgo<String, String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLRUCacheAlgo<String, String>(10, 0));
+    }
+
+    @Test
+    @DisplayName("Should stay consistent under concurrent readers and writers")
+    void testConcurrentAccess() throws Exception {
+        logger.info("Testing concurrent access from multiple threads");
+
+        int threads = 8;
+        int capacity = 64;
+        ConcurrentLRUCacheAlgo<Integer, Integer> cache = new ConcurrentLRUCacheAlgo<>(capacity);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        int key = random.nextInt(256);
+                        if (random.nextInt(4) == 0) {
+                            cache.put(key, key);
+                        } else {
+                            Integer value = cache.get(key);
+                            // A key only ever maps to itself, so any other value means a corrupted segment
+                            if (value != null && value != key) {
+                                throw new AssertionError("Key " + key + " mapped to " + value);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(cache.size() <= capacity);
+        logger.info("Concurrent access test passed - final cache size: {}", cache.size());
+    }
+}
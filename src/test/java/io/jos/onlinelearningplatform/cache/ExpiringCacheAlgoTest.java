@@ -0,0 +1,136 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheAlgoTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiringCacheAlgoTest.class);
+
+    private MutableClock clock;
+    private ExpiringCacheAlgo<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+        cache = new ExpiringCacheAlgo<>(new LRUCacheAlgo<>(10), Duration.ofMinutes(5), clock, 1000);
+        logger.info("ExpiringCacheAlgoTest setup completed - capacity 10, default TTL 5 minutes");
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the default TTL")
+    void testDefaultTtl() {
+        cache.put("key1", "value1");
+
+        clock.advance(Duration.ofMinutes(5).minusMillis(1));
+        assertEquals("value1", cache.get("key1"));
+
+        clock.advance(Duration.ofMillis(1));
+        assertNull(cache.get("key1"));
+        assertFalse(cache.containsKey("key1"));
+    }
+
+    @Test
+    @DisplayName("Should expire an entry exactly at its own deadline")
+    void testPerEntryDeadline() {
+        Instant lessonStart = clock.instant().plusMillis(1_500);
+        cache.put("next", "lesson", lessonStart);
+
+        clock.advance(Duration.ofMillis(1_499));
+        assertEquals("lesson", cache.get("next"));
+
+        // Between wheel ticks, the read-side check still hides the entry
+        clock.advance(Duration.ofMillis(1));
+        assertNull(cache.get("next"));
+    }
+
+    @Test
+    @DisplayName("Should free capacity of expired entries without reading them")
+    void testProactiveRemoval() {
+        for (int i = 0; i < 5; i++) {
+            cache.put("short" + i, "v", clock.instant().plusSeconds(2));
+        }
+        cache.put("long", "v", clock.instant().plusSeconds(60));
+        assertEquals(6, cache.size());
+
+        clock.advance(Duration.ofSeconds(3));
+        assertEquals(1, cache.size());
+        assertEquals("v", cache.get("long"));
+    }
+
+    @Test
+    @DisplayName("Should keep the newer deadline when a key is re-put")
+    void testRePutReplacesDeadline() {
+        cache.put("key", "old", clock.instant().plusSeconds(2));
+        cache.put("key", "new", clock.instant().plusSeconds(10));
+
+        clock.advance(Duration.ofSeconds(5));
+        assertEquals("new", cache.get("key"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should never expire entries stored without a deadline")
+    void testNoDeadline() {
+        cache.put("forever", "v", null);
+        clock.advance(Duration.ofDays(365));
+        assertEquals("v", cache.get("forever"));
+    }
+
+    @Test
+    @DisplayName("Should drop the existing entry when put with a past deadline")
+    void testPastDeadline() {
+        cache.put("key", "value1");
+        cache.put("key", "value2", clock.instant().minusSeconds(1));
+
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should remove entries explicitly")
+    void testRemove() {
+        cache.put("key", "value");
+        assertEquals("value", cache.remove("key"));
+        assertNull(cache.get("key"));
+        assertNull(cache.remove("key"));
+    }
+
+    static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.TeacherSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalCacheServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalCacheServiceTest.class);
+
+    private ExpiringCacheAlgoTest.MutableClock clock;
+    private CacheProperties properties;
+    private GlobalCacheService globalCache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new ExpiringCacheAlgoTest.MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+        properties = new CacheProperties();
+        properties.getRegions().put(GlobalCacheService.TEACHER_PROFILES, region(50, "lru", Duration.ofMinutes(30)));
+        properties.getRegions().put(GlobalCacheService.NEXT_LESSONS, region(5, "w-tinylfu", Duration.ofMinutes(10)));
+        globalCache = new GlobalCacheService(properties, new CachePolicyRegistry(), clock);
+    }
+
+    @Test
+    @DisplayName("Should size each region independently")
+    void testRegionsAreIndependent() {
+        for (long id = 0; id < 20; id++) {
+            globalCache.nextLessons().put(id, lesson());
+        }
+        TeacherSummary teacher = teacher();
+        globalCache.teacherProfiles().put(1L, teacher);
+
+        assertEquals(5, globalCache.nextLessons().size());
+        assertSame(teacher, globalCache.teacherProfiles().get(1L));
+        assertEquals(50, globalCache.teacherProfiles().capacity());
+        // Regions without settings fall back to the defaults
+        assertEquals(new CacheProperties.Region().getCapacity(), globalCache.teacherIds().capacity());
+    }
+
+    @Test
+    @DisplayName("Should count hits, misses and puts per region")
+    void testHitsMissesAndPuts() {
+        globalCache.teacherIds().put("alice", 1L);
+        globalCache.teacherIds().get("alice");
+        globalCache.teacherIds().get("alice");
+        globalCache.teacherIds().get("bob");
+        globalCache.nextLessons().get(1L);
+
+        CacheStatsSnapshot ids = globalCache.stats().get(GlobalCacheService.TEACHER_IDS);
+        assertEquals(2, ids.hits());
+        assertEquals(1, ids.misses());
+        assertEquals(1, ids.puts());
+        assertEquals(2.0 / 3, ids.hitRate(), 1e-9);
+        assertEquals(1, ids.size());
+
+        CacheStatsSnapshot lessons = globalCache.stats().get(GlobalCacheService.NEXT_LESSONS);
+        assertEquals(0, lessons.hits());
+        assertEquals(1, lessons.misses());
+        assertEquals("w-tinylfu", lessons.policy());
+        logger.info("Region stats: {}", globalCache.stats());
+    }
+
+    @Test
+    @DisplayName("Should count evictions once a region is full")
+    void testEvictions() {
+        for (long id = 0; id < 60; id++) {
+            globalCache.teacherProfiles().put(id, teacher());
+        }
+
+        CacheStatsSnapshot profiles = globalCache.stats().get(GlobalCacheService.TEACHER_PROFILES);
+        assertEquals(60, profiles.puts());
+        assertEquals(50, profiles.size());
+        assertEquals(10, profiles.evictions());
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the region TTL and count them")
+    void testExpirations() {
+        globalCache.teacherProfiles().put(1L, teacher());
+        globalCache.nextLessons().put(1L, lesson());
+
+        clock.advance(Duration.ofMinutes(11));
+        globalCache.logCacheStats();
+        assertEquals(1, globalCache.stats().get(GlobalCacheService.NEXT_LESSONS).expirations());
+        assertNotNull(globalCache.teacherProfiles().get(1L));
+
+        clock.advance(Duration.ofMinutes(20));
+        assertNull(globalCache.teacherProfiles().get(1L));
+        assertEquals(0, globalCache.size());
+    }
+
+    @Test
+    @DisplayName("Should expire a lesson when it starts if that comes before the region TTL")
+    void testLessonDeadline() {
+        LocalDateTime startsAt = LocalDateTime.ofInstant(clock.instant().plus(Duration.ofMinutes(2)), ZoneId.systemDefault());
+        globalCache.nextLessons().put(1L, lesson(), startsAt);
+        LocalDateTime later = LocalDateTime.ofInstant(clock.instant().plus(Duration.ofHours(2)), ZoneId.systemDefault());
+        globalCache.nextLessons().put(2L, lesson(), later);
+
+        clock.advance(Duration.ofMinutes(3));
+        assertNull(globalCache.nextLessons().get(1L));
+        assertNotNull(globalCache.nextLessons().get(2L));
+
+        // The region TTL still caps the later lesson
+        clock.advance(Duration.ofMinutes(8));
+        assertNull(globalCache.nextLessons().get(2L));
+    }
+
+    @Test
+    @DisplayName("Should reject settings for unknown regions")
+    void testUnknownRegion() {
+        properties.getRegions().put("courses", new CacheProperties.Region());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new GlobalCacheService(properties, new CachePolicyRegistry(), clock));
+    }
+
+    private static LessonSummary lesson() {
+        return new LessonSummary(1L, "Lesson", LocalDateTime.now().plusDays(1), "ACCEPTED", null, null, null);
+    }
+
+    private static TeacherSummary teacher() {
+        return new TeacherSummary(1L, "teacher1", "teacher1@example.com");
+    }
+
+    private static CacheProperties.Region region(int capacity, String policy, Duration ttl) {
+        CacheProperties.Region region = new CacheProperties.Region();
+        region.setCapacity(capacity);
+        region.setPolicy(policy);
+        region.setTtl(ttl);
+        return region;
+    }
+}
@@ -0,0 +1,115 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeySketchTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeySketchTest.class);
+
+    @Test
+    @DisplayName("Should list the keys that dominate a long tail, highest count first")
+    void testHeavyHitters() {
+        HotKeySketch sketch = new HotKeySketch(1024, 5);
+        SplittableRandom random = new SplittableRandom(1);
+
+        // Key h is hot with weight 5 - h, everything else is seen a few times at most
+        for (int i = 0; i < 5_000; i++) {
+            for (long hot = 0; hot < 5; hot++) {
+                if (random.nextInt(5) < 5 - hot) {
+                    sketch.record(hot);
+                }
+            }
+            sketch.record(1_000L + random.nextInt(100_000));
+        }
+
+        List<HotKey> top = sketch.top();
+        logger.info("Top keys: {}", top);
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), top.stream().map(HotKey::key).toList());
+        // Decayed along the way, so only the ratios are meaningful
+        assertEquals(5.0 / 3, (double) top.get(0).count() / top.get(2).count(), 0.2);
+    }
+
+    @Test
+    @DisplayName("Should never estimate less than the true count before decaying")
+    void testEstimateUpperBound() {
+        HotKeySketch sketch = new HotKeySketch(64, 3);
+        long[] counts = new long[200];
+        SplittableRandom random = new SplittableRandom(2);
+        // Fewer records than the decay sample of 640
+        for (int i = 0; i < 600; i++) {
+            int key = random.nextInt(counts.length);
+            counts[key]++;
+            sketch.record(key);
+        }
+
+        for (int key = 0; key < counts.length; key++) {
+            assertTrue(sketch.estimate(key) >= counts[key], "key " + key);
+        }
+    }
+
+    @Test
+    @DisplayName("Should halve the counts once the sample is reached")
+    void testDecay() {
+        HotKeySketch sketch = new HotKeySketch(16, 2);
+        for (int i = 0; i < 100; i++) {
+            sketch.record("teacher1");
+        }
+        assertEquals(100, sketch.estimate("teacher1"));
+
+        // The 160th record halves every counter
+        for (int i = 0; i < 60; i++) {
+            sketch.record("teacher2");
+        }
+        assertEquals(50, sketch.estimate("teacher1"));
+        assertEquals(30, sketch.estimate("teacher2"));
+        assertEquals(List.of("teacher1", "teacher2"), sketch.top().stream().map(HotKey::key).toList());
+    }
+
+    @Test
+    @DisplayName("Should count every record under concurrent writers")
+    void testConcurrentRecords() throws Exception {
+        HotKeySketch sketch = new HotKeySketch(1 << 16, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        sketch.record("shared");
+                        sketch.record("thread" + thread);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(40_000, sketch.estimate("shared"));
+        assertEquals("shared", sketch.top().get(0).key());
+        assertEquals(4, sketch.top().size());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new HotKeySketch(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new HotKeySketch(1024, 0));
+    }
+}
@@ -123,6 +123,27 @@ class LRUCacheAlgoTest {
         logger.info("Access order update test passed - key2 evicted after key1 access, cache size: {}", cache.size());
     }
 
+    @Test
+    @DisplayName("Should not update access order when peeking")
+    void testPeekKeepsAccessOrder() {
+        logger.info("Testing peek leaves the access order alone");
+
+        cache.put("key1", "value1");
+        cache.put("key2", "value2");
+        cache.put("key3", "value3");
+
+        assertEquals("value1", cache.peek("key1"));
+        cache.put("key4", "value4");
+
+        // key1 is still the least recently used
+        assertFalse(cache.containsKey("key1"));
+        assertFalse(cache.remove("key2", "stale"));
+        assertTrue(cache.remove("key2", "value2"));
+        assertEquals(2, cache.size());
+
+        logger.info("Peek test passed - key1 evicted despite the peek, cache size: {}", cache.size());
+    }
+
     @Test
     @DisplayName("Should update value for existing key without changing size")
     void testUpdateExistingKey() {
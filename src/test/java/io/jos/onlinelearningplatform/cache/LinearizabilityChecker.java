@@ -0,0 +1,164 @@
+package io.jos.onlinelearningplatform.cache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks whether a concurrent history of {@link CacheAlgo} calls is linearizable.
+ * <p>
+ * The sequential model is a map whose entries may disappear at any moment, since any
+ * entry may be evicted. A get or containsKey that finds nothing therefore always fits
+ * and drops the key from the model, while one that finds a value must see the value of
+ * the latest put to that key, with no remove or miss in between. A size must not exceed
+ * the capacity or the entries the model could still hold. The search tries every order
+ * that respects real time (Wing and Gong), remembering dead ends, so it is meant for
+ * histories of a dozen or two operations.
+ */
+final class LinearizabilityChecker {
+
+    enum Kind { PUT, GET, CONTAINS, REMOVE, SIZE }
+
+    /**
+     * One completed call: {@code call} and {@code ret} are ticks of the history's clock.
+     * {@code result} is the returned value, {@code 1}/{@code 0} for containsKey, or the size.
+     */
+    record Operation(int thread, Kind kind, Integer key, Long value, Long result, long call, long ret) {
+
+        @Override
+        public String toString() {
+            return "t" + thread + " [" + call + "," + ret + "] " + kind
+                    + (key == null ? "" : "(" + key + (value == null ? "" : "=" + value) + ")") + " -> " + result;
+        }
+    }
+
+    /**
+     * Records operations from many threads against one cache.
+     */
+    static final class History {
+        private final AtomicLong clock = new AtomicLong();
+        private final List<Operation> operations = new ArrayList<>();
+
+        Operation put(CacheAlgo<Integer, Long> cache, int thread, int key, long value) {
+            long call = clock.incrementAndGet();
+            cache.put(key, value);
+            return record(new Operation(thread, Kind.PUT, key, value, null, call, clock.incrementAndGet()));
+        }
+
+        Operation get(CacheAlgo<Integer, Long> cache, int thread, int key) {
+            long call = clock.incrementAndGet();
+            Long result = cache.get(key);
+            return record(new Operation(thread, Kind.GET, key, null, result, call, clock.incrementAndGet()));
+        }
+
+        Operation containsKey(CacheAlgo<Integer, Long> cache, int thread, int key) {
+            long call = clock.incrementAndGet();
+            boolean result = cache.containsKey(key);
+            return record(new Operation(thread, Kind.CONTAINS, key, null, result ? 1L : 0L, call, clock.incrementAndGet()));
+        }
+
+        Operation remove(CacheAlgo<Integer, Long> cache, int thread, int key) {
+            long call = clock.incrementAndGet();
+            Long result = cache.remove(key);
+            return record(new Operation(thread, Kind.REMOVE, key, null, result, call, clock.incrementAndGet()));
+        }
+
+        Operation size(CacheAlgo<Integer, Long> cache, int thread) {
+            long call = clock.incrementAndGet();
+            long result = cache.size();
+            return record(new Operation(thread, Kind.SIZE, null, null, result, call, clock.incrementAndGet()));
+        }
+
+        synchronized Operation record(Operation operation) {
+            operations.add(operation);
+            return operation;
+        }
+
+        synchronized List<Operation> operations() {
+            return List.copyOf(operations);
+        }
+    }
+
+    private final List<Operation> operations;
+    private final int capacity;
+    private final Set<String> deadEnds = new HashSet<>();
+
+    private LinearizabilityChecker(List<Operation> operations, int capacity) {
+        if (operations.size() > Long.SIZE - 1) {
+            throw new IllegalArgumentException("History too long to check: " + operations.size() + " operations");
+        }
+        this.operations = operations;
+        this.capacity = capacity;
+    }
+
+    static boolean isLinearizable(List<Operation> operations, int capacity) {
+        return new LinearizabilityChecker(operations, capacity).search(0L, new TreeMap<>());
+    }
+
+    private boolean search(long done, TreeMap<Integer, Long> model) {
+        if (Long.bitCount(done) == operations.size()) {
+            return true;
+        }
+        String state = done + ":" + model;
+        if (deadEnds.contains(state)) {
+            return false;
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            if ((done & (1L << i)) != 0 || !isMinimal(i, done)) {
+                continue;
+            }
+            TreeMap<Integer, Long> next = apply(operations.get(i), model);
+            if (next != null && search(done | (1L << i), next)) {
+                return true;
+            }
+        }
+        deadEnds.add(state);
+        return false;
+    }
+
+    // No pending operation returned before this one was called
+    private boolean isMinimal(int index, long done) {
+        long call = operations.get(index).call();
+        for (int j = 0; j < operations.size(); j++) {
+            if (j != index && (done & (1L << j)) == 0 && operations.get(j).ret() < call) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The model after {@code operation}, or null if its result is impossible in {@code model}.
+     */
+    private TreeMap<Integer, Long> apply(Operation operation, TreeMap<Integer, Long> model) {
+        TreeMap<Integer, Long> next = new TreeMap<>(model);
+        switch (operation.kind()) {
+            case PUT -> next.put(operation.key(), operation.value());
+            case GET, REMOVE -> {
+                if (operation.result() != null && !operation.result().equals(model.get(operation.key()))) {
+                    return null;
+                }
+                if (operation.result() == null || operation.kind() == Kind.REMOVE) {
+                    next.remove(operation.key());
+                }
+            }
+            case CONTAINS -> {
+                if (operation.result() == 1L && !model.containsKey(operation.key())) {
+                    return null;
+                }
+                if (operation.result() == 0L) {
+                    next.remove(operation.key());
+                }
+            }
+            case SIZE -> {
+                if (operation.result() > capacity || operation.result() > model.size()) {
+                    return null;
+                }
+            }
+        }
+        return next;
+    }
+}
@@ -0,0 +1,215 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongClockCacheAlgoTest {
+
+    @Test
+    @DisplayName("Should store any long key, including zero and the extremes")
+    void testPutThenGet() {
+        LongClockCacheAlgo<String> cache = new LongClockCacheAlgo<>(10);
+        long[] keys = {0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE};
+
+        for (long key : keys) {
+            cache.put(key, "value" + key);
+        }
+
+        for (long key : keys) {
+            assertEquals("value" + key, cache.get(key));
+            assertEquals("value" + key, cache.get(Long.valueOf(key)));
+        }
+        assertEquals(5, cache.size());
+        assertNull(cache.get(2));
+        assertFalse(cache.containsKey(2));
+    }
+
+    @Test
+    @DisplayName("Should tell a null value from a missing key and reject null keys")
+    void testNullValuesAndKeys() {
+        LongClockCacheAlgo<String> cache = new LongClockCacheAlgo<>(3);
+        cache.put(1, null);
+
+        assertTrue(cache.containsKey(1));
+        assertNull(cache.get(1));
+        assertEquals(1, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> cache.get((Long) null));
+        assertThrows(IllegalArgumentException.class, () -> cache.put(null, "value"));
+    }
+
+    @Test
+    @DisplayName("Should give entries read since the last sweep a second chance")
+    void testSecondChance() {
+        List<Long> evicted = new ArrayList<>();
+        LongClockCacheAlgo<Long> cache = new LongClockCacheAlgo<>(3,
+                (Long key, Long value, RemovalCause cause) -> evicted.add(key));
+        cache.put(1, 1L);
+        cache.put(2, 2L);
+        cache.put(3, 3L);
+        cache.get(1);
+        cache.get(3);
+
+        cache.put(4, 4L);
+
+        assertEquals(List.of(2L), evicted);
+        assertTrue(cache.containsKey(1));
+        assertTrue(cache.containsKey(3));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should not give peeked entries a second chance")
+    void testPeekKeepsReferenceBit() {
+        List<Long> evicted = new ArrayList<>();
+        List<Long> evictedUnpeeked = new ArrayList<>();
+        LongClockCacheAlgo<Long> cache = new LongClockCacheAlgo<>(3,
+                (Long key, Long value, RemovalCause cause) -> evicted.add(key));
+        LongClockCacheAlgo<Long> unpeeked = new LongClockCacheAlgo<>(3,
+                (Long key, Long value, RemovalCause cause) -> evictedUnpeeked.add(key));
+        for (long key = 1; key <= 3; key++) {
+            cache.put(key, Long.valueOf(key));
+            unpeeked.put(key, Long.valueOf(key));
+        }
+        for (long key = 1; key <= 3; key++) {
+            assertEquals(Long.valueOf(key), cache.peek(key));
+        }
+
+        cache.put(4, 4L);
+        unpeeked.put(4, 4L);
+
+        assertEquals(evictedUnpeeked, evicted);
+        long kept = cache.containsKey(2) ? 2 : 3;
+        assertFalse(cache.remove(kept, kept + 1));
+        assertTrue(cache.remove(kept, kept));
+        assertFalse(cache.containsKey(kept));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should hold exactly the entries a map would, minus the ones it reported evicted")
+    void testAgainstMap() {
+        Map<Long, Long> expected = new HashMap<>();
+        LongClockCacheAlgo<Long> cache = new LongClockCacheAlgo<>(50,
+                (Long key, Long value, RemovalCause cause) -> assertEquals(value, expected.remove(key)));
+        Random random = new Random(13);
+
+        for (int i = 0; i < 100_000; i++) {
+            // Few distinct keys, so most puts collide with live entries and removals shift chains
+            long key = random.nextInt(150) * 1024L;
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.remove(key), cache.remove(key));
+                case 1 -> {
+                    long value = random.nextLong();
+                    cache.put(key, Long.valueOf(value));
+                    expected.put(key, value);
+                }
+                default -> assertEquals(expected.get(key), cache.get(key));
+            }
+            assertTrue(cache.size() <= 50);
+        }
+
+        assertEquals(expected.size(), cache.size());
+        Map<Long, Long> actual = new HashMap<>();
+        cache.entries().forEach(entry -> actual.put(entry.getKey(), entry.getValue()));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should evict down to a smaller capacity and fill a larger one after resizing")
+    void testResize() {
+        LongClockCacheAlgo<Long> cache = new LongClockCacheAlgo<>(100);
+        for (long key = 0; key < 100; key++) {
+            cache.put(key, Long.valueOf(key));
+        }
+        cache.get(7);
+
+        assertTrue(cache.resize(10));
+        assertEquals(10, cache.size());
+        assertTrue(cache.containsKey(7));
+        for (Map.Entry<Long, Long> entry : cache.entries()) {
+            assertEquals(entry.getKey(), cache.get(entry.getKey()));
+        }
+
+        assertTrue(cache.resize(500));
+        for (long key = 1_000; key < 1_500; key++) {
+            cache.put(key, Long.valueOf(key));
+        }
+        assertEquals(500, cache.size());
+        assertEquals(500, cache.capacity());
+        assertThrows(IllegalArgumentException.class, () -> cache.resize(0));
+    }
+
+    @Test
+    @DisplayName("Should list referenced entries first")
+    void testEntries() {
+        LongClockCacheAlgo<Long> cache = new LongClockCacheAlgo<>(10);
+        for (long key = 0; key < 5; key++) {
+            cache.put(key, Long.valueOf(key));
+        }
+        cache.get(3);
+
+        List<Map.Entry<Long, Long>> entries = cache.entries();
+        assertEquals(5, entries.size());
+        assertEquals(3L, entries.get(0).getKey());
+    }
+
+    @Test
+    @DisplayName("Should stay consistent under concurrent readers and writers")
+    void testConcurrentAccess() throws Exception {
+        LongClockCacheAlgo<Long> cache = new LongClockCacheAlgo<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        long key = random.nextInt(256);
+                        int op = random.nextInt(8);
+                        if (op == 0) {
+                            cache.remove(key);
+                        } else if (op < 3) {
+                            cache.put(key, Long.valueOf(key));
+                        } else {
+                            Long value = cache.get(key);
+                            if (value != null && value != key) {
+                                throw new AssertionError("Key " + key + " mapped to " + value);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(cache.size() <= 64);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive capacity")
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new LongClockCacheAlgo<>(0));
+    }
+}
@@ -0,0 +1,175 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.dto.MaterialContent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaterialContentCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaterialContentCacheTest.class);
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(MaterialContentCache.Storage.class)
+    @DisplayName("Should return the cached content and file name")
+    void testPutThenGet(MaterialContentCache.Storage storage) {
+        MaterialContentCache cache = new MaterialContentCache(1_000, 500, storage);
+        byte[] data = content(100, (byte) 7);
+
+        assertTrue(cache.put(new MaterialContent(1L, "notes.pdf", data)));
+        MaterialContent cached = cache.get(1L);
+
+        assertEquals("notes.pdf", cached.fileName());
+        assertArrayEquals(data, cached.data());
+        assertNull(cache.get(2L));
+        assertEquals(100, cache.weightedSize());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(MaterialContentCache.Storage.class)
+    @DisplayName("Should never hold more bytes than its maximum size")
+    void testByteBound(MaterialContentCache.Storage storage) {
+        MaterialContentCache cache = new MaterialContentCache(1_000, 500, storage);
+
+        for (long id = 0; id < 50; id++) {
+            cache.put(new MaterialContent(id, "file" + id, content(50 + (int) (id * 7 % 300), (byte) id)));
+            assertTrue(cache.weightedSize() <= 1_000, "holds " + cache.weightedSize() + " bytes");
+        }
+
+        CacheStatsSnapshot snapshot = cache.snapshot();
+        assertEquals(50, snapshot.puts());
+        assertEquals(50 - snapshot.size(), snapshot.evictions());
+        assertEquals(1_000, snapshot.maximumWeight());
+        logger.info("Material cache after churn: {}", snapshot);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(MaterialContentCache.Storage.class)
+    @DisplayName("Should not admit files above the entry limit")
+    void testEntryLimit(MaterialContentCache.Storage storage) {
+        MaterialContentCache cache = new MaterialContentCache(1_000, 500, storage);
+        cache.put(new MaterialContent(1L, "small", content(100, (byte) 1)));
+
+        assertFalse(cache.put(new MaterialContent(2L, "large", content(501, (byte) 2))));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(1L));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(MaterialContentCache.Storage.class)
+    @DisplayName("Should keep popular small files when a large file arrives")
+    void testKeepsPopularSmallFiles(MaterialContentCache.Storage storage) {
+        MaterialContentCache cache = new MaterialContentCache(1_000, 600, storage);
+        for (long id = 0; id < 8; id++) {
+            cache.put(new MaterialContent(id, "worksheet" + id, content(100, (byte) id)));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (long id = 0; id < 4; id++) {
+                cache.get(id);
+            }
+        }
+
+        cache.put(new MaterialContent(100L, "slides", content(500, (byte) 9)));
+
+        for (long id = 0; id < 4; id++) {
+            assertNotNull(cache.get(id), "popular file " + id + " was evicted");
+        }
+        assertNotNull(cache.get(100L));
+        assertTrue(cache.weightedSize() <= 1_000);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(MaterialContentCache.Storage.class)
+    @DisplayName("Should replace and evict entries without leaking bytes")
+    void testReplaceAndEvict(MaterialContentCache.Storage storage) {
+        MaterialContentCache cache = new MaterialContentCache(1_000, 500, storage);
+        cache.put(new MaterialContent(1L, "v1", content(300, (byte) 1)));
+        cache.put(new MaterialContent(1L, "v2", content(200, (byte) 2)));
+
+        assertEquals(1, cache.size());
+        assertEquals(200, cache.weightedSize());
+        assertEquals("v2", cache.get(1L).fileName());
+
+        cache.evict(1L);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+        assertNull(cache.get(1L));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(MaterialContentCache.Storage.class)
+    @DisplayName("Should not share content arrays with callers")
+    void testContentIsCopied(MaterialContentCache.Storage storage) {
+        MaterialContentCache cache = new MaterialContentCache(1_000, 500, storage);
+        byte[] data = content(100, (byte) 7);
+        cache.put(new MaterialContent(1L, "notes.pdf", data));
+
+        // Changing the array that was put or the one a hit returned leaves the cached content alone
+        data[0] = 1;
+        byte[] first = cache.get(1L).data();
+        first[1] = 2;
+
+        assertArrayEquals(content(100, (byte) 7), cache.get(1L).data());
+        assertNotSame(first, cache.get(1L).data());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(MaterialContentCache.Storage.class)
+    @DisplayName("Should load missing content once and serve it from the cache afterwards")
+    void testLoadOnMiss(MaterialContentCache.Storage storage) {
+        MaterialContentCache cache = new MaterialContentCache(1_000, 500, storage);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            MaterialContent material = cache.get(1L, id -> {
+                loads.incrementAndGet();
+                return new MaterialContent(id, "notes.pdf", content(100, (byte) 7));
+            });
+            assertArrayEquals(content(100, (byte) 7), material.data());
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().loadCount());
+        assertEquals(2, cache.stats().hitCount());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(MaterialContentCache.Storage.class)
+    @DisplayName("Should not cache content whose id was evicted or cleared while it loaded")
+    void testEvictionDuringLoad(MaterialContentCache.Storage storage) {
+        MaterialContentCache cache = new MaterialContentCache(1_000, 500, storage);
+
+        // A delete that commits and evicts after the download read the content
+        MaterialContent deleted = cache.get(1L, id -> {
+            MaterialContent material = new MaterialContent(id, "notes.pdf", content(100, (byte) 7));
+            cache.evict(id);
+            return material;
+        });
+        MaterialContent cleared = cache.get(2L, id -> {
+            MaterialContent material = new MaterialContent(id, "slides.pdf", content(100, (byte) 8));
+            cache.clear();
+            return material;
+        });
+
+        assertEquals("notes.pdf", deleted.fileName());
+        assertEquals("slides.pdf", cleared.fileName());
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals(0, cache.weightedSize());
+    }
+
+    private static byte[] content(int length, byte value) {
+        byte[] data = new byte[length];
+        Arrays.fill(data, value);
+        return data;
+    }
+}
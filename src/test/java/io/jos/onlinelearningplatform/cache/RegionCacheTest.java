@@ -0,0 +1,112 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The Spring cache view of the annotated regions, on two nodes sharing one in-memory transport.
+ */
+class RegionCacheTest {
+
+    private GlobalCacheService globalCacheA;
+    private GlobalCacheService globalCacheB;
+    private GlobalCacheManager managerA;
+    private GlobalCacheManager managerB;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryInvalidationTransport transport = new InMemoryInvalidationTransport();
+        globalCacheA = new GlobalCacheService(new CacheProperties(), new CachePolicyRegistry());
+        globalCacheB = new GlobalCacheService(new CacheProperties(), new CachePolicyRegistry());
+        managerA = manager(globalCacheA, transport);
+        managerB = manager(globalCacheB, transport);
+    }
+
+    @Test
+    @DisplayName("Should expose only the annotated regions")
+    void testCacheNames() {
+        assertEquals(List.of(GlobalCacheService.TEACHABLE_COURSES), List.copyOf(managerA.getCacheNames()));
+        assertNull(managerA.getCache(GlobalCacheService.NEXT_LESSONS));
+        assertSame(globalCacheA.region(GlobalCacheService.TEACHABLE_COURSES),
+                managerA.getCache(GlobalCacheService.TEACHABLE_COURSES).getNativeCache());
+    }
+
+    @Test
+    @DisplayName("Should store values and nulls in the region and count hits")
+    void testPutAndGet() {
+        Cache courses = managerA.getCache(GlobalCacheService.TEACHABLE_COURSES);
+
+        assertNull(courses.get(1L));
+        courses.put(1L, List.of("Math"));
+        courses.put(2L, null);
+
+        assertEquals(List.of("Math"), courses.get(1L, List.class));
+        Cache.ValueWrapper none = courses.get(2L);
+        assertNotNull(none);
+        assertNull(none.get());
+
+        CacheStatsSnapshot stats = globalCacheA.stats().get(GlobalCacheService.TEACHABLE_COURSES);
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    @DisplayName("Should load once through the region for synchronized lookups")
+    void testValueLoader() {
+        Cache courses = managerA.getCache(GlobalCacheService.TEACHABLE_COURSES);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(List.of("Math"), courses.get(1L, () -> { loads.incrementAndGet(); return List.of("Math"); }));
+        assertEquals(List.of("Math"), courses.get(1L, () -> { loads.incrementAndGet(); return List.of("Physics"); }));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, globalCacheA.stats().get(GlobalCacheService.TEACHABLE_COURSES).loads());
+    }
+
+    @Test
+    @DisplayName("Should wrap checked loader exceptions and cache nothing")
+    void testValueLoaderFailure() {
+        Cache courses = managerA.getCache(GlobalCacheService.TEACHABLE_COURSES);
+
+        Cache.ValueRetrievalException failure = assertThrows(Cache.ValueRetrievalException.class,
+                () -> courses.get(1L, () -> { throw new Exception("database down"); }));
+
+        assertEquals(1L, failure.getKey());
+        assertNull(courses.get(1L));
+    }
+
+    @Test
+    @DisplayName("Should evict and clear on every node")
+    void testEvictAndClearReachAllNodes() {
+        for (GlobalCacheManager manager : List.of(managerA, managerB)) {
+            Cache courses = manager.getCache(GlobalCacheService.TEACHABLE_COURSES);
+            courses.put(1L, List.of("Math"));
+            courses.put(2L, List.of("Physics"));
+            courses.put(3L, List.of("Chemistry"));
+        }
+
+        managerA.getCache(GlobalCacheService.TEACHABLE_COURSES).evict(1L);
+        assertNull(managerB.getCache(GlobalCacheService.TEACHABLE_COURSES).get(1L));
+        assertNotNull(managerB.getCache(GlobalCacheService.TEACHABLE_COURSES).get(2L));
+
+        managerB.getCache(GlobalCacheService.TEACHABLE_COURSES).clear();
+        assertNull(managerA.getCache(GlobalCacheService.TEACHABLE_COURSES).get(3L));
+        assertNull(managerB.getCache(GlobalCacheService.TEACHABLE_COURSES).get(3L));
+    }
+
+    private static GlobalCacheManager manager(GlobalCacheService globalCache, InvalidationTransport transport) {
+        CacheInvalidator invalidator = new CacheInvalidator(globalCache,
+                new MaterialContentCache(new CacheProperties()), transport);
+        GlobalCacheManager manager = new GlobalCacheManager(globalCache, invalidator);
+        // Outside a transaction the caches apply changes immediately either way
+        manager.afterPropertiesSet();
+        return manager;
+    }
+}
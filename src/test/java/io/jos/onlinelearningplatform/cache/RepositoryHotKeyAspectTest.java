@@ -0,0 +1,87 @@
+package io.jos.onlinelearningplatform.cache;
+
+import io.jos.onlinelearningplatform.repository.LessonRepository;
+import io.jos.onlinelearningplatform.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RepositoryHotKeyAspectTest {
+
+    private GlobalCacheService globalCache;
+    private LessonRepository lessonRepository;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties properties = new CacheProperties();
+        properties.getHotKeys().setEnabled(true);
+        globalCache = new GlobalCacheService(properties, new CachePolicyRegistry());
+        RepositoryHotKeyAspect aspect = new RepositoryHotKeyAspect(globalCache);
+        lessonRepository = proxy(mock(LessonRepository.class), aspect);
+        userRepository = proxy(mock(UserRepository.class), aspect);
+    }
+
+    @Test
+    @DisplayName("Should count repository calls by their id and name arguments")
+    void testRecordsRepositoryKeys() {
+        for (int i = 0; i < 3; i++) {
+            lessonRepository.findUpcomingByTeacher(5L, LocalDateTime.now().plusSeconds(i));
+        }
+        lessonRepository.findUpcomingByTeacher(6L, LocalDateTime.now());
+        lessonRepository.findByTeacherIdAndStatus(5L, "SCHEDULED");
+        lessonRepository.findById(7L);
+        userRepository.findByUsername("teacher1");
+        // Not tracked
+        userRepository.findById(1L);
+        // No id or name to count
+        lessonRepository.findUpcomingWithParticipants(LocalDateTime.now(), LocalDateTime.now(), PageRequest.of(0, 10));
+
+        Map<String, List<HotKey>> top = globalCache.hotKeys().top();
+        assertEquals(List.of(new HotKey(5L, 3), new HotKey(6L, 1)), top.get("LessonRepository.findUpcomingByTeacher"));
+        assertEquals(List.of(new HotKey(List.of(5L, "SCHEDULED"), 1)), top.get("LessonRepository.findByTeacherIdAndStatus"));
+        assertEquals(List.of(new HotKey(7L, 1)), top.get("LessonRepository.findById"));
+        assertEquals(List.of(new HotKey("teacher1", 1)), globalCache.hotKeys().top("UserRepository.findByUsername"));
+        assertFalse(top.containsKey("UserRepository.findById"));
+        assertFalse(top.containsKey("LessonRepository.findUpcomingWithParticipants"));
+    }
+
+    @Test
+    @DisplayName("Should count region lookups next to the repository calls")
+    void testRecordsRegionKeys() {
+        globalCache.teacherProfiles().get(1L);
+        globalCache.teacherProfiles().get(1L, key -> null);
+        globalCache.teacherIds().get("teacher1");
+
+        assertEquals(List.of(new HotKey(1L, 2)), globalCache.hotKeys().top(GlobalCacheService.TEACHER_PROFILES));
+        assertEquals(List.of(new HotKey("teacher1", 1)), globalCache.hotKeys().top(GlobalCacheService.TEACHER_IDS));
+        assertEquals(List.of(), globalCache.hotKeys().top(GlobalCacheService.NEXT_LESSONS));
+    }
+
+    @Test
+    @DisplayName("Should record nothing when disabled")
+    void testDisabled() {
+        GlobalCacheService disabled = new GlobalCacheService(new CacheProperties(), new CachePolicyRegistry());
+        disabled.teacherProfiles().get(1L);
+        disabled.hotKeys().record("LessonRepository.findById", 7L);
+
+        assertFalse(disabled.hotKeys().isEnabled());
+        assertTrue(disabled.hotKeys().top().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
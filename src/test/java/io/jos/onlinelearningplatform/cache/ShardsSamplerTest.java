@@ -0,0 +1,105 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardsSamplerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardsSamplerTest.class);
+
+    @Test
+    @DisplayName("Should find the exact curve of a loop when every key is sampled")
+    void testLoopCurve() {
+        ShardsSampler sampler = new ShardsSampler(1.0, 1000, 256);
+
+        for (int pass = 0; pass < 10; pass++) {
+            for (long key = 0; key < 50; key++) {
+                sampler.recordAccess(key);
+            }
+        }
+
+        MissRatioCurve curve = sampler.curve();
+        assertEquals(1, curve.bucketWidth());
+        assertEquals(500, curve.references(), 1e-9);
+        // LRU gets nothing from a loop it cannot hold entirely, everything but the first pass otherwise
+        assertEquals(0, curve.hits(49), 1e-9);
+        assertEquals(450, curve.hits(50), 1e-9);
+        assertEquals(0.9, curve.hitRatio(200), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should estimate the curve of a large key space from a bounded sample")
+    void testFixedSizeSample() {
+        int keys = 20_000;
+        ShardsSampler sampler = new ShardsSampler(1.0, 500, keys);
+        SplittableRandom random = new SplittableRandom(3);
+
+        for (int i = 0; i < 400_000; i++) {
+            sampler.recordAccess((long) random.nextInt(keys));
+        }
+
+        MissRatioCurve curve = sampler.curve();
+        logger.info("Sampling rate {}, hit ratio at a quarter {}, at half {}", sampler.rate(),
+                curve.hitRatio(keys / 4), curve.hitRatio(keys / 2));
+        assertTrue(sampler.rate() < 0.05, "rate " + sampler.rate());
+        // Uniform access: LRU hits in proportion to the share of keys it holds, after warm-up
+        assertEquals(400_000, curve.references(), 40_000);
+        assertEquals(0.24, curve.hitRatio(keys / 4), 0.06);
+        assertEquals(0.48, curve.hitRatio(keys / 2), 0.06);
+    }
+
+    @Test
+    @DisplayName("Should treat an evicted key as new and halve everything on decay")
+    void testEvictionAndDecay() {
+        ShardsSampler sampler = new ShardsSampler(1.0, 100, 256);
+        sampler.recordAccess(1L);
+        sampler.recordAccess(2L);
+        sampler.recordAccess(1L);
+        sampler.recordEviction(2L);
+        sampler.recordAccess(2L);
+
+        MissRatioCurve curve = sampler.curve();
+        assertEquals(4, curve.references(), 1e-9);
+        assertEquals(1, curve.hits(256), 1e-9);
+        assertEquals(1, curve.hits(2), 1e-9);
+        assertEquals(0, curve.hits(1), 1e-9);
+
+        sampler.recordClear();
+        sampler.recordAccess(1L);
+        sampler.decay();
+        curve = sampler.curve();
+        assertEquals(2.5, curve.references(), 1e-9);
+        assertEquals(0.5, curve.hits(256), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should keep distances right when access times are renumbered")
+    void testRenumbering() {
+        // 4 * 10 access times, used up many times over
+        ShardsSampler sampler = new ShardsSampler(1.0, 10, 256);
+
+        for (int pass = 0; pass < 100; pass++) {
+            for (long key = 0; key < 5; key++) {
+                sampler.recordAccess(key);
+            }
+        }
+
+        MissRatioCurve curve = sampler.curve();
+        assertEquals(0, curve.hits(4), 1e-9);
+        assertEquals(495, curve.hits(5), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardsSampler(0, 100, 100));
+        assertThrows(IllegalArgumentException.class, () -> new ShardsSampler(1.5, 100, 100));
+        assertThrows(IllegalArgumentException.class, () -> new ShardsSampler(0.5, 0, 100));
+    }
+}
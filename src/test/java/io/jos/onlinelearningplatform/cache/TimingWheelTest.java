@@ -0,0 +1,75 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheelTest.class);
+
+    @Test
+    @DisplayName("Should fire a timeout once its deadline tick is reached")
+    void testFiresAtDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 0);
+        wheel.schedule(new TimingWheel.Timeout<>("a", 25));
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(29, t -> fired.add(t.key));
+        assertTrue(fired.isEmpty(), "Deadline 25 rounds up to tick 3 and must not fire early");
+
+        wheel.advance(30, t -> fired.add(t.key));
+        assertEquals(List.of("a"), fired);
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    @DisplayName("Should cascade timeouts from the upper levels without firing early or late")
+    void testCascadingAcrossLevels() {
+        logger.info("Testing random deadlines across all wheel levels");
+
+        Random random = new Random(42);
+        long start = 1_234_567;
+        TimingWheel<Long> wheel = new TimingWheel<>(1, start);
+        int count = 2_000;
+        for (int i = 0; i < count; i++) {
+            // Spread deadlines from the first level up to beyond the wheel span
+            long offset = 1 + (long) Math.pow(2, random.nextDouble() * 26);
+            wheel.schedule(new TimingWheel.Timeout<>(start + offset, start + offset));
+        }
+
+        int[] fired = {0};
+        long now = start;
+        while (wheel.pending() > 0) {
+            now += 1 + random.nextInt(5_000);
+            long current = now;
+            wheel.advance(current, t -> {
+                assertTrue(t.deadline <= current, "Fired before its deadline");
+                assertTrue(current - t.deadline < 5_000, "Fired more than one advance late");
+                fired[0]++;
+            });
+        }
+
+        assertEquals(count, fired[0]);
+        logger.info("Cascading test passed - {} timeouts fired", fired[0]);
+    }
+
+    @Test
+    @DisplayName("Should skip straight to the present when nothing is pending")
+    void testIdleAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.advance(Long.MAX_VALUE / 2, t -> fail("Nothing was scheduled"));
+
+        wheel.schedule(new TimingWheel.Timeout<>("late", Long.MAX_VALUE / 2 + 100));
+        List<String> fired = new ArrayList<>();
+        wheel.advance(Long.MAX_VALUE / 2 + 100, t -> fired.add(t.key));
+        assertEquals(List.of("late"), fired);
+    }
+}
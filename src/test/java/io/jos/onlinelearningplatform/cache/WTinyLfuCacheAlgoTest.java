@@ -0,0 +1,36 @@
+package io.jos.onlinelearningplatform.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WTinyLfuCacheAlgoTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(WTinyLfuCacheAlgoTest.class);
+
+    @Test
+    @DisplayName("Should count every lookup once, whether it hits or misses and is loaded")
+    void testFrequencyCountsLookupsOnce() {
+        logger.info("Testing the frequency sketch counts each access once");
+
+        WTinyLfuCacheAlgo<String, String> cache = new WTinyLfuCacheAlgo<>(100);
+
+        // Cache-aside miss: the lookup and the put that loads it are one access
+        assertNull(cache.get("key1"));
+        cache.put("key1", "value1");
+        assertEquals(1, cache.frequency("key1"));
+
+        assertEquals("value1", cache.get("key1"));
+        assertEquals(2, cache.frequency("key1"));
+
+        // Reloads and peeks are not lookups
+        cache.put("key1", "value2");
+        assertEquals("value2", cache.peek("key1"));
+        assertEquals(2, cache.frequency("key1"));
+
+        logger.info("Frequency test passed - key1 counted {} times", cache.frequency("key1"));
+    }
+}
@@ -0,0 +1,271 @@
+package io.jos.onlinelearningplatform.repository;
+
+import io.jos.onlinelearningplatform.cache.CacheProperties;
+import io.jos.onlinelearningplatform.dto.LessonSummary;
+import io.jos.onlinelearningplatform.dto.PlatformStatistics;
+import io.jos.onlinelearningplatform.dto.StatusCount;
+import io.jos.onlinelearningplatform.model.Course;
+import io.jos.onlinelearningplatform.model.Lesson;
+import io.jos.onlinelearningplatform.model.Student;
+import io.jos.onlinelearningplatform.model.Teacher;
+import io.jos.onlinelearningplatform.model.User;
+import io.jos.onlinelearningplatform.service.impl.StatisticsServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The lesson list queries load everything the list pages show in a fixed number of statements,
+ * the summary queries do it without loading any entity, and the profile page counts
+ * are computed by the database.
+ */
+@DataJpaTest
+class LessonRepositoryTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LessonRepositoryTest.class);
+
+    private static final int LESSONS = 12;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Teacher teacher;
+    private Student student;
+    private Course course;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        start = LocalDateTime.of(2025, 3, 1, 10, 0);
+        course = new Course();
+        course.setTitle("Algebra");
+        course.setSubject("Math");
+        entityManager.persist(course);
+        teacher = user(new Teacher(), "teacher1");
+        student = user(new Student(), "student1");
+        for (int i = 0; i < LESSONS; i++) {
+            // A teacher and a student per lesson, so a lazy load per row would show
+            Teacher lessonTeacher = i == 0 ? teacher : user(new Teacher(), "teacher-" + i);
+            Student lessonStudent = i == 0 ? student : user(new Student(), "student-" + i);
+            Lesson lesson = new Lesson();
+            lesson.setCourse(course);
+            lesson.setTeacher(i % 2 == 0 ? teacher : lessonTeacher);
+            lesson.setStudent(i % 2 == 0 ? student : lessonStudent);
+            lesson.setTimestamp(start.plusDays(i));
+            lesson.setStatus(i % 3 == 0 ? "PENDING" : "ACCEPTED");
+            entityManager.persist(lesson);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should load a page of lessons with their course, teacher and student")
+    void testFindAllPage() {
+        Page<Lesson> page = countStatements(2, () -> {
+            Page<Lesson> lessons = lessonRepository.findAll(PageRequest.of(0, 5, Sort.by("timestamp").descending()));
+            lessons.forEach(LessonRepositoryTest::render);
+            return lessons;
+        });
+
+        assertEquals(5, page.getNumberOfElements());
+        assertEquals(LESSONS, page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should load teacher lesson lists in one statement")
+    void testTeacherLists() {
+        LocalDateTime now = start.plusDays(LESSONS / 2).minusHours(1);
+        Long teacherId = teacher.getId();
+
+        assertFalse(countStatements(1, () -> render(lessonRepository.findUpcomingByTeacher(teacherId, now))).isEmpty());
+        assertFalse(countStatements(1, () -> render(lessonRepository.findPastByTeacher(teacherId, now))).isEmpty());
+        assertFalse(countStatements(1, () -> render(lessonRepository.findByTeacherIdAndStatus(teacherId, "PENDING"))).isEmpty());
+        assertEquals(LESSONS / 2, countStatements(1, () -> render(lessonRepository.findByTeacherIdAndTimestampBetweenOrderByTimestampAsc(
+                teacherId, start, start.plusDays(LESSONS)))).size());
+        assertEquals(LESSONS, countStatements(1, () -> render(lessonRepository.findByCourseIdOrderByTimestampDesc(course.getId()))).size());
+        assertEquals(LESSONS, countStatements(1, () -> render(lessonRepository.findAll())).size());
+    }
+
+    @Test
+    @DisplayName("Should load student lesson lists in one statement")
+    void testStudentLists() {
+        Long studentId = student.getId();
+        Set<String> statuses = Set.of("PENDING", "ACCEPTED");
+
+        assertFalse(countStatements(1, () -> render(lessonRepository.findByStudent_IdAndStatusInAndTimestampGreaterThanEqualOrderByTimestampAsc(
+                studentId, statuses, start.plusDays(LESSONS / 2)))).isEmpty());
+        assertFalse(countStatements(1, () -> render(lessonRepository.findByStudent_IdAndStatusInAndTimestampLessThanOrderByTimestampDesc(
+                studentId, statuses, start.plusDays(LESSONS / 2)))).isEmpty());
+        assertEquals(LESSONS / 2, countStatements(1, () -> render(lessonRepository.findByStudentIdAndTimestampBetweenOrderByTimestampAsc(
+                studentId, start, start.plusDays(LESSONS)))).size());
+        assertFalse(countStatements(1, () -> render(lessonRepository.findUpcomingByStudent(studentId, start))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should project the list pages into summaries without loading any lesson")
+    void testSummaries() {
+        LocalDateTime now = start.plusDays(LESSONS / 2).minusHours(1);
+        Long teacherId = teacher.getId();
+        Long studentId = student.getId();
+
+        assertEquals(summaries(lessonRepository.findUpcomingByTeacher(teacherId, now)),
+                countProjection(() -> lessonRepository.findUpcomingSummariesByTeacher(teacherId, now)));
+        // The next lesson pages down to its first row
+        assertEquals(summaries(lessonRepository.findUpcomingByTeacher(teacherId, now)).subList(0, 1),
+                countProjection(() -> lessonRepository.findNextSummariesByTeacher(teacherId, now, PageRequest.of(0, 1))));
+        assertEquals(summaries(lessonRepository.findUpcomingByStudent(studentId, now)).subList(0, 1),
+                countProjection(() -> lessonRepository.findNextSummariesByStudent(studentId, now, PageRequest.of(0, 1))));
+        assertEquals(summaries(lessonRepository.findPastByTeacher(teacherId, now)),
+                countProjection(() -> lessonRepository.findPastSummariesByTeacher(teacherId, now)));
+        assertEquals(summaries(lessonRepository.findByStudent_IdAndStatusInAndTimestampGreaterThanEqualOrderByTimestampAsc(
+                        studentId, Set.of("PENDING", "ACCEPTED"), now)),
+                countProjection(() -> lessonRepository.findUpcomingSummariesByStudent(studentId, Set.of("PENDING", "ACCEPTED"), now)));
+
+        // Accepted lessons before the cut-off and pending ones at any time
+        List<LessonSummary> past = countProjection(() -> lessonRepository.findPastSummariesByStudent(
+                studentId, Set.of("ACCEPTED"), now, "PENDING"));
+        assertFalse(past.isEmpty());
+        for (int i = 0; i < past.size(); i++) {
+            LessonSummary lesson = past.get(i);
+            assertTrue(lesson.status().equals("PENDING") || lesson.timestamp().isBefore(now));
+            assertEquals(studentId, lesson.student().id());
+            if (i > 0) {
+                assertFalse(lesson.timestamp().isAfter(past.get(i - 1).timestamp()));
+            }
+        }
+
+        Page<LessonSummary> page = countStatements(2, () -> lessonRepository.findSummaries(
+                PageRequest.of(0, 5, Sort.by("timestamp").descending())));
+        assertEquals(LESSONS, page.getTotalElements());
+        assertEquals(summaries(lessonRepository.findAll(PageRequest.of(0, 5, Sort.by("timestamp").descending())).getContent()),
+                page.getContent());
+    }
+
+    @Test
+    @DisplayName("Should count, group and limit the profile page lessons in the database")
+    void testProfileAggregates() {
+        Long teacherId = teacher.getId();
+        Long studentId = student.getId();
+        Long courseId = course.getId();
+
+        // The teacher and the student share the even lessons, a third of all lessons are pending
+        List<StatusCount> teacherCounts = countStatements(1, () -> lessonRepository.countStatusesByTeacherId(teacherId));
+        assertEquals(LESSONS / 2, StatusCount.total(teacherCounts));
+        assertEquals(2, StatusCount.countOf(teacherCounts, "PENDING"));
+        assertEquals(0, StatusCount.countOf(teacherCounts, "COMPLETED"));
+        assertEquals(teacherCounts, countStatements(1, () -> lessonRepository.countStatusesByStudentId(studentId)));
+        List<StatusCount> courseCounts = countStatements(1, () -> lessonRepository.countStatusesByCourseId(courseId));
+        assertEquals(LESSONS, StatusCount.total(courseCounts));
+        assertEquals(LESSONS / 3, StatusCount.countOf(courseCounts, "PENDING"));
+
+        assertEquals(List.of("student1"), usernames(countStatements(1, () -> lessonRepository.findStudentsByTeacherId(teacherId))));
+        assertEquals(List.of("teacher1"), usernames(countStatements(1, () -> lessonRepository.findTeachersByStudentId(studentId))));
+        assertEquals(LESSONS / 2 + 1, countStatements(1, () -> lessonRepository.findStudentsByCourseId(courseId)).size());
+        assertEquals(LESSONS / 2 + 1, countStatements(1, () -> lessonRepository.findTeachersByCourseId(courseId)).size());
+        assertEquals(List.of(course.getId()), countStatements(1, () -> lessonRepository.findCoursesByStudentId(studentId))
+                .stream().map(Course::getId).toList());
+
+        PageRequest three = PageRequest.of(0, 3);
+        assertEquals(List.of(start.plusDays(LESSONS - 1), start.plusDays(LESSONS - 2), start.plusDays(LESSONS - 3)),
+                timestamps(countProjection(() -> lessonRepository.findRecentSummaries(three))));
+        assertEquals(List.of(start.plusDays(LESSONS - 2), start.plusDays(LESSONS - 4), start.plusDays(LESSONS - 6)),
+                timestamps(countProjection(() -> lessonRepository.findRecentSummariesByTeacher(teacherId, three))));
+        assertEquals(timestamps(lessonRepository.findRecentSummariesByTeacher(teacherId, three)),
+                timestamps(countProjection(() -> lessonRepository.findRecentSummariesByStudent(studentId, three))));
+        assertEquals(timestamps(lessonRepository.findRecentSummaries(three)),
+                timestamps(countProjection(() -> lessonRepository.findRecentSummariesByCourse(courseId, three))));
+    }
+
+    @Test
+    @DisplayName("Should count users by type, lessons by status and courses in one statement")
+    void testCountRowsByKind() {
+        PlatformStatistics statistics = countStatements(1, () ->
+                new StatisticsServiceImpl(lessonRepository, new CacheProperties()).getStatistics());
+
+        // A teacher and a student created per lesson
+        assertEquals(LESSONS, statistics.users("TEACHER"));
+        assertEquals(LESSONS, statistics.users("STUDENT"));
+        assertEquals(2 * LESSONS, statistics.totalUsers());
+        assertEquals(LESSONS / 3, statistics.lessons("PENDING"));
+        assertEquals(LESSONS - LESSONS / 3, statistics.lessons("ACCEPTED"));
+        assertEquals(LESSONS, statistics.totalLessons());
+        assertEquals(1, statistics.totalCourses());
+    }
+
+    // Runs the query against an empty persistence context and second-level cache
+    private <T> T countStatements(long expected, Supplier<T> query) {
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+
+        T result = query.get();
+
+        long statements = statistics.getPrepareStatementCount();
+        logger.info("{} statements", statements);
+        assertEquals(expected, statements);
+        return result;
+    }
+
+    // One statement, and no lesson, course or user ends up in the persistence context
+    private List<LessonSummary> countProjection(Supplier<List<LessonSummary>> query) {
+        List<LessonSummary> summaries = countStatements(1, query);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(entityManager.unwrap(Session.class).getStatistics().getEntityKeys().isEmpty());
+        return summaries;
+    }
+
+    private static List<LocalDateTime> timestamps(List<LessonSummary> lessons) {
+        return lessons.stream().map(LessonSummary::timestamp).toList();
+    }
+
+    private static List<String> usernames(List<? extends User> users) {
+        return users.stream().map(User::getUsername).toList();
+    }
+
+    private static List<LessonSummary> summaries(List<Lesson> lessons) {
+        return lessons.stream().map(LessonSummary::of).toList();
+    }
+
+    // What the list templates read from every row
+    private static List<Lesson> render(List<Lesson> lessons) {
+        lessons.forEach(LessonRepositoryTest::render);
+        return lessons;
+    }
+
+    private static void render(Lesson lesson) {
+        assertNotNull(lesson.getCourse().getTitle());
+        assertNotNull(lesson.getTeacher().getUsername());
+        assertNotNull(lesson.getStudent().getUsername());
+    }
+
+    private <U extends User> U user(U user, String username) {
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPasswordHash("hash");
+        entityManager.persist(user);
+        return user;
+    }
+}